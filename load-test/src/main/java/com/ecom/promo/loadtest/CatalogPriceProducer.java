@@ -0,0 +1,84 @@
+package com.ecom.promo.loadtest;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for catalog-service's price publishing
+ *
+ * <p>Writes the per-tenant snapshot hashes the service bulk-loads at startup, then appends
+ * a steady trickle of price changes to the stream while the load runs.
+ */
+final class CatalogPriceProducer implements AutoCloseable {
+
+    static final String STREAM_KEY = "catalog:price-changes";
+    static final String SNAPSHOT_TENANTS_KEY = "catalog:price-snapshot:tenants";
+    static final String SNAPSHOT_KEY_PREFIX = "catalog:price-snapshot:";
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    CatalogPriceProducer(String host, int port) {
+        this.client = RedisClient.create("redis://" + host + ":" + port);
+        this.connection = client.connect();
+    }
+
+    void writeSnapshot(DataSeeder.SeedData seedData) {
+        RedisCommands<String, String> redis = connection.sync();
+        for (int t = 0; t < seedData.tenants().size(); t++) {
+            String tenant = seedData.tenants().get(t).toString();
+            Map<String, String> batch = new HashMap<>();
+            for (int p = 0; p < seedData.productsPerTenant(); p++) {
+                UUID productId = seedData.product(t, p);
+                batch.put(productId.toString(), StubServer.priceOf(productId).toPlainString() + ";;");
+                if (batch.size() == 1000) {
+                    redis.hset(SNAPSHOT_KEY_PREFIX + tenant, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                redis.hset(SNAPSHOT_KEY_PREFIX + tenant, batch);
+            }
+            redis.sadd(SNAPSHOT_TENANTS_KEY, tenant);
+        }
+    }
+
+    void startChanges(DataSeeder.SeedData seedData, int changesPerSecond, long seed) {
+        if (changesPerSecond <= 0) {
+            return;
+        }
+        Random random = new Random(seed);
+        RedisCommands<String, String> redis = connection.sync();
+        long periodMicros = 1_000_000L / changesPerSecond;
+        scheduler.scheduleAtFixedRate(() -> {
+            int tenant = random.nextInt(seedData.tenants().size());
+            UUID productId = seedData.product(tenant, random.nextInt(seedData.productsPerTenant()));
+            BigDecimal price = StubServer.priceOf(productId).multiply(BigDecimal.valueOf(90 + random.nextInt(21)))
+                .movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+            redis.xadd(STREAM_KEY, Map.of(
+                "tenant_id", seedData.tenants().get(tenant).toString(),
+                "product_id", productId.toString(),
+                "op", "UPSERT",
+                "price", price.toPlainString()));
+        }, periodMicros, periodMicros, TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        connection.close();
+        client.shutdown();
+    }
+}
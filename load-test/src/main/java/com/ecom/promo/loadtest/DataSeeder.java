@@ -0,0 +1,145 @@
+package com.ecom.promo.loadtest;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds promotions and coupons with a realistic mix, deterministically from the run seed
+ *
+ * <p>Runs after the service has applied its Flyway migrations. Roughly 80% of promotions
+ * are live, the rest are scheduled or ended; coupons mix percentage/fixed discounts,
+ * minimum order values and a small share of expired or exhausted codes.
+ */
+final class DataSeeder {
+
+    private static final int BATCH = 1000;
+
+    private final LoadTestConfig config;
+
+    DataSeeder(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Tenants, products and coupon codes are derived from the config alone, so stand-ins
+     * that must exist before the service starts can be prepared ahead of seeding
+     */
+    SeedData plan() {
+        List<UUID> tenants = new ArrayList<>();
+        List<List<String>> couponCodes = new ArrayList<>();
+        for (int t = 0; t < config.tenants(); t++) {
+            tenants.add(UUID.nameUUIDFromBytes(("tenant-" + t).getBytes(StandardCharsets.UTF_8)));
+            List<String> codes = new ArrayList<>(config.couponsPerTenant());
+            for (int i = 0; i < config.couponsPerTenant(); i++) {
+                codes.add(couponCode(t, i));
+            }
+            couponCodes.add(codes);
+        }
+        return new SeedData(tenants, couponCodes, config.productsPerTenant());
+    }
+
+    void seed(SeedData seedData, String jdbcUrl, String username, String password) throws SQLException {
+        Random random = new Random(config.seed());
+        try (Connection connection = DriverManager.getConnection(jdbcUrl + "?reWriteBatchedInserts=true", username, password)) {
+            connection.setAutoCommit(false);
+            for (int t = 0; t < seedData.tenants().size(); t++) {
+                UUID tenantId = seedData.tenants().get(t);
+                seedPromotions(connection, tenantId, random);
+                seedCoupons(connection, t, tenantId, random);
+                connection.commit();
+            }
+        }
+    }
+
+    private void seedPromotions(Connection connection, UUID tenantId, Random random) throws SQLException {
+        String sql = "INSERT INTO promotions (tenant_id, name, type, discount_type, discount_value, start_date, end_date, " +
+            "eligibility_criteria, priority, active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < config.promotionsPerTenant(); i++) {
+                boolean percentage = random.nextInt(100) < 70;
+                int window = random.nextInt(100);
+                LocalDateTime start = window < 80 ? now.minusDays(1 + random.nextInt(10))
+                    : window < 90 ? now.plusDays(1 + random.nextInt(10)) : now.minusDays(30);
+                LocalDateTime end = window < 90 ? start.plusDays(15 + random.nextInt(30)) : now.minusDays(1);
+                statement.setObject(1, tenantId);
+                statement.setString(2, "Load promo " + i);
+                statement.setString(3, percentage ? "PERCENTAGE" : "FIXED_AMOUNT");
+                statement.setString(4, percentage ? "PERCENTAGE" : "FIXED");
+                statement.setBigDecimal(5, percentage ? BigDecimal.valueOf(1 + random.nextInt(4)) : BigDecimal.valueOf(50 + random.nextInt(200), 2));
+                statement.setTimestamp(6, Timestamp.valueOf(start));
+                statement.setTimestamp(7, Timestamp.valueOf(end));
+                statement.setNull(8, Types.VARCHAR);
+                statement.setInt(9, random.nextInt(10));
+                statement.setBoolean(10, random.nextInt(100) < 95);
+                statement.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void seedCoupons(Connection connection, int tenantIndex, UUID tenantId, Random random) throws SQLException {
+        String sql = "INSERT INTO coupons (tenant_id, code, discount_type, discount_value, usage_limit, used_count, " +
+            "expiry_date, min_order_value, active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < config.couponsPerTenant(); i++) {
+                String code = couponCode(tenantIndex, i);
+                boolean percentage = random.nextBoolean();
+                boolean expired = random.nextInt(100) < 5;
+                Integer usageLimit = random.nextInt(100) < 30 ? 1 + random.nextInt(1000) : null;
+                statement.setObject(1, tenantId);
+                statement.setString(2, code);
+                statement.setString(3, percentage ? "PERCENTAGE" : "FIXED");
+                statement.setBigDecimal(4, percentage ? BigDecimal.valueOf(5 + random.nextInt(20)) : BigDecimal.valueOf(500 + random.nextInt(2000), 2));
+                if (usageLimit != null) {
+                    statement.setInt(5, usageLimit);
+                    statement.setInt(6, random.nextInt(usageLimit + 1));
+                } else {
+                    statement.setNull(5, Types.INTEGER);
+                    statement.setInt(6, 0);
+                }
+                statement.setTimestamp(7, Timestamp.valueOf(expired ? now.minusDays(1 + random.nextInt(30)) : now.plusDays(1 + random.nextInt(90))));
+                if (random.nextInt(100) < 40) {
+                    statement.setBigDecimal(8, BigDecimal.valueOf(10 + random.nextInt(200)));
+                } else {
+                    statement.setNull(8, Types.DECIMAL);
+                }
+                statement.setBoolean(9, true);
+                statement.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static String couponCode(int tenantIndex, int couponIndex) {
+        return "LT" + tenantIndex + "X" + couponIndex;
+    }
+
+    /**
+     * What the load driver needs to build requests against the seeded data
+     */
+    record SeedData(List<UUID> tenants, List<List<String>> couponCodes, int productsPerTenant) {
+
+        UUID product(int tenantIndex, int productIndex) {
+            return UUID.nameUUIDFromBytes(("tenant-" + tenantIndex + "-product-" + productIndex).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
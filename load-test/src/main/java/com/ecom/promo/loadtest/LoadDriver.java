@@ -0,0 +1,225 @@
+package com.ecom.promo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator
+ *
+ * <p>Requests are released on a fixed schedule at the target RPS regardless of how fast
+ * earlier ones complete, and latency is measured from the scheduled send time, so a
+ * stalled server shows up in the tail instead of silently lowering the offered load
+ * (coordinated omission).
+ */
+final class LoadDriver {
+
+    static final String BINARY_MEDIA_TYPE = "application/x-promo-pricing";
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final DataSeeder.SeedData seedData;
+    private final List<String> tokens;
+    private final ProcessHandle serviceProcess;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    LoadDriver(LoadTestConfig config, String baseUrl, DataSeeder.SeedData seedData, List<String> tokens, ProcessHandle serviceProcess) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.seedData = seedData;
+        this.tokens = tokens;
+        this.serviceProcess = serviceProcess;
+    }
+
+    ScenarioResult run(String scenario) throws InterruptedException {
+        Random random = new Random(config.seed() ^ scenario.hashCode());
+        drive(scenario, random, config.warmup(), null);
+        Stats stats = new Stats();
+        long cpuBefore = serviceCpuNanos();
+        long elapsedNanos = drive(scenario, random, config.duration(), stats);
+        long cpuNanos = serviceCpuNanos() - cpuBefore;
+        Histogram histogram = stats.recorder.getIntervalHistogram();
+        long completed = histogram.getTotalCount();
+        return new ScenarioResult(
+            scenario,
+            config.rps(),
+            completed * 1_000_000_000.0 / elapsedNanos,
+            completed,
+            stats.errors.get(),
+            stats.shed.get(),
+            Map.copyOf(stats.statuses),
+            completed == 0 ? 0 : stats.requestBytes.get() / (double) completed,
+            completed == 0 ? 0 : stats.responseBytes.get() / (double) completed,
+            completed == 0 || cpuNanos < 0 ? -1 : cpuNanos / (double) completed,
+            histogram
+        );
+    }
+
+    private long drive(String scenario, Random random, Duration duration, Stats stats) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.rps());
+        long total = duration.toNanos() / intervalNanos;
+        Semaphore inFlight = new Semaphore(config.concurrencyLimit());
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                HttpRequest request = buildRequest(scenario, random);
+                if (!inFlight.tryAcquire()) {
+                    if (stats != null) {
+                        stats.shed.incrementAndGet();
+                    }
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        send(request, intended, stats);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void send(HttpRequest request, long intendedNanos, Stats stats) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (stats == null) {
+                return;
+            }
+            stats.recorder.recordValue(Math.max(0, System.nanoTime() - intendedNanos) / 1_000);
+            stats.statuses.computeIfAbsent(response.statusCode(), k -> new AtomicLong()).incrementAndGet();
+            stats.responseBytes.addAndGet(response.body().length);
+            stats.requestBytes.addAndGet(request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L));
+        } catch (Exception e) {
+            if (stats != null) {
+                stats.errors.incrementAndGet();
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(String scenario, Random random) {
+        int tenant = random.nextInt(seedData.tenants().size());
+        UUID productId = seedData.product(tenant, random.nextInt(seedData.productsPerTenant()));
+        List<String> codes = seedData.couponCodes().get(tenant);
+        String couponCode = !codes.isEmpty() && random.nextInt(100) < 30 ? codes.get(random.nextInt(codes.size())) : null;
+        int quantity = 1 + random.nextInt(5);
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30))
+            .header("Authorization", "Bearer " + tokens.get(tenant));
+        return switch (scenario) {
+            case "calculate" -> builder.uri(URI.create(baseUrl + "/api/v1/promotion/calculate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"product_id\":\"" + productId + "\",\"quantity\":" + quantity +
+                    (couponCode != null ? ",\"coupon_code\":\"" + couponCode + "\"" : "") + "}"))
+                .build();
+            case "calculate-binary" -> builder.uri(URI.create(baseUrl + "/internal/v1/pricing/calculate"))
+                .header("Content-Type", BINARY_MEDIA_TYPE)
+                .header("Accept", BINARY_MEDIA_TYPE + ", application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(encodeBinaryRequest(productId, quantity, couponCode)))
+                .build();
+            case "validate" -> builder.uri(URI.create(baseUrl + "/api/v1/promotion/coupon/validate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"coupon_code\":\"" + codes.get(random.nextInt(codes.size())) +
+                    "\",\"order_total\":" + BigDecimal.valueOf(1000 + random.nextInt(50_000), 2).toPlainString() + "}"))
+                .build();
+            case "active" -> builder.uri(URI.create(baseUrl + "/api/v1/promotion/product/" + productId + "/active"))
+                .GET()
+                .build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    private long serviceCpuNanos() {
+        return serviceProcess.info().totalCpuDuration().map(Duration::toNanos).orElse(-1L);
+    }
+
+    /**
+     * Mirrors the service's binary pricing request: version, type, 16-byte UUID, zig-zag varint quantity, string
+     */
+    static byte[] encodeBinaryRequest(UUID productId, int quantity, String couponCode) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        out.write(1);
+        out.write(1);
+        writeLong(out, productId.getMostSignificantBits());
+        writeLong(out, productId.getLeastSignificantBits());
+        writeVarLong(out, quantity);
+        if (couponCode == null) {
+            writeVarLong(out, 0);
+        } else {
+            byte[] bytes = couponCode.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, bytes.length + 1);
+            out.writeBytes(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.write((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.write((int) zigZag);
+    }
+
+    private static final class Stats {
+        final Recorder recorder = new Recorder(3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong shed = new AtomicLong();
+        final AtomicLong requestBytes = new AtomicLong();
+        final AtomicLong responseBytes = new AtomicLong();
+        final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Outcome of one measured scenario; latencies are in microseconds
+     */
+    record ScenarioResult(
+        String scenario,
+        int targetRps,
+        double achievedRps,
+        long completed,
+        long errors,
+        long shed,
+        Map<Integer, AtomicLong> statuses,
+        double avgRequestBytes,
+        double avgResponseBytes,
+        double serviceCpuNanosPerCall,
+        Histogram histogram
+    ) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecom.promo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Harness settings, read from system properties so runs are reproducible from the command line
+ *
+ * <pre>
+ * mvn -f load-test/pom.xml exec:java -Drps=500 -Dduration=PT2M -Dcatalog.latency=PT0.02S
+ * </pre>
+ */
+public record LoadTestConfig(
+    Path promoJar,
+    Path reportDir,
+    List<String> scenarios,
+    int rps,
+    Duration warmup,
+    Duration duration,
+    int concurrencyLimit,
+    int tenants,
+    int productsPerTenant,
+    int promotionsPerTenant,
+    int couponsPerTenant,
+    Duration catalogLatency,
+    Duration catalogJitter,
+    Duration jwksLatency,
+    boolean catalogReplica,
+    int priceChangesPerSecond,
+    long seed
+) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            Path.of(property("promo.jar", "../target/promo-0.1.0-SNAPSHOT.jar")),
+            Path.of(property("report.dir", "target/load-test")),
+            Arrays.stream(property("scenarios", "calculate,calculate-binary,validate").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList(),
+            Integer.parseInt(property("rps", "200")),
+            Duration.parse(property("warmup", "PT15S")),
+            Duration.parse(property("duration", "PT60S")),
+            Integer.parseInt(property("concurrency.limit", "2000")),
+            Integer.parseInt(property("tenants", "5")),
+            Integer.parseInt(property("products.per.tenant", "10000")),
+            Integer.parseInt(property("promotions.per.tenant", "200")),
+            Integer.parseInt(property("coupons.per.tenant", "20000")),
+            Duration.parse(property("catalog.latency", "PT0.005S")),
+            Duration.parse(property("catalog.jitter", "PT0.002S")),
+            Duration.parse(property("jwks.latency", "PT0S")),
+            Boolean.parseBoolean(property("catalog.replica", "true")),
+            Integer.parseInt(property("price.changes.per.second", "50")),
+            Long.parseLong(property("seed", "42"))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+}
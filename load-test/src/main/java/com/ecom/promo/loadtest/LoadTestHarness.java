@@ -0,0 +1,207 @@
+package com.ecom.promo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reproducible load test for promo-service
+ *
+ * <p>Starts Postgres and Redis in Testcontainers, local catalog/JWKS stubs, and the
+ * service jar as a child process wired to them. Once the service is healthy and the data
+ * is seeded, each configured scenario is driven at the target RPS and the results are
+ * written to {@code report.dir}: a {@code summary.json} plus one HdrHistogram
+ * percentile file per scenario, so runs can be diffed across commits.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (!Files.isRegularFile(config.promoJar())) {
+            throw new IllegalStateException("Service jar not found at " + config.promoJar() + "; run `mvn package` first");
+        }
+        Files.createDirectories(config.reportDir());
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withDatabaseName("ecom_promo");
+             GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+             StubServer stubs = new StubServer(config)) {
+
+            postgres.start();
+            redis.start();
+
+            DataSeeder seeder = new DataSeeder(config);
+            DataSeeder.SeedData seedData = seeder.plan();
+            CatalogPriceProducer priceProducer = new CatalogPriceProducer(redis.getHost(), redis.getMappedPort(6379));
+            if (config.catalogReplica()) {
+                // The replica bulk-loads the snapshot on startup, so it must exist first
+                priceProducer.writeSnapshot(seedData);
+            }
+
+            int port = freePort();
+            Process service = startService(config, port, postgres, redis, stubs);
+            try (priceProducer) {
+                String baseUrl = "http://127.0.0.1:" + port;
+                awaitHealthy(baseUrl, service, Duration.ofMinutes(3));
+
+                seeder.seed(seedData, postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+                if (config.catalogReplica()) {
+                    priceProducer.startChanges(seedData, config.priceChangesPerSecond(), config.seed());
+                }
+                List<String> tokens = new ArrayList<>();
+                for (UUID tenantId : seedData.tenants()) {
+                    tokens.add(stubs.issueToken(UUID.randomUUID(), tenantId, List.of("CUSTOMER")));
+                }
+
+                LoadDriver driver = new LoadDriver(config, baseUrl, seedData, tokens, service.toHandle());
+                List<LoadDriver.ScenarioResult> results = new ArrayList<>();
+                for (String scenario : config.scenarios()) {
+                    System.out.printf("Running %s at %d rps for %s (warmup %s)%n",
+                        scenario, config.rps(), config.duration(), config.warmup());
+                    LoadDriver.ScenarioResult result = driver.run(scenario);
+                    results.add(result);
+                    writeHistogram(config.reportDir().resolve(scenario + ".hgrm"), result.histogram());
+                }
+                writeSummary(config, results);
+            } finally {
+                service.destroy();
+                service.waitFor();
+            }
+        }
+    }
+
+    private static Process startService(LoadTestConfig config, int port, PostgreSQLContainer<?> postgres,
+                                        GenericContainer<?> redis, StubServer stubs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String jvmArg : System.getProperty("service.jvm.args", "-Xms1g -Xmx1g").split("\\s+")) {
+            if (!jvmArg.isBlank()) {
+                command.add(jvmArg);
+            }
+        }
+        command.add("-jar");
+        command.add(config.promoJar().toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.config.import=");
+        command.add("--spring.cloud.config.enabled=false");
+        command.add("--spring.datasource.url=" + postgres.getJdbcUrl());
+        command.add("--spring.datasource.username=" + postgres.getUsername());
+        command.add("--spring.datasource.password=" + postgres.getPassword());
+        command.add("--spring.data.redis.host=" + redis.getHost());
+        command.add("--spring.data.redis.port=" + redis.getMappedPort(6379));
+        command.add("--jwt.identity-service-url=" + stubs.baseUrl());
+        command.add("--services.catalog.url=" + stubs.baseUrl());
+        command.add("--promo.catalog-replica.enabled=" + config.catalogReplica());
+        // The default 100/min client rate limit would cap the run, not measure the service
+        command.add("--http-client.rate-limiter.enabled=false");
+        command.add("--logging.level.com.ecom=INFO");
+
+        Path log = config.reportDir().resolve("service.log");
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    }
+
+    private static void awaitHealthy(String baseUrl, Process service, Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (!service.isAlive()) {
+                throw new IllegalStateException("promo-service exited with " + service.exitValue() + "; see service.log");
+            }
+            try {
+                HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("promo-service did not become healthy within " + timeout);
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Recorded in microseconds, reported in milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static void writeSummary(LoadTestConfig config, List<LoadDriver.ScenarioResult> results) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("generated_at", Instant.now().toString());
+        summary.put("config", Map.of(
+            "rps", config.rps(),
+            "duration", config.duration().toString(),
+            "tenants", config.tenants(),
+            "products_per_tenant", config.productsPerTenant(),
+            "promotions_per_tenant", config.promotionsPerTenant(),
+            "coupons_per_tenant", config.couponsPerTenant(),
+            "catalog_latency", config.catalogLatency().toString(),
+            "seed", config.seed()));
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (LoadDriver.ScenarioResult result : results) {
+            Histogram h = result.histogram();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("scenario", result.scenario());
+            entry.put("target_rps", result.targetRps());
+            entry.put("achieved_rps", round(result.achievedRps()));
+            entry.put("completed", result.completed());
+            entry.put("errors", result.errors());
+            entry.put("shed_by_harness", result.shed());
+            entry.put("statuses", result.statuses());
+            entry.put("latency_ms", Map.of(
+                "p50", h.getValueAtPercentile(50) / 1000.0,
+                "p90", h.getValueAtPercentile(90) / 1000.0,
+                "p99", h.getValueAtPercentile(99) / 1000.0,
+                "p999", h.getValueAtPercentile(99.9) / 1000.0,
+                "max", h.getMaxValue() / 1000.0));
+            entry.put("avg_request_bytes", round(result.avgRequestBytes()));
+            entry.put("avg_response_bytes", round(result.avgResponseBytes()));
+            entry.put("service_cpu_us_per_call", round(result.serviceCpuNanosPerCall() / 1000.0));
+            scenarios.add(entry);
+        }
+        summary.put("scenarios", scenarios);
+        Path file = config.reportDir().resolve("summary.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summary);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecom.promo.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-ins for catalog-service and identity-service
+ *
+ * <p>Serves {@code GET /api/v1/product/{id}} with a deterministic price derived from the
+ * product id, and {@code GET /.well-known/jwks.json} with the public half of a key
+ * generated per run. Both add configurable latency so catalog slowness can be modelled.
+ */
+final class StubServer implements AutoCloseable {
+
+    private static final String PRODUCT_PREFIX = "/api/v1/product/";
+
+    private final HttpServer server;
+    private final RSAKey signingKey;
+    private final Duration catalogLatency;
+    private final Duration catalogJitter;
+    private final Duration jwksLatency;
+
+    StubServer(LoadTestConfig config) throws IOException, JOSEException {
+        this.signingKey = new RSAKeyGenerator(2048).keyID("load-test").generate();
+        this.catalogLatency = config.catalogLatency();
+        this.catalogJitter = config.catalogJitter();
+        this.jwksLatency = config.jwksLatency();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext(PRODUCT_PREFIX, this::handleProduct);
+        this.server.createContext("/.well-known/jwks.json", this::handleJwks);
+        this.server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Issue a token the promo-service will accept via the stub JWKS
+     */
+    String issueToken(UUID userId, UUID tenantId, List<String> roles) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .subject(userId.toString())
+            .claim("userId", userId.toString())
+            .claim("tenantId", tenantId.toString())
+            .claim("tenant_id", tenantId.toString())
+            .claim("roles", roles)
+            .issuer("load-test")
+            .issueTime(new Date())
+            .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(6))))
+            .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    /**
+     * Deterministic catalog price for a product, so seeded expectations and stub responses agree
+     */
+    static BigDecimal priceOf(UUID productId) {
+        long cents = 100 + Math.floorMod(productId.getLeastSignificantBits(), 50_000L);
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private void handleProduct(HttpExchange exchange) throws IOException {
+        sleep(catalogLatency.plusNanos(catalogJitter.isZero() ? 0
+            : ThreadLocalRandom.current().nextLong(catalogJitter.toNanos())));
+        String id = exchange.getRequestURI().getPath().substring(PRODUCT_PREFIX.length());
+        UUID productId;
+        try {
+            productId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 404, "{\"success\":false,\"message\":\"Product not found\"}");
+            return;
+        }
+        respond(exchange, 200, "{\"success\":true,\"message\":\"Product retrieved\",\"data\":{" +
+            "\"id\":\"" + productId + "\"," +
+            "\"price\":" + priceOf(productId).toPlainString() + "," +
+            "\"currency\":\"USD\"}}");
+    }
+
+    private void handleJwks(HttpExchange exchange) throws IOException {
+        sleep(jwksLatency);
+        respond(exchange, 200, new JWKSet(signingKey.toPublicJWK()).toString());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
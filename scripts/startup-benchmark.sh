@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time-to-ready and RSS for the plain jar, the AOT + AppCDS layout
+# and the native image.
+#
+#   mvn package                        -> target/promo-0.1.0-SNAPSHOT.jar
+#   mvn -Pfast-startup package         -> target/app/promo-0.1.0-SNAPSHOT.jar + promo.jsa
+#   mvn -Pnative native:compile        -> target/promo-service
+#   scripts/startup-benchmark.sh [runs]
+#
+# Postgres and Redis must be reachable with the usual application.yml settings
+# (or SPRING_DATASOURCE_URL / REDIS_HOST). Variants whose artifact is missing are skipped.
+# "Ready" means /actuator/health/readiness returned 200; RSS is sampled at that moment.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18086}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+JAR_NAME="promo-0.1.0-SNAPSHOT.jar"
+COMMON_ARGS=(--server.port="$PORT" --spring.cloud.config.enabled=false --logging.level.root=WARN)
+
+measure() {
+  local label="$1"; shift
+  local total_ms=0 total_rss=0
+  for ((i = 1; i <= RUNS; i++)); do
+    local start_ns pid ready_ns rss_kb
+    start_ns=$(date +%s%N)
+    "$@" "${COMMON_ARGS[@]}" >/dev/null 2>&1 &
+    pid=$!
+    until curl -fs "http://localhost:$PORT/actuator/health/readiness" >/dev/null 2>&1; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$label: process exited before becoming ready" >&2
+        return 1
+      fi
+      sleep 0.02
+    done
+    ready_ns=$(date +%s%N)
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    total_ms=$((total_ms + (ready_ns - start_ns) / 1000000))
+    total_rss=$((total_rss + rss_kb))
+  done
+  printf "%-22s time-to-ready %6d ms   RSS %7d MB   (avg of %d)\n" \
+    "$label" $((total_ms / RUNS)) $((total_rss / RUNS / 1024)) "$RUNS"
+}
+
+if [[ -f "$TARGET/$JAR_NAME" ]]; then
+  measure "jar" java -jar "$TARGET/$JAR_NAME"
+fi
+
+if [[ -f "$TARGET/app/$JAR_NAME" && -f "$TARGET/app/promo.jsa" ]]; then
+  measure "aot+appcds" java -XX:SharedArchiveFile="$TARGET/app/promo.jsa" -Dspring.aot.enabled=true \
+    -jar "$TARGET/app/$JAR_NAME"
+fi
+
+if [[ -x "$TARGET/promo-service" ]]; then
+  measure "native" "$TARGET/promo-service"
+fi
@@ -1,9 +1,14 @@
 package com.ecom.promo;
 
+import com.ecom.promo.config.PromoRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(PromoRuntimeHints.class)
 public class PromoApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,348 @@
+package com.ecom.promo.archival;
+
+import com.ecom.promo.config.ArchivalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves promotions and coupons that expired before the retention window into
+ * {@code *_archive} tables
+ *
+ * <p>Rows move per tenant in keyset order of (expiry, id). Each batch is a single
+ * autocommitted {@code DELETE ... RETURNING} feeding an {@code INSERT} into the archive,
+ * so it locks only the rows it moves and skips any a live transaction holds. Batches are
+ * followed by a pause and capped per run; a tenant cut off by the cap resumes from its
+ * keyset watermark next run, and tenants least recently caught up go first.
+ *
+ * <p>A session advisory lock keeps the job to one node at a time.
+ */
+@Component
+@ConditionalOnProperty(prefix = "promo.archival", name = "enabled", havingValue = "true")
+@Slf4j
+public class ArchivalJob {
+
+    private static final long ADVISORY_LOCK_KEY = 0x70726f6d6f617263L; // "promoarc"
+
+    private static final List<ArchiveTarget> TARGETS = List.of(
+        new ArchiveTarget("promotions", "end_date",
+            "id, tenant_id, name, type, discount_type, discount_value, start_date, end_date, " +
+            "eligibility_criteria, priority, active, created_at, updated_at"),
+        new ArchiveTarget("coupons", "expiry_date",
+            "id, tenant_id, code, discount_type, discount_value, usage_limit, used_count, expiry_date, " +
+            "min_order_value, once_per_customer, active, created_at, updated_at")
+    );
+
+    private static final String LOAD_WATERMARKS =
+        "SELECT tenant_id, archived_through, resume_expiry, resume_id FROM archival_watermarks WHERE table_name = ?";
+
+    private static final String SAVE_WATERMARK =
+        "INSERT INTO archival_watermarks " +
+        "(table_name, tenant_id, archived_through, resume_expiry, resume_id, rows_archived, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, now()) " +
+        "ON CONFLICT (table_name, tenant_id) DO UPDATE SET " +
+        "archived_through = COALESCE(EXCLUDED.archived_through, archival_watermarks.archived_through), " +
+        "resume_expiry = EXCLUDED.resume_expiry, " +
+        "resume_id = EXCLUDED.resume_id, " +
+        "rows_archived = archival_watermarks.rows_archived + EXCLUDED.rows_archived, " +
+        "updated_at = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchivalProperties properties;
+    private final Map<String, TargetMetrics> metrics = new HashMap<>();
+
+    public ArchivalJob(JdbcTemplate jdbcTemplate, ArchivalProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        for (ArchiveTarget target : TARGETS) {
+            metrics.put(target.table(), new TargetMetrics(target.table(), meterRegistry));
+        }
+    }
+
+    @Scheduled(
+        fixedDelayString = "${promo.archival.interval:PT5M}",
+        initialDelayString = "${promo.archival.interval:PT5M}"
+    )
+    public void run() {
+        try {
+            jdbcTemplate.execute((Connection connection) -> {
+                runExclusively(connection);
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Archival run failed", e);
+        }
+    }
+
+    private void runExclusively(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+            log.debug("Archival already running on another node");
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+            for (ArchiveTarget target : TARGETS) {
+                if (!archive(connection, target, cutoff)) {
+                    return;
+                }
+            }
+        } finally {
+            advisoryLock(connection, "pg_advisory_unlock");
+        }
+    }
+
+    /**
+     * One pass over a table; returns {@code false} if interrupted
+     */
+    private boolean archive(Connection connection, ArchiveTarget target, LocalDateTime cutoff) throws SQLException {
+        TargetMetrics targetMetrics = metrics.get(target.table());
+        Map<UUID, Watermark> watermarks = loadWatermarks(connection, target);
+        List<UUID> tenants = listTenants(connection, target);
+        // Tenants never or least recently caught up first, so a capped run cannot starve anyone
+        tenants.sort(Comparator.comparing(
+            (UUID tenantId) -> watermarks.getOrDefault(tenantId, Watermark.NONE).archivedThrough(),
+            Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())));
+
+        int budget = properties.getMaxBatchesPerRun();
+        long pending = 0;
+        boolean interrupted = false;
+        try (PreparedStatement batch = connection.prepareStatement(target.batchSql());
+             PreparedStatement save = connection.prepareStatement(SAVE_WATERMARK)) {
+            for (UUID tenantId : tenants) {
+                if (budget == 0 || interrupted) {
+                    pending++;
+                    continue;
+                }
+                Watermark watermark = watermarks.getOrDefault(tenantId, Watermark.NONE);
+                LocalDateTime resumeExpiry = watermark.resumeExpiry();
+                UUID resumeId = watermark.resumeId();
+                long moved = 0;
+                boolean finished = false;
+                while (budget > 0) {
+                    budget--;
+                    BatchResult result = moveBatch(batch, tenantId, cutoff, resumeExpiry, resumeId);
+                    moved += result.rows();
+                    targetMetrics.batches.increment();
+                    targetMetrics.rows.increment(result.rows());
+                    if (result.rows() < properties.getBatchSize()) {
+                        finished = true;
+                        break;
+                    }
+                    resumeExpiry = result.lastExpiry();
+                    resumeId = result.lastId();
+                    if (!pause()) {
+                        interrupted = true;
+                        break;
+                    }
+                }
+                if (!finished) {
+                    pending++;
+                }
+                saveWatermark(save, target, tenantId, finished ? cutoff : null,
+                    finished ? null : resumeExpiry, finished ? null : resumeId, moved);
+            }
+        }
+
+        targetMetrics.pendingTenants.set(pending);
+        targetMetrics.lagSeconds.set(lagSeconds(connection, target, cutoff));
+        log.info("Archived {}: tenants={}, pendingTenants={}, lagSeconds={}",
+            target.table(), tenants.size(), pending, targetMetrics.lagSeconds.get());
+        return !interrupted;
+    }
+
+    private BatchResult moveBatch(PreparedStatement batch, UUID tenantId, LocalDateTime cutoff,
+                                  LocalDateTime resumeExpiry, UUID resumeId) throws SQLException {
+        batch.setObject(1, tenantId);
+        batch.setTimestamp(2, Timestamp.valueOf(cutoff));
+        if (resumeExpiry != null) {
+            batch.setTimestamp(3, Timestamp.valueOf(resumeExpiry));
+            batch.setTimestamp(4, Timestamp.valueOf(resumeExpiry));
+            batch.setObject(5, resumeId);
+        } else {
+            batch.setNull(3, Types.TIMESTAMP);
+            batch.setNull(4, Types.TIMESTAMP);
+            batch.setNull(5, Types.OTHER);
+        }
+        batch.setInt(6, properties.getBatchSize());
+        batch.setObject(7, tenantId);
+        try (ResultSet rs = batch.executeQuery()) {
+            if (!rs.next()) {
+                return BatchResult.EMPTY;
+            }
+            return new BatchResult(rs.getInt(1), rs.getTimestamp(2).toLocalDateTime(), rs.getObject(3, UUID.class));
+        }
+    }
+
+    private Map<UUID, Watermark> loadWatermarks(Connection connection, ArchiveTarget target) throws SQLException {
+        Map<UUID, Watermark> watermarks = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(LOAD_WATERMARKS)) {
+            statement.setString(1, target.table());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    watermarks.put(rs.getObject(1, UUID.class), new Watermark(
+                        toLocalDateTime(rs.getTimestamp(2)),
+                        toLocalDateTime(rs.getTimestamp(3)),
+                        rs.getObject(4, UUID.class)));
+                }
+            }
+        }
+        return watermarks;
+    }
+
+    private void saveWatermark(PreparedStatement save, ArchiveTarget target, UUID tenantId,
+                               LocalDateTime archivedThrough, LocalDateTime resumeExpiry, UUID resumeId,
+                               long moved) throws SQLException {
+        save.setString(1, target.table());
+        save.setObject(2, tenantId);
+        save.setTimestamp(3, archivedThrough != null ? Timestamp.valueOf(archivedThrough) : null);
+        save.setTimestamp(4, resumeExpiry != null ? Timestamp.valueOf(resumeExpiry) : null);
+        save.setObject(5, resumeId, Types.OTHER);
+        save.setLong(6, moved);
+        save.executeUpdate();
+    }
+
+    private List<UUID> listTenants(Connection connection, ArchiveTarget target) throws SQLException {
+        List<UUID> tenants = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(target.tenantsSql());
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                tenants.add(rs.getObject(1, UUID.class));
+            }
+        }
+        return tenants;
+    }
+
+    private long lagSeconds(Connection connection, ArchiveTarget target, LocalDateTime cutoff) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(target.oldestSql())) {
+            statement.setTimestamp(1, Timestamp.valueOf(cutoff));
+            try (ResultSet rs = statement.executeQuery()) {
+                Timestamp oldest = rs.next() ? rs.getTimestamp(1) : null;
+                return oldest != null ? Duration.between(oldest.toLocalDateTime(), cutoff).toSeconds() : 0L;
+            }
+        }
+    }
+
+    private boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getBatchPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * A hot table, its expiry column and the columns copied to {@code <table>_archive}
+     */
+    private record ArchiveTarget(String table, String expiryColumn, String columns) {
+
+        /**
+         * Distinct tenants via a loose index scan, cheap however many rows each tenant has
+         */
+        String tenantsSql() {
+            return "WITH RECURSIVE t AS (" +
+                "  SELECT min(tenant_id) AS tenant_id FROM " + table +
+                "  UNION ALL" +
+                "  SELECT (SELECT min(tenant_id) FROM " + table + " WHERE tenant_id > t.tenant_id) FROM t" +
+                "  WHERE t.tenant_id IS NOT NULL" +
+                ") SELECT tenant_id FROM t WHERE tenant_id IS NOT NULL";
+        }
+
+        /**
+         * Move one keyset batch; returns the row count and the last (expiry, id) moved
+         */
+        String batchSql() {
+            return "WITH batch AS (" +
+                "  SELECT id FROM " + table +
+                "  WHERE tenant_id = ? AND " + expiryColumn + " < ?" +
+                "  AND (?::timestamp IS NULL OR (" + expiryColumn + ", id) > (?, ?))" +
+                "  ORDER BY " + expiryColumn + ", id LIMIT ?" +
+                "  FOR UPDATE SKIP LOCKED" +
+                "), moved AS (" +
+                "  DELETE FROM " + table + " h USING batch b" +
+                "  WHERE h.tenant_id = ? AND h.id = b.id" +
+                "  RETURNING h.*" +
+                "), archived AS (" +
+                "  INSERT INTO " + table + "_archive (" + columns + ")" +
+                "  SELECT " + columns + " FROM moved" +
+                "  ON CONFLICT DO NOTHING" +
+                ") " +
+                "SELECT (SELECT count(*) FROM moved), m." + expiryColumn + ", m.id FROM moved m " +
+                "ORDER BY m." + expiryColumn + " DESC, m.id DESC LIMIT 1";
+        }
+
+        String oldestSql() {
+            return "SELECT min(" + expiryColumn + ") FROM " + table + " WHERE " + expiryColumn + " < ?";
+        }
+    }
+
+    private record Watermark(LocalDateTime archivedThrough, LocalDateTime resumeExpiry, UUID resumeId) {
+
+        static final Watermark NONE = new Watermark(null, null, null);
+    }
+
+    private record BatchResult(int rows, LocalDateTime lastExpiry, UUID lastId) {
+
+        static final BatchResult EMPTY = new BatchResult(0, null, null);
+    }
+
+    /**
+     * Progress and lag meters for one table
+     */
+    private static final class TargetMetrics {
+
+        private final Counter rows;
+        private final Counter batches;
+        private final AtomicLong pendingTenants = new AtomicLong();
+        private final AtomicLong lagSeconds = new AtomicLong();
+
+        TargetMetrics(String table, MeterRegistry meterRegistry) {
+            this.rows = meterRegistry.counter("promo.archival.rows", "table", table);
+            this.batches = meterRegistry.counter("promo.archival.batches", "table", table);
+            Gauge.builder("promo.archival.tenants.pending", pendingTenants, AtomicLong::get)
+                .tag("table", table)
+                .register(meterRegistry);
+            // How far past the retention cutoff the oldest unarchived row is
+            Gauge.builder("promo.archival.lag", lagSeconds, AtomicLong::get)
+                .tag("table", table)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecom.promo.audit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One price quote as it was returned to the caller
+ */
+public record PriceDecision(
+    UUID tenantId,
+    UUID productId,
+    int quantity,
+    String couponCode,
+    BigDecimal basePrice,
+    BigDecimal discountAmount,
+    BigDecimal finalPrice,
+    List<String> appliedPromotions,
+    String currency,
+    LocalDateTime decidedAt
+) {
+}
@@ -0,0 +1,180 @@
+package com.ecom.promo.audit;
+
+import com.ecom.promo.config.PriceAuditProperties;
+import com.ecom.promo.warmup.WarmupCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous price decision audit log
+ *
+ * <p>The request path only calls {@link #record}, which is a single lock-free offer into
+ * a bounded ring buffer. A background writer drains the buffer and appends the rows to
+ * {@code price_decision_audit} with multi-row INSERTs. When the buffer is full the
+ * decision is dropped and counted rather than slowing the quote down. A batch rejected
+ * for its data is retried in halves so only the offending rows are dropped; any other
+ * write failure discards the batch, since retrying against a down database would only
+ * back the buffer up further.
+ */
+@Component
+@Slf4j
+public class PriceDecisionAuditor implements SmartLifecycle {
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO price_decision_audit (tenant_id, product_id, quantity, coupon_code, base_price, " +
+        "discount_amount, final_price, applied_promotions, currency, decided_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PriceAuditProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final MpscRingBuffer<PriceDecision> buffer;
+    private final String fullBatchSql;
+
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter writeFailures;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public PriceDecisionAuditor(PriceAuditProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new MpscRingBuffer<>(properties.getCapacity());
+        this.fullBatchSql = insertSql(properties.getBatchSize());
+        this.recorded = meterRegistry.counter("promo.audit.decisions", "outcome", "recorded");
+        this.dropped = meterRegistry.counter("promo.audit.decisions", "outcome", "dropped");
+        this.written = meterRegistry.counter("promo.audit.rows.written");
+        this.writeFailures = meterRegistry.counter("promo.audit.write.failures");
+        Gauge.builder("promo.audit.buffer.depth", buffer, MpscRingBuffer::size).register(meterRegistry);
+    }
+
+    /**
+     * Enqueue a decision for auditing; never blocks
+     */
+    public void record(PriceDecision decision) {
+        if (!running || WarmupCatalog.isWarmupTenant(decision.tenantId())) {
+            return;
+        }
+        if (buffer.offer(decision)) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Price decision audit disabled");
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("price-audit-writer").daemon(true).start(this::writeLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop() {
+        long idleNanos = properties.getFlushInterval().toNanos();
+        List<PriceDecision> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || buffer.size() > 0) {
+            buffer.drain(batch::add, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(idleNanos);
+                continue;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PriceDecision> batch) {
+        try {
+            insert(batch);
+            written.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                writeFailures.increment();
+                log.warn("Dropping audit row for product {} rejected by the database: {}",
+                    batch.getFirst().productId(), e.getMessage());
+                return;
+            }
+            // Bisect so a single bad row costs log2(batch) extra statements, not the whole batch
+            int half = batch.size() / 2;
+            writeBatch(batch.subList(0, half));
+            writeBatch(batch.subList(half, batch.size()));
+        } catch (Exception e) {
+            writeFailures.increment();
+            log.warn("Dropping {} audit rows after write failure: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void insert(List<PriceDecision> batch) {
+        String sql = batch.size() == properties.getBatchSize() ? fullBatchSql : insertSql(batch.size());
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int index = 1;
+                for (PriceDecision decision : batch) {
+                    statement.setObject(index++, decision.tenantId(), Types.OTHER);
+                    statement.setObject(index++, decision.productId(), Types.OTHER);
+                    statement.setInt(index++, decision.quantity());
+                    statement.setString(index++, decision.couponCode());
+                    statement.setBigDecimal(index++, decision.basePrice());
+                    statement.setBigDecimal(index++, decision.discountAmount());
+                    statement.setBigDecimal(index++, decision.finalPrice());
+                    Array promotions = connection.createArrayOf("text", decision.appliedPromotions().toArray());
+                    statement.setArray(index++, promotions);
+                    statement.setString(index++, decision.currency());
+                    statement.setTimestamp(index++, Timestamp.valueOf(decision.decidedAt()));
+                }
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,146 @@
+package com.ecom.promo.cache;
+
+import com.ecom.promo.catalog.CatalogPriceReplica;
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.config.PromoCacheProperties;
+import com.ecom.promo.eligibility.PromotionIndexService;
+import com.ecom.promo.service.ActivePromotions;
+import com.ecom.promo.service.PromotionService;
+import com.ecom.response.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Serialized {@code /product/{productId}/active} responses, per tenant and product
+ *
+ * <p>Each entry holds the final JSON bytes plus a strong ETag (a digest of those bytes,
+ * so it is identical on every node) and stays valid until either the tenant's promotion
+ * version moves or the active set changes on its own because a promotion starts or ends.
+ * Repeat hits therefore skip the query, the entity mapping and Jackson entirely.
+ * Entries also expire after {@code ttl}, in case a version broadcast from another node
+ * never arrives.
+ *
+ * <p>A response matched on a product's category or brand is dropped when the catalog
+ * replica reports different attributes for it. Responses built while the catalog was
+ * unreachable are served but never cached, so the full list returns with the catalog.
+ */
+@Component
+public class ActivePromotionsResponseCache {
+
+    static final String MESSAGE = "Active promotions retrieved successfully";
+
+    private final PromotionService promotionService;
+    private final PromotionIndexService promotionIndexService;
+    private final PromotionVersionTracker versionTracker;
+    private final CatalogPriceReplica catalogPriceReplica;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Key, CachedResponse> cache;
+
+    public ActivePromotionsResponseCache(PromotionService promotionService,
+                                         PromotionIndexService promotionIndexService,
+                                         PromotionVersionTracker versionTracker,
+                                         CatalogPriceReplica catalogPriceReplica,
+                                         ObjectMapper objectMapper,
+                                         PromoCacheProperties cacheProperties,
+                                         MeterRegistry meterRegistry) {
+        this.promotionService = promotionService;
+        this.promotionIndexService = promotionIndexService;
+        this.versionTracker = versionTracker;
+        this.catalogPriceReplica = catalogPriceReplica;
+        this.objectMapper = objectMapper;
+        this.enabled = cacheProperties.getActivePromotions().isEnabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(cacheProperties.getActivePromotions().getMaxEntries())
+            .expireAfterWrite(cacheProperties.getActivePromotions().getTtl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "promo.active-promotions.responses");
+        catalogPriceReplica.addChangeListener(this::productChanged);
+    }
+
+    public CachedResponse get(UUID tenantId, UUID productId) {
+        Key key = new Key(tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT, productId);
+        long version = versionTracker.version(tenantId);
+        LocalDateTime now = LocalDateTime.now();
+        CachedResponse cached = enabled ? cache.getIfPresent(key) : null;
+        if (cached != null && cached.version() == version && now.isBefore(cached.validUntil())) {
+            return cached;
+        }
+        CachedResponse loaded = load(tenantId, productId, version);
+        if (enabled && !loaded.degraded()) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private void productChanged(UUID tenantId, UUID productId) {
+        // Runs on the replica's stream thread: an off-heap read and a map removal at most
+        Key key = new Key(tenantId, productId);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null || cached.matchedOn() == null) {
+            return;
+        }
+        CatalogProduct current = catalogPriceReplica.find(tenantId, productId);
+        if (current == null
+                || !Objects.equals(current.categoryId(), cached.matchedOn().categoryId())
+                || !Objects.equals(current.brand(), cached.matchedOn().brand())) {
+            cache.invalidate(key);
+        }
+    }
+
+    private CachedResponse load(UUID tenantId, UUID productId, long version) {
+        ActivePromotions active = promotionService.getActivePromotions(productId, tenantId);
+
+        // The set changes by itself when a promotion ends or a scheduled one starts,
+        // which is exactly when the tenant's eligibility index expires
+        LocalDateTime validUntil = promotionIndexService.get(tenantId).validUntil();
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.success(active.promotions(), MESSAGE));
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new CachedResponse(body, etag, version, validUntil, active.matchedOn(), active.degraded());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize active promotions", e);
+        }
+    }
+
+    private record Key(UUID tenantId, UUID productId) {
+    }
+
+    /**
+     * Ready-to-write response body and its strong ETag
+     */
+    public record CachedResponse(byte[] body, String etag, long version, LocalDateTime validUntil,
+                                 CatalogProduct matchedOn, boolean degraded) {
+
+        /**
+         * Whether an {@code If-None-Match} header value matches this response
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || etag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
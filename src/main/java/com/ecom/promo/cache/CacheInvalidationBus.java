@@ -0,0 +1,96 @@
+package com.ecom.promo.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide invalidation of node-local caches over Redis pub/sub
+ *
+ * <p>{@link #publish} applies the invalidation on this node immediately and broadcasts it
+ * to the others. Inside a transaction both happen only after commit, so no node can
+ * reload the pre-commit state into its cache. Messages are {@code nodeId|topic|key};
+ * a node ignores its own broadcasts.
+ *
+ * <p>Pub/sub is fire-and-forget, so caches relying on it should still bound staleness
+ * with a TTL or version check.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "promo:cache-invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(RedisTemplate<String, String> redisTemplate, RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(
+            (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Register a handler for invalidations on {@code topic}; the handler receives the key
+     */
+    public void subscribe(String topic, Consumer<String> handler) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Invalidate {@code key} under {@code topic} on every node (after commit, if in a transaction)
+     */
+    public void publish(String topic, String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishNow(topic, key);
+                }
+            });
+        } else {
+            publishNow(topic, key);
+        }
+    }
+
+    private void publishNow(String topic, String key) {
+        dispatch(topic, key);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + topic + "|" + key);
+        } catch (Exception e) {
+            log.warn("Cache invalidation broadcast failed: topic={}, key={}: {}", topic, key, e.getMessage());
+        }
+    }
+
+    private void onMessage(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        dispatch(parts[1], parts[2]);
+    }
+
+    private void dispatch(String topic, String key) {
+        for (Consumer<String> handler : listeners.getOrDefault(topic, List.of())) {
+            try {
+                handler.accept(key);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation handler failed: topic={}, key={}", topic, key, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecom.promo.cache;
+
+import com.ecom.promo.entity.Coupon;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable, cacheable part of a coupon
+ *
+ * <p>Everything except {@code used_count}, which changes on every redemption and is
+ * always read from the database.
+ */
+public record CouponDefinition(
+    UUID id,
+    UUID tenantId,
+    String code,
+    String discountType,
+    BigDecimal discountValue,
+    Integer usageLimit, // NULL means unlimited
+    LocalDateTime expiryDate,
+    BigDecimal minOrderValue,
+    boolean oncePerCustomer,
+    boolean active,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+
+    /**
+     * Entity column types, as selected by {@code CouponRepository.findDefinition}
+     */
+    public CouponDefinition(UUID id, UUID tenantId, String code, String discountType, BigDecimal discountValue,
+                            Integer usageLimit, LocalDateTime expiryDate, BigDecimal minOrderValue,
+                            Boolean oncePerCustomer, Boolean active, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, tenantId, code, discountType, discountValue, usageLimit, expiryDate, minOrderValue,
+            Boolean.TRUE.equals(oncePerCustomer), Boolean.TRUE.equals(active), createdAt, updatedAt);
+    }
+
+    public static CouponDefinition from(Coupon coupon) {
+        return new CouponDefinition(
+            coupon.getId(),
+            coupon.getTenantId(),
+            coupon.getCode(),
+            coupon.getDiscountType(),
+            coupon.getDiscountValue(),
+            coupon.getUsageLimit(),
+            coupon.getExpiryDate(),
+            coupon.getMinOrderValue(),
+            coupon.getOncePerCustomer(),
+            coupon.getActive(),
+            coupon.getCreatedAt(),
+            coupon.getUpdatedAt()
+        );
+    }
+
+    public boolean limited() {
+        return usageLimit != null;
+    }
+}
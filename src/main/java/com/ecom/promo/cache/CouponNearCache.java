@@ -0,0 +1,118 @@
+package com.ecom.promo.cache;
+
+import com.ecom.promo.config.PromoCacheProperties;
+import com.ecom.promo.repository.CouponRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-local near cache for heavily used coupon codes
+ *
+ * <p>Only hot codes are pinned: each lookup bumps a per-code counter that resets every
+ * {@code hotWindow}, and once a code crosses {@code hotThreshold} its definition (or its
+ * absence, so hammered invalid codes are covered too) is kept locally. Cold codes keep
+ * going to the database, so the cache stays small and a one-off code never displaces
+ * an influencer code.
+ *
+ * <p>{@code used_count} is never cached; see {@link #usedCount}. Coupon writes invalidate
+ * the code on every node through {@link CacheInvalidationBus}; {@code ttl} bounds
+ * staleness if a broadcast is lost.
+ */
+@Component
+public class CouponNearCache {
+
+    static final String TOPIC = "coupons";
+
+    private final CouponRepository couponRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final boolean enabled;
+    private final long hotThreshold;
+    private final Cache<Key, LongAdder> frequency;
+    private final Cache<Key, Optional<CouponDefinition>> pinned;
+    private final Counter pins;
+
+    public CouponNearCache(CouponRepository couponRepository,
+                           CacheInvalidationBus invalidationBus,
+                           PromoCacheProperties cacheProperties,
+                           MeterRegistry meterRegistry) {
+        PromoCacheProperties.Coupons properties = cacheProperties.getCoupons();
+        this.couponRepository = couponRepository;
+        this.invalidationBus = invalidationBus;
+        this.enabled = properties.isEnabled();
+        this.hotThreshold = properties.getHotThreshold();
+        this.frequency = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getHotWindow())
+            .maximumSize(properties.getMaxPinned() * 10)
+            .build();
+        this.pinned = Caffeine.newBuilder()
+            .expireAfterWrite(properties.getTtl())
+            .maximumSize(properties.getMaxPinned())
+            .recordStats()
+            .build();
+        this.pins = meterRegistry.counter("promo.coupons.near-cache.pins");
+        CaffeineCacheMetrics.monitor(meterRegistry, pinned, "promo.coupons.near-cache");
+        invalidationBus.subscribe(TOPIC, this::onInvalidation);
+    }
+
+    /**
+     * Coupon definition for {@code code}, or {@code null} if the tenant has no such coupon
+     */
+    public CouponDefinition find(UUID tenantId, String code) {
+        if (!enabled) {
+            return load(tenantId, code);
+        }
+        Key key = new Key(tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT, code);
+        Optional<CouponDefinition> cached = pinned.getIfPresent(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        LongAdder lookups = frequency.get(key, k -> new LongAdder());
+        lookups.increment();
+        if (lookups.sum() < hotThreshold) {
+            return load(tenantId, code);
+        }
+        // Hot: one loader per node, everyone else waits for it
+        return pinned.get(key, k -> {
+            pins.increment();
+            return Optional.ofNullable(load(tenantId, code));
+        }).orElse(null);
+    }
+
+    /**
+     * Authoritative redemption count, read from the database on every call
+     */
+    public int usedCount(CouponDefinition coupon) {
+        Integer usedCount = couponRepository.findUsedCount(coupon.tenantId(), coupon.id());
+        return usedCount != null ? usedCount : 0;
+    }
+
+    /**
+     * Record a write to a coupon definition; takes effect after the surrounding commit
+     */
+    public void couponChanged(UUID tenantId, String code) {
+        UUID tenant = tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT;
+        invalidationBus.publish(TOPIC, tenant + "|" + code);
+    }
+
+    private void onInvalidation(String key) {
+        String[] parts = key.split("\\|", 2);
+        pinned.invalidate(new Key(UUID.fromString(parts[0]), parts[1]));
+    }
+
+    private CouponDefinition load(UUID tenantId, String code) {
+        // Straight into the record: no managed Coupon, no dirty-checking snapshot
+        return couponRepository.findDefinition(tenantId, code).orElse(null);
+    }
+
+    private record Key(UUID tenantId, String code) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecom.promo.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Node-local version of each tenant's promotion set
+ *
+ * <p>Anything derived from a tenant's promotions (serialized responses, indexes) is
+ * tagged with the version it was built from and rebuilt once the version moves.
+ * Versions are bumped through {@link CacheInvalidationBus}, so every node notices writes
+ * made on any node. Versions are not comparable across nodes.
+ */
+@Component
+public class PromotionVersionTracker {
+
+    static final String TOPIC = "promotions";
+
+    /**
+     * Stands in for the absent tenant of unauthenticated callers
+     */
+    public static final UUID NO_TENANT = new UUID(0L, 0L);
+
+    private final Map<UUID, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final CacheInvalidationBus invalidationBus;
+
+    public PromotionVersionTracker(CacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(TOPIC, tenant -> bump(UUID.fromString(tenant)));
+    }
+
+    public long version(UUID tenantId) {
+        AtomicLong version = versions.get(key(tenantId));
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Record that a tenant's promotions changed; takes effect after the surrounding commit
+     */
+    public void promotionsChanged(UUID tenantId) {
+        invalidationBus.publish(TOPIC, key(tenantId).toString());
+    }
+
+    /**
+     * Run {@code listener} after a tenant's promotions changed on any node, once its
+     * version has moved; it receives {@link #NO_TENANT} for the absent tenant
+     */
+    public void addListener(Consumer<UUID> listener) {
+        invalidationBus.subscribe(TOPIC, tenant -> listener.accept(UUID.fromString(tenant)));
+    }
+
+    private void bump(UUID tenantId) {
+        versions.computeIfAbsent(tenantId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static UUID key(UUID tenantId) {
+        return tenantId != null ? tenantId : NO_TENANT;
+    }
+}
@@ -0,0 +1,192 @@
+package com.ecom.promo.cart;
+
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A fully priced cart, one line per product, in the order lines were added
+ *
+ * <p>The fingerprint is the sum of per-line content hashes (product, quantity, coupon),
+ * so it identifies the cart's contents regardless of line order and can be updated for
+ * an edit without looking at the untouched lines. Totals are maintained the same way.
+ * Immutable; {@link #edit} returns a copy to apply a delta to.
+ */
+public final class PricedCart {
+
+    public static final PricedCart EMPTY = new PricedCart(Map.of(), 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    private final Map<UUID, PricedLine> lines;
+    private final long fingerprint;
+    private final BigDecimal baseTotal;
+    private final BigDecimal discountTotal;
+    private final BigDecimal finalTotal;
+
+    private PricedCart(Map<UUID, PricedLine> lines, long fingerprint,
+                       BigDecimal baseTotal, BigDecimal discountTotal, BigDecimal finalTotal) {
+        this.lines = lines;
+        this.fingerprint = fingerprint;
+        this.baseTotal = baseTotal;
+        this.discountTotal = discountTotal;
+        this.finalTotal = finalTotal;
+    }
+
+    /**
+     * Start applying a delta; lines priced under another promotion index generation, or
+     * before {@code staleBefore} (a {@link System#nanoTime()} value), are repriced too
+     */
+    public Editor edit(int generation, long staleBefore) {
+        return new Editor(this, generation, staleBefore);
+    }
+
+    public Collection<PricedLine> lines() {
+        return lines.values();
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    public String fingerprint() {
+        return HexFormat.of().toHexDigits(fingerprint);
+    }
+
+    public BigDecimal baseTotal() {
+        return baseTotal;
+    }
+
+    public BigDecimal discountTotal() {
+        return discountTotal;
+    }
+
+    public BigDecimal finalTotal() {
+        return finalTotal;
+    }
+
+    /**
+     * Parse a fingerprint returned earlier; {@code null} if it is not one
+     */
+    public static Long parseFingerprint(String fingerprint) {
+        if (fingerprint == null || fingerprint.length() != 16 || !fingerprint.chars().allMatch(HexFormat::isHexDigit)) {
+            return null;
+        }
+        return HexFormat.fromHexDigitsToLong(fingerprint);
+    }
+
+    long fingerprintValue() {
+        return fingerprint;
+    }
+
+    private static long lineHash(PriceCalculationRequest request) {
+        long h = request.productId().getMostSignificantBits() * 0x9E3779B97F4A7C15L
+            ^ request.productId().getLeastSignificantBits();
+        h = h * 31 + Objects.hashCode(request.quantity());
+        h = h * 31 + Objects.hashCode(request.couponCode());
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * A cart being edited; lines awaiting a price have no response yet
+     */
+    public static final class Editor {
+
+        private final LinkedHashMap<UUID, PricedLine> lines;
+        private final int generation;
+        private final long staleBefore;
+        private long fingerprint;
+        private BigDecimal baseTotal;
+        private BigDecimal discountTotal;
+        private BigDecimal finalTotal;
+
+        private Editor(PricedCart cart, int generation, long staleBefore) {
+            this.lines = new LinkedHashMap<>(cart.lines);
+            this.generation = generation;
+            this.staleBefore = staleBefore;
+            this.fingerprint = cart.fingerprint;
+            this.baseTotal = cart.baseTotal;
+            this.discountTotal = cart.discountTotal;
+            this.finalTotal = cart.finalTotal;
+        }
+
+        public void remove(UUID productId) {
+            PricedLine removed = lines.remove(productId);
+            if (removed != null) {
+                subtract(removed);
+            }
+        }
+
+        /**
+         * Add a line, or replace the product's existing line in place
+         */
+        public void put(PriceCalculationRequest request) {
+            PricedLine existing = lines.get(request.productId());
+            if (existing != null) {
+                subtract(existing);
+            }
+            lines.put(request.productId(), PricedLine.pending(request));
+        }
+
+        /**
+         * Lines the delta touched plus those whose cached price may be out of date
+         */
+        public List<PriceCalculationRequest> linesToPrice() {
+            List<PriceCalculationRequest> toPrice = new ArrayList<>();
+            for (Map.Entry<UUID, PricedLine> entry : lines.entrySet()) {
+                PricedLine line = entry.getValue();
+                if (line.isPriced() && line.generation() == generation && line.pricedAt() - staleBefore >= 0) {
+                    continue;
+                }
+                if (line.isPriced()) {
+                    subtract(line);
+                    entry.setValue(PricedLine.pending(line.request()));
+                }
+                toPrice.add(line.request());
+            }
+            return toPrice;
+        }
+
+        public void priced(PriceCalculationRequest request, PriceCalculationResponse response, long pricedAt) {
+            PricedLine line = new PricedLine(request, response, generation, pricedAt);
+            lines.put(request.productId(), line);
+            add(line);
+        }
+
+        public int size() {
+            return lines.size();
+        }
+
+        public PricedCart build() {
+            return new PricedCart(Collections.unmodifiableMap(lines), fingerprint, baseTotal, discountTotal, finalTotal);
+        }
+
+        private void add(PricedLine line) {
+            fingerprint += lineHash(line.request());
+            baseTotal = baseTotal.add(line.response().basePrice());
+            discountTotal = discountTotal.add(line.response().discountAmount());
+            finalTotal = finalTotal.add(line.response().finalPrice());
+        }
+
+        private void subtract(PricedLine line) {
+            // Pending lines have not been counted yet
+            if (!line.isPriced()) {
+                return;
+            }
+            fingerprint -= lineHash(line.request());
+            baseTotal = baseTotal.subtract(line.response().basePrice());
+            discountTotal = discountTotal.subtract(line.response().discountAmount());
+            finalTotal = finalTotal.subtract(line.response().finalPrice());
+        }
+    }
+}
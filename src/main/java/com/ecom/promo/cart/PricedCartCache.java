@@ -0,0 +1,73 @@
+package com.ecom.promo.cart;
+
+import com.ecom.promo.cache.PromotionVersionTracker;
+import com.ecom.promo.config.PromoCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Node-local priced carts by tenant and fingerprint, for incremental repricing
+ *
+ * <p>Entries are only a starting point: lines are reused only while the tenant's
+ * promotion index is unchanged and for at most {@code maxLineAge}, which bounds how
+ * stale a reused catalog price or coupon outcome can be. A fingerprint unknown to this
+ * node (evicted, or priced on another node) makes the caller send the full cart.
+ */
+@Component
+public class PricedCartCache {
+
+    private final Cache<Key, PricedCart> carts;
+    private final long maxLineAgeNanos;
+    private final Counter reused;
+    private final Counter repriced;
+
+    public PricedCartCache(PromoCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        PromoCacheProperties.Carts properties = cacheProperties.getCarts();
+        this.carts = Caffeine.newBuilder()
+            .expireAfterAccess(properties.getIdleTtl())
+            .maximumSize(properties.getMaxEntries())
+            .recordStats()
+            .build();
+        this.maxLineAgeNanos = properties.getMaxLineAge().toNanos();
+        this.reused = meterRegistry.counter("promo.cart.lines", "result", "reused");
+        this.repriced = meterRegistry.counter("promo.cart.lines", "result", "repriced");
+        CaffeineCacheMetrics.monitor(meterRegistry, carts, "promo.cart.priced-carts");
+    }
+
+    /**
+     * Cart previously returned with {@code fingerprint}, or {@code null} if this node does not have it
+     */
+    public PricedCart find(UUID tenantId, String fingerprint) {
+        Long value = PricedCart.parseFingerprint(fingerprint);
+        return value != null ? carts.getIfPresent(new Key(key(tenantId), value)) : null;
+    }
+
+    public void put(UUID tenantId, PricedCart cart) {
+        carts.put(new Key(key(tenantId), cart.fingerprintValue()), cart);
+    }
+
+    /**
+     * {@link System#nanoTime()} before which a priced line is too old to reuse
+     */
+    public long staleBefore() {
+        return System.nanoTime() - maxLineAgeNanos;
+    }
+
+    public void recordLines(int reusedLines, int repricedLines) {
+        reused.increment(reusedLines);
+        repriced.increment(repricedLines);
+    }
+
+    private static UUID key(UUID tenantId) {
+        return tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT;
+    }
+
+    private record Key(UUID tenantId, long fingerprint) {
+    }
+}
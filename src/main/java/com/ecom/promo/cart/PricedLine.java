@@ -0,0 +1,24 @@
+package com.ecom.promo.cart;
+
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+
+/**
+ * One cart line and its price, with the promotion index generation and
+ * {@link System#nanoTime()} it was priced at ({@code response} is {@code null} until priced)
+ */
+public record PricedLine(
+    PriceCalculationRequest request,
+    PriceCalculationResponse response,
+    int generation,
+    long pricedAt
+) {
+
+    static PricedLine pending(PriceCalculationRequest request) {
+        return new PricedLine(request, null, 0, 0L);
+    }
+
+    public boolean isPriced() {
+        return response != null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecom.promo.catalog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Brand names interned to small ids, so {@link OffHeapPriceTable} rows hold an int
+ *
+ * <p>Ids are assigned by the replica's single writer and never reused; readers resolve
+ * ids they found in a published row, which the writer assigned beforehand.
+ */
+final class BrandDictionary {
+
+    static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] brands = new String[64];
+    private int count;
+
+    /**
+     * Id of {@code brand}, or {@link #NONE} if it is {@code null} or was never assigned
+     */
+    int lookup(String brand) {
+        if (brand == null) {
+            return NONE;
+        }
+        Integer id = ids.get(brand);
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * Id of {@code brand}, assigning the next one if it is new (writer only)
+     */
+    int assign(String brand) {
+        if (brand == null) {
+            return NONE;
+        }
+        Integer existing = ids.get(brand);
+        if (existing != null) {
+            return existing;
+        }
+        String[] current = brands;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, count * 2);
+        }
+        current[count] = brand;
+        brands = current;
+        ids.put(brand, count);
+        return count++;
+    }
+
+    String brand(int id) {
+        return id == NONE ? null : brands[id];
+    }
+
+    void clear() {
+        ids.clear();
+        brands = new String[64];
+        count = 0;
+    }
+
+    void save(Path file) throws IOException {
+        Path staging = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(staging)))) {
+            String[] current = brands;
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeUTF(current[i]);
+            }
+        }
+        Files.move(staging, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    void load(Path file) throws IOException {
+        clear();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int saved = in.readInt();
+            for (int i = 0; i < saved; i++) {
+                assign(in.readUTF());
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecom.promo.catalog;
+
+import com.ecom.promo.config.CatalogClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * When to hedge a catalog product lookup, and whether the budget allows it
+ *
+ * <p>The hedge delay tracks the configured percentile of recent lookup latency, so only
+ * the slowest few percent of lookups are duplicated. The budget is a token bucket that
+ * earns {@code maxRatio} of a token per lookup and spends one per hedge: when the
+ * catalog is slow across the board, hedging stops at that fraction of extra load
+ * instead of doubling it.
+ */
+@Component
+public class CatalogHedging {
+
+    private static final long TOKEN = 1_000;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final long initialDelayNanos;
+    private final long minDelayNanos;
+    private final long minSamples;
+    private final long earnedPerLookup;
+    private final long maxTokens;
+    private final Timer latency;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter throttled;
+    private final AtomicLong tokens;
+    private volatile long delayNanos;
+    private volatile long delayRefreshedAt;
+
+    public CatalogHedging(CatalogClientProperties properties, MeterRegistry meterRegistry) {
+        CatalogClientProperties.Hedging hedging = properties.getHedging();
+        this.enabled = hedging.isEnabled();
+        this.initialDelayNanos = hedging.getInitialDelay().toNanos();
+        this.minDelayNanos = hedging.getMinDelay().toNanos();
+        this.minSamples = hedging.getMinSamples();
+        this.earnedPerLookup = Math.round(hedging.getMaxRatio() * TOKEN);
+        this.maxTokens = hedging.getBurst() * TOKEN;
+        this.latency = Timer.builder("promo.catalog.product.latency")
+            .description("Catalog-service product lookups; primaries cancelled by a hedge or deadline count the time they ran")
+            .publishPercentiles(hedging.getPercentile())
+            .distributionStatisticExpiry(Duration.ofMinutes(1))
+            .register(meterRegistry);
+        this.sent = meterRegistry.counter("promo.catalog.hedges", "outcome", "sent");
+        this.won = meterRegistry.counter("promo.catalog.hedges", "outcome", "won");
+        this.throttled = meterRegistry.counter("promo.catalog.hedges", "outcome", "throttled");
+        this.tokens = new AtomicLong(maxTokens);
+        this.delayNanos = initialDelayNanos;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Count a primary lookup towards the hedge budget
+     */
+    public void lookupStarted() {
+        tokens.accumulateAndGet(earnedPerLookup, (current, earned) -> Math.min(maxTokens, current + earned));
+    }
+
+    /**
+     * Take a hedge from the budget; {@code false} if it is spent
+     */
+    public boolean tryHedge() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                throttled.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        sent.increment();
+        return true;
+    }
+
+    public void hedgeWon() {
+        won.increment();
+    }
+
+    public void recordLatency(long nanos) {
+        latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * How long to wait for the primary lookup before hedging
+     */
+    public Duration delay() {
+        long now = System.nanoTime();
+        if (now - delayRefreshedAt > DELAY_REFRESH_NANOS) {
+            // Snapshots allocate, so the percentile is re-read at most once a second
+            delayRefreshedAt = now;
+            delayNanos = computeDelay();
+        }
+        return Duration.ofNanos(delayNanos);
+    }
+
+    private long computeDelay() {
+        if (latency.count() < minSamples) {
+            return initialDelayNanos;
+        }
+        ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+        double observed = percentiles.length > 0 ? percentiles[0].value(TimeUnit.NANOSECONDS) : 0;
+        // An empty window (no recent lookups) reports zero
+        return observed > 0 ? Math.max(minDelayNanos, (long) observed) : initialDelayNanos;
+    }
+}
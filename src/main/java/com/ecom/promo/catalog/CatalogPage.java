@@ -0,0 +1,14 @@
+package com.ecom.promo.catalog;
+
+import java.util.List;
+
+/**
+ * One page of a tenant's catalog listing
+ */
+public record CatalogPage(
+    List<CatalogProduct> products,
+    int page,
+    Integer totalPages, // Nullable when the catalog does not report a total
+    boolean last
+) {
+}
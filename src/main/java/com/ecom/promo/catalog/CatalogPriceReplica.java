@@ -0,0 +1,455 @@
+package com.ecom.promo.catalog;
+
+import com.ecom.promo.config.CatalogReplicaProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Push-fed, in-memory replica of catalog prices, per tenant
+ *
+ * <p>At startup the replica records the current tail of the price-change stream, bulk
+ * loads the per-tenant snapshot hashes, then follows the stream from the recorded id, so
+ * no change published during the snapshot load is missed. Every node reads the whole
+ * stream (no consumer group) because each keeps its own full copy.
+ *
+ * <p>Contract with catalog-service:
+ * <ul>
+ *   <li>Stream entries carry {@code tenant_id}, {@code product_id}, {@code op}
+ *       ({@code UPSERT} or {@code DELETE}) and, for upserts, {@code price} plus optional
+ *       {@code category_id} and {@code brand}</li>
+ *   <li>Snapshot hashes map {@code productId -> "price;categoryId;brand"} (empty
+ *       segments for unknown values)</li>
+ * </ul>
+ *
+ * <p>Products live in one {@link OffHeapPriceTable} per tenant, outside the Java heap.
+ * With {@code off-heap.directory} set the tables are memory-mapped files: a clean
+ * shutdown flushes them and records the last applied stream id, and the next start
+ * remaps them and resumes the stream from there instead of reloading the snapshot. If
+ * that id has been trimmed from the stream, or the previous run did not stop cleanly,
+ * the tables are rebuilt as usual.
+ *
+ * <p>A miss means "not seen yet", and callers fall back to the synchronous catalog call.
+ * Prices that do not fit {@code off-heap.price-scale} minor units are not replicated.
+ */
+@Component
+@Slf4j
+public class CatalogPriceReplica implements SmartLifecycle {
+
+    private static final String TABLE_SUFFIX = ".prices";
+    private static final String BRANDS_FILE = "brands.bin";
+    private static final String META_FILE = "replica.properties";
+
+    private final CatalogReplicaProperties properties;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final Map<UUID, OffHeapPriceTable> tables = new ConcurrentHashMap<>();
+    private final BrandDictionary brands = new BrandDictionary();
+    private final Object writeLock = new Object();
+    private final List<BiConsumer<UUID, UUID>> changeListeners = new CopyOnWriteArrayList<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter applied;
+    private final Counter unrepresentable;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+    private volatile String lastApplied;
+    private volatile boolean running;
+
+    public CatalogPriceReplica(CatalogReplicaProperties properties,
+                               RedisTemplate<String, String> redisTemplate,
+                               RedisConnectionFactory connectionFactory,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.hits = meterRegistry.counter("promo.catalog.replica.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("promo.catalog.replica.lookups", "result", "miss");
+        this.applied = meterRegistry.counter("promo.catalog.replica.changes.applied");
+        this.unrepresentable = meterRegistry.counter("promo.catalog.replica.changes.unrepresentable");
+        Gauge.builder("promo.catalog.replica.products", tables,
+                map -> map.values().stream().mapToLong(OffHeapPriceTable::size).sum())
+            .register(meterRegistry);
+        Gauge.builder("promo.catalog.replica.off-heap.bytes", tables,
+                map -> map.values().stream().mapToLong(OffHeapPriceTable::byteSize).sum())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Replicated product, or {@code null} if the replica has not seen it
+     */
+    public CatalogProduct find(UUID tenantId, UUID productId) {
+        if (!running || tenantId == null) {
+            return null;
+        }
+        OffHeapPriceTable table = tables.get(tenantId);
+        CatalogProduct product = table != null ? table.product(productId, brands) : null;
+        if (product != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return product;
+    }
+
+    /**
+     * Whether the replica holds the product; unlike {@link #find} not counted as a lookup
+     */
+    public boolean contains(UUID tenantId, UUID productId) {
+        OffHeapPriceTable table = running && tenantId != null ? tables.get(tenantId) : null;
+        return table != null && table.product(productId, brands) != null;
+    }
+
+    /**
+     * Promotion bitset cached for the product under index {@code generation}, or
+     * {@link OffHeapPriceTable#NO_MASK} if there is none (or the product is not replicated)
+     */
+    public long promotionMask(UUID tenantId, UUID productId, int generation) {
+        OffHeapPriceTable table = running && tenantId != null ? tables.get(tenantId) : null;
+        if (table == null) {
+            return OffHeapPriceTable.NO_MASK;
+        }
+        return table.promotionMask(productId.getMostSignificantBits(), productId.getLeastSignificantBits(), generation);
+    }
+
+    /**
+     * Cache the promotion bitset computed for {@code product} next to its replicated price
+     */
+    public void cachePromotionMask(UUID tenantId, CatalogProduct product, int generation, long mask) {
+        OffHeapPriceTable table = running && tenantId != null ? tables.get(tenantId) : null;
+        int brandId = brands.lookup(product.brand());
+        if (table == null || (product.brand() != null && brandId == BrandDictionary.NONE)) {
+            return;
+        }
+        UUID categoryId = product.categoryId();
+        table.cachePromotionMask(
+            product.productId().getMostSignificantBits(), product.productId().getLeastSignificantBits(),
+            categoryId != null ? categoryId.getMostSignificantBits() : 0L,
+            categoryId != null ? categoryId.getLeastSignificantBits() : 0L,
+            brandId, generation, mask);
+    }
+
+    /**
+     * Run {@code listener} with the tenant and product of every applied stream change;
+     * it is called on the stream reader thread and must not block
+     */
+    public void addChangeListener(BiConsumer<UUID, UUID> listener) {
+        changeListeners.add(listener);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("Catalog price replica disabled; prices are fetched from catalog-service on demand");
+            return;
+        }
+        String resumeFrom = restore();
+        if (resumeFrom == null) {
+            resetDirectory();
+            resumeFrom = latestStreamId();
+            loadSnapshot();
+        }
+        lastApplied = resumeFrom;
+        subscribe(resumeFrom);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (container != null) {
+            container.stop();
+        }
+        persist();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void upsert(UUID tenantId, CatalogProduct product) {
+        long priceMinor;
+        try {
+            priceMinor = product.price().setScale(offHeap().getPriceScale()).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            // Finer than the table's scale; leave it to the synchronous catalog call
+            remove(tenantId, product.productId());
+            unrepresentable.increment();
+            return;
+        }
+        UUID categoryId = product.categoryId();
+        long productMsb = product.productId().getMostSignificantBits();
+        long productLsb = product.productId().getLeastSignificantBits();
+        synchronized (writeLock) {
+            int brandId = brands.assign(product.brand());
+            long categoryMsb = categoryId != null ? categoryId.getMostSignificantBits() : 0L;
+            long categoryLsb = categoryId != null ? categoryId.getLeastSignificantBits() : 0L;
+            try {
+                OffHeapPriceTable table = tables.get(tenantId);
+                if (table == null) {
+                    table = OffHeapPriceTable.allocate(tableFile(tenantId), offHeap().getInitialCapacity(),
+                        offHeap().getPriceScale());
+                    tables.put(tenantId, table);
+                }
+                while (!table.put(productMsb, productLsb, priceMinor, categoryMsb, categoryLsb, brandId)) {
+                    table = table.grow();
+                    tables.put(tenantId, table);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write price table for tenant " + tenantId, e);
+            }
+        }
+    }
+
+    void remove(UUID tenantId, UUID productId) {
+        synchronized (writeLock) {
+            OffHeapPriceTable table = tables.get(tenantId);
+            if (table != null) {
+                table.remove(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+            }
+        }
+    }
+
+    /**
+     * Remap the tables of a clean shutdown; the stream id to resume from, or {@code null} to rebuild
+     */
+    private String restore() {
+        Path directory = offHeap().getDirectory();
+        if (directory == null || !Files.exists(directory.resolve(META_FILE))) {
+            return null;
+        }
+        try {
+            Properties meta = new Properties();
+            try (Reader reader = Files.newBufferedReader(directory.resolve(META_FILE))) {
+                meta.load(reader);
+            }
+            String streamId = meta.getProperty("stream-id");
+            if (streamId == null || !streamRetains(streamId)) {
+                log.info("Price stream no longer holds {}; rebuilding catalog price tables", streamId);
+                return null;
+            }
+            brands.load(directory.resolve(BRANDS_FILE));
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + TABLE_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    UUID tenantId = UUID.fromString(name.substring(0, name.length() - TABLE_SUFFIX.length()));
+                    tables.put(tenantId, OffHeapPriceTable.open(file, offHeap().getPriceScale()));
+                }
+            }
+            // Tables are now written in place; a crash from here on must rebuild them
+            Files.delete(directory.resolve(META_FILE));
+            log.info("Catalog price tables remapped: tenants={}, products={}, resumeFrom={}",
+                tables.size(), tables.values().stream().mapToLong(OffHeapPriceTable::size).sum(), streamId);
+            return streamId;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not remap catalog price tables, rebuilding: {}", e.getMessage());
+            tables.clear();
+            brands.clear();
+            return null;
+        }
+    }
+
+    /**
+     * Flush file-backed tables and record where a restart may resume the stream
+     */
+    private void persist() {
+        Path directory = offHeap().getDirectory();
+        if (directory == null || lastApplied == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            try {
+                for (OffHeapPriceTable table : tables.values()) {
+                    table.force();
+                }
+                brands.save(directory.resolve(BRANDS_FILE));
+                Properties meta = new Properties();
+                meta.setProperty("stream-id", lastApplied);
+                Path staging = directory.resolve(META_FILE + ".tmp");
+                try (Writer writer = Files.newBufferedWriter(staging)) {
+                    meta.store(writer, "Catalog price replica");
+                }
+                Files.move(staging, directory.resolve(META_FILE),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                log.info("Catalog price tables persisted: tenants={}, streamId={}", tables.size(), lastApplied);
+            } catch (IOException e) {
+                log.warn("Could not persist catalog price tables; the next start rebuilds them: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void resetDirectory() {
+        Path directory = offHeap().getDirectory();
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    if (Files.isRegularFile(file)) {
+                        Files.delete(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare catalog price table directory " + directory, e);
+        }
+    }
+
+    private boolean streamRetains(String streamId) {
+        List<MapRecord<String, Object, Object>> first = redisTemplate.opsForStream()
+            .range(properties.getStreamKey(), Range.unbounded(), Limit.limit().count(1));
+        // Every entry after streamId is still there only if the stream starts at or before it
+        return first != null && !first.isEmpty()
+            && compareStreamIds(first.get(0).getId().getValue(), streamId) <= 0;
+    }
+
+    private Path tableFile(UUID tenantId) {
+        Path directory = offHeap().getDirectory();
+        return directory != null ? directory.resolve(tenantId + TABLE_SUFFIX) : null;
+    }
+
+    private CatalogReplicaProperties.OffHeap offHeap() {
+        return properties.getOffHeap();
+    }
+
+    private String latestStreamId() {
+        try {
+            List<MapRecord<String, Object, Object>> last = redisTemplate.opsForStream()
+                .reverseRange(properties.getStreamKey(), Range.unbounded(), Limit.limit().count(1));
+            return last == null || last.isEmpty() ? "0-0" : last.get(0).getId().getValue();
+        } catch (Exception e) {
+            log.warn("Could not read price stream tail, replaying from the beginning: {}", e.getMessage());
+            return "0-0";
+        }
+    }
+
+    private void loadSnapshot() {
+        long started = System.nanoTime();
+        int loaded = 0;
+        try {
+            Set<String> tenants = redisTemplate.opsForSet().members(properties.getSnapshotTenantsKey());
+            if (tenants == null) {
+                return;
+            }
+            ScanOptions scanOptions = ScanOptions.scanOptions().count(properties.getBatchSize()).build();
+            for (String tenant : tenants) {
+                UUID tenantId = UUID.fromString(tenant);
+                try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash()
+                        .scan(properties.getSnapshotKeyPrefix() + tenant, scanOptions)) {
+                    while (cursor.hasNext()) {
+                        Map.Entry<Object, Object> entry = cursor.next();
+                        upsert(tenantId, parseSnapshotEntry(UUID.fromString(entry.getKey().toString()), entry.getValue().toString()));
+                        loaded++;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Catalog price snapshot load failed after {} products; continuing with stream only", loaded, e);
+        }
+        log.info("Catalog price snapshot loaded: products={}, tenants={}, took={}ms",
+            loaded, tables.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void subscribe(String resumeFrom) {
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+            StreamMessageListenerContainerOptions.builder()
+                .pollTimeout(properties.getPollTimeout())
+                .batchSize(properties.getBatchSize())
+                .errorHandler(e -> log.warn("Catalog price stream read failed: {}", e.getMessage()))
+                .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+        container.register(
+            StreamReadRequest.builder(StreamOffset.create(properties.getStreamKey(), ReadOffset.from(resumeFrom)))
+                .cancelOnError(e -> false)
+                .build(),
+            this::onChange);
+        container.start();
+    }
+
+    private void onChange(MapRecord<String, String, String> record) {
+        Map<String, String> fields = record.getValue();
+        try {
+            UUID tenantId = UUID.fromString(fields.get("tenant_id"));
+            UUID productId = UUID.fromString(fields.get("product_id"));
+            if ("DELETE".equals(fields.get("op"))) {
+                remove(tenantId, productId);
+            } else {
+                upsert(tenantId, new CatalogProduct(
+                    productId,
+                    new BigDecimal(fields.get("price")),
+                    blankToNull(fields.get("category_id")) != null ? UUID.fromString(fields.get("category_id")) : null,
+                    blankToNull(fields.get("brand"))
+                ));
+            }
+            applied.increment();
+            lastApplied = record.getId().getValue();
+            changeListeners.forEach(listener -> listener.accept(tenantId, productId));
+        } catch (RuntimeException e) {
+            log.warn("Skipping malformed catalog price event {}: {}", record.getId(), e.getMessage());
+        }
+    }
+
+    private static CatalogProduct parseSnapshotEntry(UUID productId, String value) {
+        String[] parts = value.split(";", -1);
+        String categoryId = parts.length > 1 ? blankToNull(parts[1]) : null;
+        return new CatalogProduct(
+            productId,
+            new BigDecimal(parts[0]),
+            categoryId != null ? UUID.fromString(categoryId) : null,
+            parts.length > 2 ? blankToNull(parts[2]) : null
+        );
+    }
+
+    private static int compareStreamIds(String a, String b) {
+        String[] left = a.split("-", 2);
+        String[] right = b.split("-", 2);
+        int byTime = Long.compare(Long.parseLong(left[0]), Long.parseLong(right[0]));
+        return byTime != 0 ? byTime
+            : Long.compare(Long.parseLong(left.length > 1 ? left[1] : "0"), Long.parseLong(right.length > 1 ? right[1] : "0"));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
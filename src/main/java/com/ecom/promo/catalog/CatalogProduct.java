@@ -0,0 +1,15 @@
+package com.ecom.promo.catalog;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The slice of a catalog product that pricing needs
+ */
+public record CatalogProduct(
+    UUID productId,
+    BigDecimal price,
+    UUID categoryId, // Nullable
+    String brand     // Nullable
+) {
+}
@@ -0,0 +1,218 @@
+package com.ecom.promo.catalog;
+
+import com.ecom.error.exception.BusinessException;
+import com.ecom.error.model.ErrorCode;
+import com.ecom.httpclient.client.ResilientWebClient;
+import com.ecom.promo.deadline.RequestDeadline;
+import com.ecom.promo.warmup.WarmupCatalog;
+import com.ecom.response.dto.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client for catalog-service product lookups and listings
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogServiceClient {
+
+    /**
+     * Client name for live lookups; each name gets its own rate limiter and circuit breaker
+     */
+    private static final String CLIENT = "catalog-service";
+
+    /**
+     * Client name for catalog paging, so a simulation cannot spend the live lookups' permits
+     */
+    private static final String BULK_CLIENT = "catalog-service-bulk";
+
+    private final ResilientWebClient resilientWebClient;
+    private final CatalogHedging hedging;
+    private final WarmupCatalog warmupCatalog;
+
+    @Value("${services.catalog.url:http://localhost:8084}")
+    private String catalogServiceUrl;
+
+    /**
+     * Fetch one product's price and attributes, bounded by the inbound request's deadline
+     *
+     * <p>A lookup slower than usual is hedged with a second request (see
+     * {@link CatalogHedging}); whichever answers first wins and the other is cancelled.
+     *
+     * @throws ResponseStatusException with 504 if the deadline passes before the catalog answers
+     */
+    public CatalogProduct fetchProduct(UUID productId, UUID tenantId) {
+        CatalogProduct synthetic = warmupCatalog.find(tenantId, productId);
+        if (synthetic != null) {
+            return synthetic;
+        }
+        
+        Instant deadline = RequestDeadline.current();
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining != null && (remaining.isNegative() || remaining.isZero())) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                "Request deadline passed before fetching product: " + productId);
+        }
+        
+        try {
+            WebClient webClient = resilientWebClient.create(CLIENT, catalogServiceUrl);
+            Mono<CatalogProduct> lookup = requestProduct(webClient, productId, tenantId, deadline, true);
+            
+            if (hedging.isEnabled()) {
+                hedging.lookupStarted();
+                Duration hedgeDelay = hedging.delay();
+                // No point hedging a request the caller will have abandoned by then
+                if (remaining == null || hedgeDelay.compareTo(remaining) < 0) {
+                    lookup = hedged(lookup, requestProduct(webClient, productId, tenantId, deadline, false), hedgeDelay);
+                }
+            }
+            if (remaining != null) {
+                // Cancels the client's own retries too once the caller's budget is spent
+                lookup = lookup.timeout(remaining);
+            }
+            
+            CatalogProduct product = lookup.block();
+            if (product == null) {
+                throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+            }
+            return product;
+            
+        } catch (WebClientResponseException.NotFound e) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            if (Exceptions.unwrap(e) instanceof TimeoutException) {
+                log.warn("Catalog lookup exceeded request deadline: productId={}", productId);
+                throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                    "Request deadline passed while fetching product: " + productId);
+            }
+            log.error("Error fetching product price", e);
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Failed to fetch product: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param primary whether a cancellation (by a winning hedge or the deadline) still records
+     *                the time spent: the primary was at least that slow, and leaving it out
+     *                would pull the hedge delay percentile down. A cancelled hedge only lost.
+     */
+    private Mono<CatalogProduct> requestProduct(WebClient webClient, UUID productId, UUID tenantId,
+                                                Instant deadline, boolean primary) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient
+                .get()
+                .uri("/api/v1/product/{id}", productId)
+                .header("X-Tenant-Id", tenantId.toString())
+                .headers(headers -> {
+                    if (deadline != null) {
+                        headers.set(RequestDeadline.HEADER, Long.toString(deadline.toEpochMilli()));
+                    }
+                })
+                .retrieve()
+                .bodyToMono(ApiResponse.class)
+                .map(response -> {
+                    if (response.data() == null) {
+                        throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+                    }
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> productMap = (Map<String, Object>) response.data();
+                    return toCatalogProduct(productId, productMap);
+                })
+                .doOnNext(product -> hedging.recordLatency(System.nanoTime() - start))
+                .doOnCancel(() -> {
+                    if (primary) {
+                        hedging.recordLatency(System.nanoTime() - start);
+                    }
+                });
+        });
+    }
+
+    private Mono<CatalogProduct> hedged(Mono<CatalogProduct> primary, Mono<CatalogProduct> hedge, Duration delay) {
+        // The primary's first signal, value or error, settles the lookup; a hedge only
+        // settles it with a value, so a failed hedge leaves the primary to finish
+        Mono<CatalogProduct> delayedHedge = Mono.delay(delay)
+            .flatMap(tick -> hedging.tryHedge()
+                ? hedge.doOnNext(product -> hedging.hedgeWon()).onErrorResume(e -> Mono.never())
+                : Mono.never());
+        return Mono.firstWithSignal(primary, delayedHedge);
+    }
+
+    /**
+     * Fetch one page of a tenant's catalog ({@code GET /api/v1/product?page=&size=})
+     *
+     * <p>Products without a price are not sellable and are left out of the page. Pages go
+     * through their own client, apart from the rate limit of live product lookups.
+     */
+    public Mono<CatalogPage> fetchProductPage(UUID tenantId, int page, int size) {
+        WebClient webClient = resilientWebClient.create(BULK_CLIENT, catalogServiceUrl);
+        return webClient
+            .get()
+            .uri(uriBuilder -> uriBuilder
+                .path("/api/v1/product")
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .build())
+            .header("X-Tenant-Id", tenantId.toString())
+            .retrieve()
+            .bodyToMono(ApiResponse.class)
+            .map(response -> toCatalogPage(response, page, size))
+            .onErrorMap(e -> !(e instanceof BusinessException), e -> new BusinessException(
+                ErrorCode.PRODUCT_NOT_FOUND, "Failed to fetch catalog page " + page + ": " + e.getMessage()));
+    }
+
+    @SuppressWarnings("unchecked")
+    static CatalogPage toCatalogPage(ApiResponse<?> response, int page, int size) {
+        if (response == null || !(response.data() instanceof Map<?, ?> data)) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Catalog page " + page + " is empty");
+        }
+        List<Map<String, Object>> content = (List<Map<String, Object>>) data.get("content");
+        List<CatalogProduct> products = new ArrayList<>(content != null ? content.size() : 0);
+        if (content != null) {
+            for (Map<String, Object> productMap : content) {
+                Object id = productMap.containsKey("id") ? productMap.get("id") : productMap.get("productId");
+                if (id != null && productMap.get("price") != null) {
+                    products.add(toCatalogProduct(UUID.fromString(id.toString()), productMap));
+                }
+            }
+        }
+        // Plain Page JSON carries totalPages at the top level, PagedModel nests it under "page"
+        Map<?, ?> pageInfo = data.get("page") instanceof Map<?, ?> nested ? nested : data;
+        Object total = pageInfo.containsKey("totalPages") ? pageInfo.get("totalPages") : pageInfo.get("total_pages");
+        Integer totalPages = total instanceof Number number ? number.intValue() : null;
+        boolean last = totalPages != null
+            ? page + 1 >= totalPages
+            : content == null || content.size() < size;
+        return new CatalogPage(products, page, totalPages, last);
+    }
+
+    static CatalogProduct toCatalogProduct(UUID productId, Map<String, Object> productMap) {
+        Object categoryId = productMap.containsKey("categoryId") ? productMap.get("categoryId") : productMap.get("category_id");
+        Object brand = productMap.get("brand");
+        return new CatalogProduct(
+            productId,
+            new BigDecimal(productMap.get("price").toString()),
+            categoryId != null ? UUID.fromString(categoryId.toString()) : null,
+            brand != null ? brand.toString() : null
+        );
+    }
+}
@@ -0,0 +1,393 @@
+package com.ecom.promo.catalog;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * One tenant's catalog prices in an open-addressing hash table outside the Java heap
+ *
+ * <p>The table is a single {@link MemorySegment}: a 64-byte header followed by 64-byte
+ * rows, linearly probed on the product id's two longs. A row holds the price in minor
+ * units, the category id, a {@link BrandDictionary} id and a cached promotion
+ * eligibility bitset. Tens of millions of products therefore cost the GC nothing, and
+ * a lookup probes the segment without allocating.
+ *
+ * <p>There is a single writer (the replica's stream listener); readers take no locks.
+ * A slot, once given to a product, keeps that key for the table's lifetime: removals
+ * leave a tombstone that only the same product can revive, so a reader that matched a
+ * key never sees it change. Row payloads are guarded by a per-row sequence number
+ * (odd while being written) that readers retry on. The table never grows in place;
+ * {@link #grow()} copies into a new table that the replica swaps in.
+ *
+ * <p>If backed by a file, the segment is a shared memory mapping, so after a clean
+ * shutdown ({@link #force()}) a restarted node can {@link #open} it instead of
+ * reloading the snapshot.
+ */
+final class OffHeapPriceTable {
+
+    static final long NO_MASK = -1L;
+
+    private static final long MAGIC = 0x50524F4D4F505243L; // "PROMOPRC"
+    private static final int FORMAT_VERSION = 1;
+    private static final long HEADER_BYTES = 64;
+    private static final long ROW_BYTES = 64;
+    private static final double MAX_LOAD = 0.75;
+
+    private static final long H_MAGIC = 0;
+    private static final long H_VERSION = 8;
+    private static final long H_SCALE = 12;
+    private static final long H_CAPACITY = 16;
+    private static final long H_SIZE = 24;
+    private static final long H_USED = 32;
+
+    private static final long KEY_MSB = 0;
+    private static final long KEY_LSB = 8;
+    private static final long PRICE = 16;
+    private static final long CATEGORY_MSB = 24;
+    private static final long CATEGORY_LSB = 32;
+    private static final long BRAND = 40;
+    private static final long SEQ = 44;
+    private static final long MASK = 48;
+    private static final long MASK_STAMP = 56;
+
+    private static final long DELETED = Long.MIN_VALUE;
+    private static final long LOCKED = -1L;
+
+    private static final VarHandle INT = ValueLayout.JAVA_INT.varHandle();
+    private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+
+    private final MemorySegment segment;
+    private final Path file;
+    private final long capacity;
+    private final int priceScale;
+    private volatile long size;
+    private long used;
+
+    private OffHeapPriceTable(MemorySegment segment, Path file, long capacity, int priceScale, long size, long used) {
+        this.segment = segment;
+        this.file = file;
+        this.capacity = capacity;
+        this.priceScale = priceScale;
+        this.size = size;
+        this.used = used;
+    }
+
+    /**
+     * New empty table, mapped from {@code file} or anonymous if it is {@code null}
+     */
+    static OffHeapPriceTable allocate(Path file, long capacity, int priceScale) throws IOException {
+        capacity = Math.max(16, Long.highestOneBit(capacity - 1) << 1);
+        long bytes = HEADER_BYTES + capacity * ROW_BYTES;
+        MemorySegment segment;
+        if (file == null) {
+            segment = Arena.ofAuto().allocate(bytes, ROW_BYTES);
+        } else {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Mapping past the end extends the file with zeros, i.e. empty rows
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, Arena.ofAuto());
+            }
+        }
+        segment.set(ValueLayout.JAVA_LONG, H_MAGIC, MAGIC);
+        segment.set(ValueLayout.JAVA_INT, H_VERSION, FORMAT_VERSION);
+        segment.set(ValueLayout.JAVA_INT, H_SCALE, priceScale);
+        segment.set(ValueLayout.JAVA_LONG, H_CAPACITY, capacity);
+        return new OffHeapPriceTable(segment, file, capacity, priceScale, 0, 0);
+    }
+
+    /**
+     * Remap a table written by a previous run that shut down cleanly
+     */
+    static OffHeapPriceTable open(Path file, int priceScale) throws IOException {
+        MemorySegment segment;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long bytes = channel.size();
+            if (bytes < HEADER_BYTES) {
+                throw new IOException("Truncated price table: " + file);
+            }
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, Arena.ofAuto());
+        }
+        long capacity = segment.get(ValueLayout.JAVA_LONG, H_CAPACITY);
+        if (segment.get(ValueLayout.JAVA_LONG, H_MAGIC) != MAGIC
+                || segment.get(ValueLayout.JAVA_INT, H_VERSION) != FORMAT_VERSION
+                || Long.bitCount(capacity) != 1
+                || segment.byteSize() != HEADER_BYTES + capacity * ROW_BYTES) {
+            throw new IOException("Not a price table or unsupported format: " + file);
+        }
+        if (segment.get(ValueLayout.JAVA_INT, H_SCALE) != priceScale) {
+            throw new IOException("Price table written with another price scale: " + file);
+        }
+        OffHeapPriceTable table = new OffHeapPriceTable(segment, file, capacity, priceScale,
+            segment.get(ValueLayout.JAVA_LONG, H_SIZE), segment.get(ValueLayout.JAVA_LONG, H_USED));
+        table.resetPromotionMasks();
+        return table;
+    }
+
+    /**
+     * Product with its current price, or {@code null} if the table does not hold it
+     */
+    CatalogProduct product(UUID productId, BrandDictionary brands) {
+        long row = find(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+        if (row < 0) {
+            return null;
+        }
+        while (true) {
+            int before = (int) INT.getAcquire(segment, row + SEQ);
+            if ((before & 1) == 0) {
+                long price = segment.get(ValueLayout.JAVA_LONG, row + PRICE);
+                long categoryMsb = segment.get(ValueLayout.JAVA_LONG, row + CATEGORY_MSB);
+                long categoryLsb = segment.get(ValueLayout.JAVA_LONG, row + CATEGORY_LSB);
+                int brandId = segment.get(ValueLayout.JAVA_INT, row + BRAND);
+                VarHandle.loadLoadFence();
+                if ((int) INT.getAcquire(segment, row + SEQ) == before) {
+                    if (price == DELETED) {
+                        return null;
+                    }
+                    return new CatalogProduct(
+                        productId,
+                        BigDecimal.valueOf(price, priceScale),
+                        categoryMsb == 0 && categoryLsb == 0 ? null : new UUID(categoryMsb, categoryLsb),
+                        brands.brand(brandId)
+                    );
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Cached promotion bitset for the product under index {@code generation}, else {@link #NO_MASK}
+     */
+    long promotionMask(long msb, long lsb, int generation) {
+        long row = find(msb, lsb);
+        if (row < 0) {
+            return NO_MASK;
+        }
+        int seq = (int) INT.getAcquire(segment, row + SEQ);
+        long stamp = (long) LONG.getAcquire(segment, row + MASK_STAMP);
+        long mask = (long) LONG.getAcquire(segment, row + MASK);
+        // Valid only if written for this index and for the row's current attributes
+        if (stamp != stamp(generation, seq)
+                || (long) LONG.getAcquire(segment, row + MASK_STAMP) != stamp
+                || (int) INT.getAcquire(segment, row + SEQ) != seq) {
+            return NO_MASK;
+        }
+        return mask;
+    }
+
+    /**
+     * Cache the promotion bitset computed from these product attributes, if the row still has them
+     *
+     * <p>Called from request threads, so writers race: the stamp doubles as a lock, and a
+     * lost race just leaves the bitset uncached.
+     */
+    void cachePromotionMask(long msb, long lsb, long categoryMsb, long categoryLsb, int brandId,
+                            int generation, long mask) {
+        long row = find(msb, lsb);
+        if (row < 0) {
+            return;
+        }
+        int seq = (int) INT.getAcquire(segment, row + SEQ);
+        if ((seq & 1) != 0
+                || segment.get(ValueLayout.JAVA_LONG, row + PRICE) == DELETED
+                || segment.get(ValueLayout.JAVA_LONG, row + CATEGORY_MSB) != categoryMsb
+                || segment.get(ValueLayout.JAVA_LONG, row + CATEGORY_LSB) != categoryLsb
+                || segment.get(ValueLayout.JAVA_INT, row + BRAND) != brandId) {
+            return;
+        }
+        long current = (long) LONG.getAcquire(segment, row + MASK_STAMP);
+        if (current == LOCKED || !LONG.compareAndSet(segment, row + MASK_STAMP, current, LOCKED)) {
+            return;
+        }
+        segment.set(ValueLayout.JAVA_LONG, row + MASK, mask);
+        // Attributes read above must still be current, or the bitset describes another product state
+        boolean unchanged = (int) INT.getAcquire(segment, row + SEQ) == seq;
+        LONG.setRelease(segment, row + MASK_STAMP, unchanged ? stamp(generation, seq) : 0L);
+    }
+
+    /**
+     * Insert or update a product; {@code false} if the table is too full and must {@link #grow()} first
+     */
+    boolean put(long msb, long lsb, long priceMinor, long categoryMsb, long categoryLsb, int brandId) {
+        long row = probe(msb, lsb);
+        int seq = segment.get(ValueLayout.JAVA_INT, row + SEQ);
+        if (seq == 0) {
+            if (used + 1 > capacity * MAX_LOAD) {
+                return false;
+            }
+            // Readers see the slot as empty until its sequence is published
+            segment.set(ValueLayout.JAVA_LONG, row + KEY_MSB, msb);
+            segment.set(ValueLayout.JAVA_LONG, row + KEY_LSB, lsb);
+            writePayload(row, priceMinor, categoryMsb, categoryLsb, brandId);
+            INT.setRelease(segment, row + SEQ, 2);
+            used++;
+            size++;
+        } else {
+            boolean revived = segment.get(ValueLayout.JAVA_LONG, row + PRICE) == DELETED;
+            INT.setVolatile(segment, row + SEQ, seq + 1);
+            writePayload(row, priceMinor, categoryMsb, categoryLsb, brandId);
+            INT.setRelease(segment, row + SEQ, nextSeq(seq));
+            if (revived) {
+                size++;
+            }
+        }
+        writeCounts();
+        return true;
+    }
+
+    /**
+     * Tombstone a product; {@code false} if the table did not hold it
+     */
+    boolean remove(long msb, long lsb) {
+        long row = find(msb, lsb);
+        if (row < 0 || segment.get(ValueLayout.JAVA_LONG, row + PRICE) == DELETED) {
+            return false;
+        }
+        int seq = segment.get(ValueLayout.JAVA_INT, row + SEQ);
+        INT.setVolatile(segment, row + SEQ, seq + 1);
+        segment.set(ValueLayout.JAVA_LONG, row + PRICE, DELETED);
+        INT.setRelease(segment, row + SEQ, nextSeq(seq));
+        size--;
+        writeCounts();
+        return true;
+    }
+
+    /**
+     * Copy of this table with twice the capacity and no tombstones
+     *
+     * <p>A file-backed table is rebuilt next to its file and renamed over it; this
+     * table's mapping stays valid for readers still holding it.
+     */
+    OffHeapPriceTable grow() throws IOException {
+        Path staging = file != null ? file.resolveSibling(file.getFileName() + ".grow") : null;
+        OffHeapPriceTable grown = allocate(staging, capacity * 2, priceScale);
+        for (long i = 0; i < capacity; i++) {
+            long row = rowOffset(i);
+            if (segment.get(ValueLayout.JAVA_INT, row + SEQ) != 0
+                    && segment.get(ValueLayout.JAVA_LONG, row + PRICE) != DELETED) {
+                grown.put(
+                    segment.get(ValueLayout.JAVA_LONG, row + KEY_MSB),
+                    segment.get(ValueLayout.JAVA_LONG, row + KEY_LSB),
+                    segment.get(ValueLayout.JAVA_LONG, row + PRICE),
+                    segment.get(ValueLayout.JAVA_LONG, row + CATEGORY_MSB),
+                    segment.get(ValueLayout.JAVA_LONG, row + CATEGORY_LSB),
+                    segment.get(ValueLayout.JAVA_INT, row + BRAND));
+            }
+        }
+        if (file == null) {
+            return grown;
+        }
+        Files.move(staging, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new OffHeapPriceTable(grown.segment, file, grown.capacity, priceScale, grown.size, grown.used);
+    }
+
+    /**
+     * Flush a file-backed table to disk
+     */
+    void force() {
+        if (segment.isMapped()) {
+            segment.force();
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long byteSize() {
+        return segment.byteSize();
+    }
+
+    int priceScale() {
+        return priceScale;
+    }
+
+    private long find(long msb, long lsb) {
+        long mask = capacity - 1;
+        long i = hash(msb, lsb) & mask;
+        for (long probes = 0; probes < capacity; probes++) {
+            long row = rowOffset(i);
+            if ((int) INT.getAcquire(segment, row + SEQ) == 0) {
+                return -1;
+            }
+            if (segment.get(ValueLayout.JAVA_LONG, row + KEY_MSB) == msb
+                    && segment.get(ValueLayout.JAVA_LONG, row + KEY_LSB) == lsb) {
+                return row;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private long probe(long msb, long lsb) {
+        // The load factor guarantees an empty slot, so this terminates
+        long mask = capacity - 1;
+        long i = hash(msb, lsb) & mask;
+        while (true) {
+            long row = rowOffset(i);
+            if (segment.get(ValueLayout.JAVA_INT, row + SEQ) == 0
+                    || (segment.get(ValueLayout.JAVA_LONG, row + KEY_MSB) == msb
+                        && segment.get(ValueLayout.JAVA_LONG, row + KEY_LSB) == lsb)) {
+                return row;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void writePayload(long row, long priceMinor, long categoryMsb, long categoryLsb, int brandId) {
+        segment.set(ValueLayout.JAVA_LONG, row + PRICE, priceMinor);
+        segment.set(ValueLayout.JAVA_LONG, row + CATEGORY_MSB, categoryMsb);
+        segment.set(ValueLayout.JAVA_LONG, row + CATEGORY_LSB, categoryLsb);
+        segment.set(ValueLayout.JAVA_INT, row + BRAND, brandId);
+    }
+
+    private void writeCounts() {
+        segment.set(ValueLayout.JAVA_LONG, H_SIZE, size);
+        segment.set(ValueLayout.JAVA_LONG, H_USED, used);
+    }
+
+    private void resetPromotionMasks() throws IOException {
+        // Bitsets are stamped with index generations of the previous process
+        for (long i = 0; i < capacity; i++) {
+            long row = rowOffset(i);
+            int seq = segment.get(ValueLayout.JAVA_INT, row + SEQ);
+            if ((seq & 1) != 0) {
+                throw new IOException("Price table has a half-written row: " + file);
+            }
+            if (seq != 0) {
+                segment.set(ValueLayout.JAVA_LONG, row + MASK_STAMP, 0L);
+            }
+        }
+    }
+
+    private static long rowOffset(long slot) {
+        return HEADER_BYTES + slot * ROW_BYTES;
+    }
+
+    private static int nextSeq(int seq) {
+        int next = seq + 2;
+        // Zero marks an empty slot
+        return next == 0 ? 2 : next;
+    }
+
+    private static long stamp(int generation, int seq) {
+        return ((long) generation << 32) | (seq & 0xFFFFFFFFL);
+    }
+
+    private static long hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 32;
+        h *= 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecom.promo.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Growable byte buffer with the compact primitives shared by promo's binary formats
+ *
+ * <p>Encoding rules:
+ * <ul>
+ *   <li>Integers are zig-zag varints, so small quantities and counts take one byte</li>
+ *   <li>UUIDs are 16 raw bytes (most significant long first)</li>
+ *   <li>Money is a varint header {@code zigzag(scale) << 1 | big} followed by the
+ *       unscaled value as a zig-zag varlong, or as length-prefixed two's-complement
+ *       bytes when it does not fit in 63 bits</li>
+ *   <li>Strings are UTF-8 prefixed with {@code length + 1}; a zero prefix is null</li>
+ * </ul>
+ */
+public final class BinaryWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryWriter() {
+        this(64);
+    }
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public BinaryWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryWriter writeVarLong(long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        ensureCapacity(10);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        buffer[position++] = (byte) zigZag;
+        return this;
+    }
+
+    public BinaryWriter writeVarInt(int value) {
+        return writeVarLong(value);
+    }
+
+    public BinaryWriter writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    public BinaryWriter writeUuid(UUID value) {
+        if (value == null) {
+            throw new IllegalArgumentException("UUID fields are mandatory in the binary encoding");
+        }
+        return writeLong(value.getMostSignificantBits()).writeLong(value.getLeastSignificantBits());
+    }
+
+    public BinaryWriter writeMoney(BigDecimal value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Money fields are mandatory in the binary encoding");
+        }
+        BigInteger unscaled = value.unscaledValue();
+        boolean big = unscaled.bitLength() > 63;
+        int scale = value.scale();
+        writeVarLong((((long) scale << 1) ^ ((long) scale >> 31)) << 1 | (big ? 1 : 0));
+        if (big) {
+            writeBytes(unscaled.toByteArray());
+        } else {
+            writeVarLong(unscaled.longValue());
+        }
+        return this;
+    }
+
+    public BinaryWriter writeString(String value) {
+        if (value == null) {
+            return writeVarInt(0);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    public BinaryWriter writeBytes(byte[] bytes) {
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.ecom.promo.codec;
+
+import com.ecom.promo.cache.CouponDefinition;
+import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary encoding of the pricing objects promo keeps in Redis: promotions, coupon
+ * definitions and price results
+ *
+ * <p>Every entry starts with a format version byte and a type byte, then the fields in
+ * declaration order using the {@link BinaryWriter} primitives, plus:
+ * <ul>
+ *   <li>Amounts in cents (scale 2) are 8 fixed bytes of minor units; other amounts are a
+ *       marker followed by {@link BinaryWriter#writeMoney}, so every value reads back
+ *       exactly, scale included</li>
+ *   <li>Discount types, promotion types and currencies are one-byte codes from the
+ *       tables below, with unknown values written out as strings</li>
+ *   <li>Timestamps are UTC epoch seconds plus nanos, behind a presence byte</li>
+ *   <li>Booleans share a flags byte</li>
+ * </ul>
+ *
+ * <p>The code tables are append-only; reordering them, or changing a layout, needs a new
+ * {@link #FORMAT_VERSION}. Entries in an unknown version are rejected, so a reader
+ * treats them as cache misses and reloads.
+ */
+public final class CacheBinaryCodec {
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int PROMOTION = 1;
+    static final int COUPON = 2;
+    static final int PRICE = 3;
+
+    private static final String[] DISCOUNT_TYPES = {"PERCENTAGE", "FIXED"};
+    private static final String[] PROMOTION_TYPES = {"PERCENTAGE", "FIXED_AMOUNT", "BUY_X_GET_Y"};
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "INR"};
+
+    // Codes 0 and 1 are reserved in every table
+    private static final int NULL_CODE = 0;
+    private static final int LITERAL_CODE = 1;
+
+    private static final long NULL_AMOUNT = Long.MIN_VALUE;
+    private static final long EXACT_AMOUNT = Long.MIN_VALUE + 1;
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private static final int FLAG_ACTIVE = 1;
+    private static final int FLAG_ONCE_PER_CUSTOMER = 1 << 1;
+
+    private CacheBinaryCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return type == Promotion.class
+            || type == CouponDefinition.class
+            || type == PriceCalculationResponse.class;
+    }
+
+    public static byte[] encode(Object value) {
+        BinaryWriter writer = new BinaryWriter(96);
+        writer.writeByte(FORMAT_VERSION);
+        switch (value) {
+            case Promotion promotion -> {
+                writer.writeByte(PROMOTION);
+                writePromotion(writer, promotion);
+            }
+            case CouponDefinition coupon -> {
+                writer.writeByte(COUPON);
+                writeCoupon(writer, coupon);
+            }
+            case PriceCalculationResponse price -> {
+                writer.writeByte(PRICE);
+                writePrice(writer, price);
+            }
+            default -> throw new IllegalArgumentException("Unsupported cache entry type: " + value.getClass().getName());
+        }
+        return writer.toByteArray();
+    }
+
+    public static Object decode(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported cache format version: " + version);
+        }
+        int type = reader.readByte();
+        return switch (type) {
+            case PROMOTION -> readPromotion(reader);
+            case COUPON -> readCoupon(reader);
+            case PRICE -> readPrice(reader);
+            default -> throw new IllegalArgumentException("Unknown cache entry type: " + type);
+        };
+    }
+
+    private static void writePromotion(BinaryWriter writer, Promotion promotion) {
+        writer.writeUuid(promotion.getId());
+        writer.writeUuid(promotion.getTenantId());
+        writer.writeString(promotion.getName());
+        writeCode(writer, PROMOTION_TYPES, promotion.getType());
+        writeCode(writer, DISCOUNT_TYPES, promotion.getDiscountType());
+        writeAmount(writer, promotion.getDiscountValue());
+        writeTimestamp(writer, promotion.getStartDate());
+        writeTimestamp(writer, promotion.getEndDate());
+        writer.writeString(promotion.getEligibilityCriteria());
+        writer.writeVarInt(promotion.getPriority() != null ? promotion.getPriority() : 0);
+        writer.writeByte(Boolean.TRUE.equals(promotion.getActive()) ? FLAG_ACTIVE : 0);
+        writeTimestamp(writer, promotion.getCreatedAt());
+        writeTimestamp(writer, promotion.getUpdatedAt());
+    }
+
+    private static Promotion readPromotion(BinaryReader reader) {
+        return Promotion.builder()
+            .id(reader.readUuid())
+            .tenantId(reader.readUuid())
+            .name(reader.readString())
+            .type(readCode(reader, PROMOTION_TYPES))
+            .discountType(readCode(reader, DISCOUNT_TYPES))
+            .discountValue(readAmount(reader))
+            .startDate(readTimestamp(reader))
+            .endDate(readTimestamp(reader))
+            .eligibilityCriteria(reader.readString())
+            .priority(reader.readVarInt())
+            .active((reader.readByte() & FLAG_ACTIVE) != 0)
+            .createdAt(readTimestamp(reader))
+            .updatedAt(readTimestamp(reader))
+            .build();
+    }
+
+    private static void writeCoupon(BinaryWriter writer, CouponDefinition coupon) {
+        writer.writeUuid(coupon.id());
+        writer.writeUuid(coupon.tenantId());
+        writer.writeString(coupon.code());
+        writeCode(writer, DISCOUNT_TYPES, coupon.discountType());
+        writeAmount(writer, coupon.discountValue());
+        // Unlimited is -1; real limits are never negative
+        writer.writeVarInt(coupon.usageLimit() != null ? coupon.usageLimit() : -1);
+        writeTimestamp(writer, coupon.expiryDate());
+        writeAmount(writer, coupon.minOrderValue());
+        writer.writeByte((coupon.active() ? FLAG_ACTIVE : 0) | (coupon.oncePerCustomer() ? FLAG_ONCE_PER_CUSTOMER : 0));
+        writeTimestamp(writer, coupon.createdAt());
+        writeTimestamp(writer, coupon.updatedAt());
+    }
+
+    private static CouponDefinition readCoupon(BinaryReader reader) {
+        UUID id = reader.readUuid();
+        UUID tenantId = reader.readUuid();
+        String code = reader.readString();
+        String discountType = readCode(reader, DISCOUNT_TYPES);
+        BigDecimal discountValue = readAmount(reader);
+        int usageLimit = reader.readVarInt();
+        LocalDateTime expiryDate = readTimestamp(reader);
+        BigDecimal minOrderValue = readAmount(reader);
+        int flags = reader.readByte();
+        return new CouponDefinition(
+            id,
+            tenantId,
+            code,
+            discountType,
+            discountValue,
+            usageLimit >= 0 ? usageLimit : null,
+            expiryDate,
+            minOrderValue,
+            (flags & FLAG_ONCE_PER_CUSTOMER) != 0,
+            (flags & FLAG_ACTIVE) != 0,
+            readTimestamp(reader),
+            readTimestamp(reader)
+        );
+    }
+
+    private static void writePrice(BinaryWriter writer, PriceCalculationResponse price) {
+        writeAmount(writer, price.basePrice());
+        writeAmount(writer, price.discountAmount());
+        writeAmount(writer, price.finalPrice());
+        List<String> applied = price.appliedPromotions() != null ? price.appliedPromotions() : List.of();
+        writer.writeVarInt(applied.size());
+        applied.forEach(writer::writeString);
+        writeCode(writer, CURRENCIES, price.currency());
+        writer.writeString(price.quoteToken());
+    }
+
+    private static PriceCalculationResponse readPrice(BinaryReader reader) {
+        BigDecimal basePrice = readAmount(reader);
+        BigDecimal discountAmount = readAmount(reader);
+        BigDecimal finalPrice = readAmount(reader);
+        int appliedCount = reader.readVarInt();
+        if (appliedCount < 0 || appliedCount > 10_000) {
+            throw new IllegalArgumentException("Invalid element count: " + appliedCount);
+        }
+        List<String> applied = new ArrayList<>(appliedCount);
+        for (int i = 0; i < appliedCount; i++) {
+            applied.add(reader.readString());
+        }
+        String currency = readCode(reader, CURRENCIES);
+        return new PriceCalculationResponse(basePrice, discountAmount, finalPrice, applied, currency, reader.readString());
+    }
+
+    private static void writeAmount(BinaryWriter writer, BigDecimal amount) {
+        if (amount == null) {
+            writer.writeLong(NULL_AMOUNT);
+            return;
+        }
+        if (amount.scale() == MINOR_UNIT_SCALE && amount.unscaledValue().bitLength() < 63) {
+            long minorUnits = amount.unscaledValue().longValue();
+            if (minorUnits != NULL_AMOUNT && minorUnits != EXACT_AMOUNT) {
+                writer.writeLong(minorUnits);
+                return;
+            }
+        }
+        writer.writeLong(EXACT_AMOUNT);
+        writer.writeMoney(amount);
+    }
+
+    private static BigDecimal readAmount(BinaryReader reader) {
+        long minorUnits = reader.readLong();
+        if (minorUnits == NULL_AMOUNT) {
+            return null;
+        }
+        if (minorUnits == EXACT_AMOUNT) {
+            return reader.readMoney();
+        }
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+
+    private static void writeCode(BinaryWriter writer, String[] table, String value) {
+        if (value == null) {
+            writer.writeByte(NULL_CODE);
+            return;
+        }
+        for (int i = 0; i < table.length; i++) {
+            if (table[i].equals(value)) {
+                writer.writeByte(i + 2);
+                return;
+            }
+        }
+        writer.writeByte(LITERAL_CODE);
+        writer.writeString(value);
+    }
+
+    private static String readCode(BinaryReader reader, String[] table) {
+        int code = reader.readByte();
+        if (code == NULL_CODE) {
+            return null;
+        }
+        if (code == LITERAL_CODE) {
+            return reader.readString();
+        }
+        if (code - 2 >= table.length) {
+            throw new IllegalArgumentException("Unknown code: " + code);
+        }
+        return table[code - 2];
+    }
+
+    private static void writeTimestamp(BinaryWriter writer, LocalDateTime timestamp) {
+        if (timestamp == null) {
+            writer.writeByte(0);
+            return;
+        }
+        int nanos = timestamp.getNano();
+        writer.writeByte(nanos == 0 ? 1 : 2);
+        writer.writeVarLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        if (nanos != 0) {
+            writer.writeVarInt(nanos);
+        }
+    }
+
+    private static LocalDateTime readTimestamp(BinaryReader reader) {
+        int presence = reader.readByte();
+        if (presence == 0) {
+            return null;
+        }
+        long seconds = reader.readVarLong();
+        int nanos = presence == 2 ? reader.readVarInt() : 0;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
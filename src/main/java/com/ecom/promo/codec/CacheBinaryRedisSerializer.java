@@ -0,0 +1,38 @@
+package com.ecom.promo.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.DateTimeException;
+
+/**
+ * Redis value serializer backed by {@link CacheBinaryCodec}
+ *
+ * <p>Values the codec cannot read, such as entries written by a newer format version,
+ * surface as {@link SerializationException}; callers should treat them as a miss.
+ */
+public class CacheBinaryRedisSerializer implements RedisSerializer<Object> {
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!CacheBinaryCodec.supports(value.getClass())) {
+            throw new SerializationException("Not a cacheable pricing type: " + value.getClass().getName());
+        }
+        return CacheBinaryCodec.encode(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return CacheBinaryCodec.decode(bytes);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new SerializationException("Unreadable cache entry: " + e.getMessage(), e);
+        }
+    }
+}
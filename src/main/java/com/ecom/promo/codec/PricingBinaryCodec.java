@@ -0,0 +1,157 @@
+package com.ecom.promo.codec;
+
+import com.ecom.promo.model.request.BatchPriceCalculationRequest;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.BatchPriceCalculationResponse;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of the pricing DTOs for service-to-service calls
+ *
+ * <p>Every message starts with a format version byte and a message type byte, followed
+ * by the fields in record order using the {@link BinaryWriter} primitives. Responses are
+ * not wrapped in {@code ApiResponse}; the HTTP status carries success or failure.
+ *
+ * <p>Version 2 appends the quote token to each price response. Both versions are read;
+ * responses are written in the version the caller asked for (see
+ * {@link PricingBinaryMessageConverter}), so version 1 clients keep working.
+ */
+public final class PricingBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-promo-pricing";
+
+    public static final int FORMAT_VERSION = 2;
+
+    public static final int FIRST_FORMAT_VERSION = 1;
+
+    static final int PRICE_REQUEST = 1;
+    static final int BATCH_PRICE_REQUEST = 2;
+    static final int PRICE_RESPONSE = 3;
+    static final int BATCH_PRICE_RESPONSE = 4;
+
+    private PricingBinaryCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return type == PriceCalculationRequest.class
+            || type == BatchPriceCalculationRequest.class
+            || type == PriceCalculationResponse.class
+            || type == BatchPriceCalculationResponse.class;
+    }
+
+    public static byte[] encode(Object message) {
+        return encode(message, FORMAT_VERSION);
+    }
+
+    /**
+     * Encode in the given format version; fields newer than it are left out
+     */
+    public static byte[] encode(Object message, int version) {
+        if (version < FIRST_FORMAT_VERSION || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported pricing format version: " + version);
+        }
+        BinaryWriter writer = new BinaryWriter(128);
+        writer.writeByte(version);
+        switch (message) {
+            case PriceCalculationRequest request -> {
+                writer.writeByte(PRICE_REQUEST);
+                writeRequest(writer, request);
+            }
+            case BatchPriceCalculationRequest batch -> {
+                writer.writeByte(BATCH_PRICE_REQUEST);
+                writer.writeVarInt(batch.items().size());
+                batch.items().forEach(item -> writeRequest(writer, item));
+            }
+            case PriceCalculationResponse response -> {
+                writer.writeByte(PRICE_RESPONSE);
+                writeResponse(writer, response, version);
+            }
+            case BatchPriceCalculationResponse batch -> {
+                writer.writeByte(BATCH_PRICE_RESPONSE);
+                writer.writeVarInt(batch.items().size());
+                batch.items().forEach(item -> writeResponse(writer, item, version));
+            }
+            default -> throw new IllegalArgumentException("Unsupported message type: " + message.getClass().getName());
+        }
+        return writer.toByteArray();
+    }
+
+    public static Object decode(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        int version = reader.readByte();
+        if (version < FIRST_FORMAT_VERSION || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported pricing format version: " + version);
+        }
+        int type = reader.readByte();
+        return switch (type) {
+            case PRICE_REQUEST -> readRequest(reader);
+            case BATCH_PRICE_REQUEST -> {
+                int count = readCount(reader);
+                List<PriceCalculationRequest> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    items.add(readRequest(reader));
+                }
+                yield new BatchPriceCalculationRequest(items);
+            }
+            case PRICE_RESPONSE -> readResponse(reader, version);
+            case BATCH_PRICE_RESPONSE -> {
+                int count = readCount(reader);
+                List<PriceCalculationResponse> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    items.add(readResponse(reader, version));
+                }
+                yield new BatchPriceCalculationResponse(items);
+            }
+            default -> throw new IllegalArgumentException("Unknown pricing message type: " + type);
+        };
+    }
+
+    private static void writeRequest(BinaryWriter writer, PriceCalculationRequest request) {
+        writer.writeUuid(request.productId());
+        writer.writeVarInt(request.quantity() != null ? request.quantity() : 0);
+        writer.writeString(request.couponCode());
+    }
+
+    private static PriceCalculationRequest readRequest(BinaryReader reader) {
+        return new PriceCalculationRequest(reader.readUuid(), reader.readVarInt(), reader.readString());
+    }
+
+    private static void writeResponse(BinaryWriter writer, PriceCalculationResponse response, int version) {
+        writer.writeMoney(response.basePrice());
+        writer.writeMoney(response.discountAmount());
+        writer.writeMoney(response.finalPrice());
+        List<String> applied = response.appliedPromotions() != null ? response.appliedPromotions() : List.of();
+        writer.writeVarInt(applied.size());
+        applied.forEach(writer::writeString);
+        writer.writeString(response.currency());
+        if (version >= 2) {
+            writer.writeString(response.quoteToken());
+        }
+    }
+
+    private static PriceCalculationResponse readResponse(BinaryReader reader, int version) {
+        BigDecimal basePrice = reader.readMoney();
+        BigDecimal discountAmount = reader.readMoney();
+        BigDecimal finalPrice = reader.readMoney();
+        int appliedCount = readCount(reader);
+        List<String> applied = new ArrayList<>(appliedCount);
+        for (int i = 0; i < appliedCount; i++) {
+            applied.add(reader.readString());
+        }
+        String currency = reader.readString();
+        String quoteToken = version >= 2 ? reader.readString() : null;
+        return new PriceCalculationResponse(basePrice, discountAmount, finalPrice, applied, currency, quoteToken);
+    }
+
+    private static int readCount(BinaryReader reader) {
+        int count = reader.readVarInt();
+        if (count < 0 || count > 10_000) {
+            throw new IllegalArgumentException("Invalid element count: " + count);
+        }
+        return count;
+    }
+}
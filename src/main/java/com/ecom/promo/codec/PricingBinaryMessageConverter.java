@@ -0,0 +1,81 @@
+package com.ecom.promo.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads and writes the pricing DTOs as {@value PricingBinaryCodec#MEDIA_TYPE}
+ *
+ * <p>Only engaged when the caller sends or accepts the binary media type, so JSON
+ * callers keep going through Jackson.
+ *
+ * <p>Responses are written in format version 1 unless the caller accepts a newer one
+ * through a {@code version} parameter, e.g. {@code Accept: application/x-promo-pricing;version=2},
+ * so clients built against version 1 are not broken by fields they cannot read.
+ */
+public class PricingBinaryMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(PricingBinaryCodec.MEDIA_TYPE);
+
+    private static final String VERSION_PARAMETER = "version";
+
+    public PricingBinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return PricingBinaryCodec.supports(clazz);
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage) throws IOException {
+        byte[] payload = inputMessage.getBody().readAllBytes();
+        try {
+            Object message = PricingBinaryCodec.decode(payload);
+            if (!clazz.isInstance(message)) {
+                throw new HttpMessageNotReadableException(
+                    "Expected " + clazz.getSimpleName() + " but payload contains " + message.getClass().getSimpleName(),
+                    inputMessage);
+            }
+            return message;
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Malformed pricing payload: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object message, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        int version = negotiatedVersion(outputMessage.getHeaders().getContentType());
+        byte[] payload = PricingBinaryCodec.encode(message, version);
+        outputMessage.getHeaders().setContentType(version == PricingBinaryCodec.FIRST_FORMAT_VERSION
+            ? MEDIA_TYPE
+            : new MediaType(MEDIA_TYPE, Map.of(VERSION_PARAMETER, Integer.toString(version))));
+        outputMessage.getHeaders().setContentLength(payload.length);
+        outputMessage.getBody().write(payload);
+    }
+
+    /**
+     * Highest version the caller asked for, capped at the current one; version 1 if it did not ask
+     */
+    static int negotiatedVersion(MediaType contentType) {
+        String requested = contentType != null ? contentType.getParameter(VERSION_PARAMETER) : null;
+        if (requested == null) {
+            return PricingBinaryCodec.FIRST_FORMAT_VERSION;
+        }
+        try {
+            int version = Integer.parseInt(requested.trim());
+            return Math.max(PricingBinaryCodec.FIRST_FORMAT_VERSION, Math.min(version, PricingBinaryCodec.FORMAT_VERSION));
+        } catch (NumberFormatException e) {
+            return PricingBinaryCodec.FIRST_FORMAT_VERSION;
+        }
+    }
+}
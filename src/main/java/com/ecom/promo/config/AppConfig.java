@@ -1,16 +1,33 @@
 package com.ecom.promo.config;
 
+import com.ecom.promo.codec.CacheBinaryRedisSerializer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
  * Application Configuration
  */
 @Configuration
+@EnableConfigurationProperties({
+    PriceAuditProperties.class,
+    CatalogReplicaProperties.class,
+    PromoCacheProperties.class,
+    SimulationProperties.class,
+    ArchivalProperties.class,
+    CouponUsageProperties.class,
+    ProfilingProperties.class,
+    CatalogClientProperties.class,
+    QuoteProperties.class,
+    StreamProperties.class,
+    WarmupProperties.class,
+    ShadowProperties.class
+})
 public class AppConfig {
 
     @Bean
@@ -25,5 +42,28 @@ public class AppConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * Template for cached promotions, coupons and prices, stored in the compact
+     * {@link com.ecom.promo.codec.CacheBinaryCodec} format instead of JSON strings
+     */
+    @Bean
+    public RedisTemplate<String, Object> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new CacheBinaryRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new CacheBinaryRedisSerializer());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
 
@@ -0,0 +1,44 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Expired promotion and coupon archival configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.archival")
+public class ArchivalProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * How long rows stay in the hot tables after they expire (an expired coupon still
+     * answers "expired" rather than "invalid" during this window)
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Delay between the end of one archival run and the start of the next
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * Rows moved per batch; each batch is its own short transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause after every batch, limiting the job's share of write I/O
+     */
+    private Duration batchPause = Duration.ofMillis(100);
+
+    /**
+     * Batches per table per run; unfinished tenants resume from their watermark next run
+     */
+    private int maxBatchesPerRun = 1000;
+}
@@ -0,0 +1,70 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Latency controls for synchronous catalog-service product lookups
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.catalog-client")
+public class CatalogClientProperties {
+
+    private Hedging hedging = new Hedging();
+
+    private Deadline deadline = new Deadline();
+
+    /**
+     * Second request sent when the first is slower than usual
+     */
+    @Getter
+    @Setter
+    public static class Hedging {
+
+        private boolean enabled = true;
+
+        /**
+         * Observed lookup latency percentile after which the hedge is sent
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Hedge delay until {@link #minSamples} lookups have been timed
+         */
+        private Duration initialDelay = Duration.ofMillis(100);
+
+        /**
+         * Floor on the hedge delay, so a fast catalog is not hit twice on every jitter
+         */
+        private Duration minDelay = Duration.ofMillis(10);
+
+        private long minSamples = 100;
+
+        /**
+         * Hedges allowed per lookup; caps extra catalog load at this fraction
+         */
+        private double maxRatio = 0.1;
+
+        /**
+         * Hedges that may be sent back to back after a quiet period
+         */
+        private int burst = 10;
+    }
+
+    /**
+     * Inbound request deadline, propagated to catalog calls
+     */
+    @Getter
+    @Setter
+    public static class Deadline {
+
+        /**
+         * Budget for requests that arrive without {@code X-Request-Deadline}; unset for none
+         */
+        private Duration defaultBudget;
+    }
+}
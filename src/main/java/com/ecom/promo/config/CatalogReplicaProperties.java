@@ -0,0 +1,63 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Local catalog price replica configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.catalog-replica")
+public class CatalogReplicaProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Redis Stream that catalog-service appends price changes to
+     */
+    private String streamKey = "catalog:price-changes";
+
+    /**
+     * Set of tenant ids that have a price snapshot hash
+     */
+    private String snapshotTenantsKey = "catalog:price-snapshot:tenants";
+
+    /**
+     * Prefix of the per-tenant snapshot hash ({@code <prefix><tenantId>})
+     */
+    private String snapshotKeyPrefix = "catalog:price-snapshot:";
+
+    private Duration pollTimeout = Duration.ofSeconds(2);
+
+    private int batchSize = 500;
+
+    private OffHeap offHeap = new OffHeap();
+
+    /**
+     * Off-heap storage of the replicated prices
+     */
+    @Getter
+    @Setter
+    public static class OffHeap {
+
+        /**
+         * Where tables are memory-mapped so a restart can reuse them; anonymous memory when unset
+         */
+        private Path directory;
+
+        /**
+         * Rows per tenant table before its first resize
+         */
+        private long initialCapacity = 1024;
+
+        /**
+         * Decimal places kept; prices are stored as a long count of these minor units
+         */
+        private int priceScale = 2;
+    }
+}
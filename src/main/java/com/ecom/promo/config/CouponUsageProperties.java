@@ -0,0 +1,41 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-customer coupon usage bitmap configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.coupon-usage")
+public class CouponUsageProperties {
+
+    /**
+     * Heap budget for in-memory usage bitmaps; least recently used coupons are dropped
+     * and reloaded from their snapshot on next use
+     */
+    private long maxBitmapBytes = 256L * 1024 * 1024;
+
+    /**
+     * How often changed bitmaps are written back to {@code coupon_usage_snapshots}
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    /**
+     * How often loaded bitmaps are caught up from {@code coupon_redemptions} and their heap
+     * use re-measured; bounds how long a lost redemption broadcast goes unnoticed
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Redemptions younger than this are replayed again on the next snapshot, covering
+     * transactions that commit out of sequence order
+     */
+    private Duration settleWindow = Duration.ofMinutes(1);
+
+    private long maxCachedCustomers = 1_000_000;
+}
@@ -0,0 +1,33 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Price decision audit configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.audit")
+public class PriceAuditProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Ring buffer slots, rounded up to a power of two. Decisions are dropped (and counted) when full.
+     */
+    private int capacity = 65536;
+
+    /**
+     * Rows per multi-row INSERT
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the writer sleeps when the buffer is empty
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+}
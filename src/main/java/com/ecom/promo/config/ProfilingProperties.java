@@ -0,0 +1,48 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * On-demand Flight Recorder profiling configuration ({@code /actuator/jfr})
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.profiling")
+public class ProfilingProperties {
+
+    /**
+     * Built-in JFR settings the recording starts from ("default" or "profile")
+     */
+    private String settings = "profile";
+
+    /**
+     * Recording length when the caller does not give one
+     */
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    /**
+     * Longest recording a caller may ask for; it stops on its own after this
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * Cap on the recording file; older chunks are discarded beyond it
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    /**
+     * Price calculations faster than this are not recorded unless the caller lowers it
+     */
+    private Duration slowQuoteThreshold = Duration.ofMillis(20);
+
+    /**
+     * Where finished recordings are written; the system temp directory when unset
+     */
+    private Path directory;
+}
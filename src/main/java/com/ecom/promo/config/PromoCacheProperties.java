@@ -0,0 +1,83 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Node-local cache configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.cache")
+public class PromoCacheProperties {
+
+    private ActivePromotions activePromotions = new ActivePromotions();
+
+    private Coupons coupons = new Coupons();
+
+    private Carts carts = new Carts();
+
+    /**
+     * Pre-serialized {@code /product/{productId}/active} responses
+     */
+    @Getter
+    @Setter
+    public static class ActivePromotions {
+
+        private boolean enabled = true;
+
+        private long maxEntries = 100_000;
+
+        /**
+         * Upper bound on staleness should a promotion version broadcast be lost
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Near cache for hot coupon definitions
+     */
+    @Getter
+    @Setter
+    public static class Coupons {
+
+        private boolean enabled = true;
+
+        /**
+         * Lookups of one code within {@link #hotWindow} before it is pinned locally
+         */
+        private long hotThreshold = 50;
+
+        private Duration hotWindow = Duration.ofSeconds(10);
+
+        private long maxPinned = 10_000;
+
+        /**
+         * Upper bound on staleness should an invalidation broadcast be lost
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Priced carts kept for incremental repricing
+     */
+    @Getter
+    @Setter
+    public static class Carts {
+
+        private long maxEntries = 100_000;
+
+        /**
+         * Carts not edited for this long are dropped
+         */
+        private Duration idleTtl = Duration.ofMinutes(30);
+
+        /**
+         * Oldest priced line reused as is; bounds staleness of catalog prices and coupon outcomes
+         */
+        private Duration maxLineAge = Duration.ofMinutes(5);
+    }
+}
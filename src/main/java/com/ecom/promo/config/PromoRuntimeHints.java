@@ -0,0 +1,77 @@
+package com.ecom.promo.config;
+
+import com.ecom.promo.audit.PriceDecision;
+import com.ecom.promo.entity.Coupon;
+import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.model.request.ActivePromotionBadgesRequest;
+import com.ecom.promo.model.request.BatchPriceCalculationRequest;
+import com.ecom.promo.model.request.CartRepriceRequest;
+import com.ecom.promo.model.request.CouponRequest;
+import com.ecom.promo.model.request.CouponValidationRequest;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.request.PromotionRequest;
+import com.ecom.promo.model.request.QuoteVerificationRequest;
+import com.ecom.promo.model.response.ActivePromotionBadgesResponse;
+import com.ecom.promo.model.response.BatchPriceCalculationResponse;
+import com.ecom.promo.model.response.CartRepriceResponse;
+import com.ecom.promo.model.response.CouponResponse;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.ecom.promo.model.response.PriceChangeEvent;
+import com.ecom.promo.model.response.PriceTimelineResponse;
+import com.ecom.promo.model.response.PromotionResponse;
+import com.ecom.promo.model.response.PromotionSimulationResponse;
+import com.ecom.promo.model.response.QuoteVerificationResponse;
+import com.ecom.promo.shadow.ShadowMismatch;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection hints for AOT / native image builds
+ *
+ * <p>Lombok generates the entity accessors and builders at compile time, and the DTO
+ * records are bound by Jackson through their canonical constructors and
+ * {@code @JsonProperty} components; neither is fully discoverable by static analysis.
+ */
+public class PromoRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> REFLECTIVE_TYPES = List.of(
+        Promotion.class,
+        Coupon.class,
+        PromotionRequest.class,
+        QuoteVerificationRequest.class,
+        CouponRequest.class,
+        CouponValidationRequest.class,
+        PriceCalculationRequest.class,
+        BatchPriceCalculationRequest.class,
+        ActivePromotionBadgesRequest.class,
+        CartRepriceRequest.class,
+        PromotionResponse.class,
+        CouponResponse.class,
+        PriceCalculationResponse.class,
+        BatchPriceCalculationResponse.class,
+        ActivePromotionBadgesResponse.class,
+        ActivePromotionBadgesResponse.Badge.class,
+        CartRepriceResponse.class,
+        CartRepriceResponse.Line.class,
+        PriceTimelineResponse.class,
+        PriceTimelineResponse.Segment.class,
+        PriceChangeEvent.class,
+        PromotionSimulationResponse.class,
+        QuoteVerificationResponse.class,
+        PriceDecision.class,
+        ShadowMismatch.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : REFLECTIVE_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.values());
+        }
+        hints.resources().registerPattern("db/migration/*.sql");
+        hints.reflection().registerTypeIfPresent(classLoader, "db.migration.V5__BackfillPartitionedCoupons",
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
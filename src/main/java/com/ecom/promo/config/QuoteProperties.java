@@ -0,0 +1,36 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Signed price quote configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.quotes")
+public class QuoteProperties {
+
+    /**
+     * Requires {@link #secret}; startup fails without it
+     */
+    private boolean enabled = false;
+
+    /**
+     * HMAC-SHA256 key shared by every node
+     */
+    private String secret;
+
+    /**
+     * Key being rotated out; quotes signed with it still verify until they expire
+     */
+    private String previousSecret;
+
+    /**
+     * How long a quote can be honoured at checkout
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,42 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing configuration
+ *
+ * <p>When enabled, connections for {@code @Transactional(readOnly = true)} work are
+ * served by the replica pool; everything else stays on the primary configured in
+ * {@code spring.datasource}. Credentials default to the primary's when left blank.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the streaming replicas
+     */
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Replicas lagging further behind the primary than this are taken out of rotation
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    private int maxPoolSize = 10;
+}
@@ -36,13 +36,24 @@ public class SecurityConfig {
                 // Public endpoints
                 .requestMatchers(
                     "/actuator/health",
+                    "/actuator/health/**",
                     "/actuator/info",
                     "/swagger-ui/**",
                     "/v3/api-docs/**",
                     "/api/v1/promotion/calculate",
+                    "/api/v1/promotion/calculate/batch",
+                    "/api/v1/promotion/cart/reprice",
+                    "/api/v1/promotion/quote/verify",
                     "/api/v1/promotion/product/{id}/active",
+                    "/api/v1/promotion/product/active/batch",
+                    "/api/v1/promotion/product/{id}/timeline",
+                    "/api/v1/promotion/stream",
                     "/api/v1/promotion/coupon/validate"
                 ).permitAll()
+                // On-demand Flight Recorder recordings
+                .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN")
+                // Shadow pricing mismatches carry tenant inputs
+                .requestMatchers("/actuator/shadowpricing").hasRole("ADMIN")
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             );
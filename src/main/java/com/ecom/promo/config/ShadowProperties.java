@@ -0,0 +1,41 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Shadow evaluation of a candidate pricing engine against live pricing
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.shadow")
+public class ShadowProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Bean name of the candidate {@code PricingEngine}
+     */
+    private String engine = "reference";
+
+    /**
+     * Fraction of priced lines also handed to the candidate, from 0 to 1
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Shadow threads; they run at minimum priority
+     */
+    private int threads = 1;
+
+    /**
+     * Sampled lines waiting for a shadow thread; further ones are dropped and counted
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Most recent mismatches kept for {@code /actuator/shadowpricing}
+     */
+    private int mismatchHistory = 100;
+}
@@ -0,0 +1,34 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * What-if promotion simulation configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.simulation")
+public class SimulationProperties {
+
+    /**
+     * Products requested per catalog page
+     */
+    private int pageSize = 1000;
+
+    /**
+     * Catalog pages fetched ahead of evaluation; bounds heap use to a few pages
+     */
+    private int pagesInFlight = 4;
+
+    /**
+     * Fork/join worker count; 0 uses every available core
+     */
+    private int parallelism = 0;
+
+    /**
+     * Products a fork/join task evaluates directly instead of splitting further
+     */
+    private int leafSize = 256;
+}
@@ -0,0 +1,53 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Server-sent price change stream configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.stream")
+public class StreamProperties {
+
+    /**
+     * Also requires {@code promo.catalog-replica.enabled}: catalog price changes only
+     * reach streams through the replica
+     */
+    private boolean enabled = true;
+
+    /**
+     * Open streams per node; further subscriptions are refused with 503
+     */
+    private int maxSubscribers = 50_000;
+
+    /**
+     * Products one stream can watch
+     */
+    private int maxProducts = 100;
+
+    /**
+     * Catalog-service lookups repricing may have in flight per node, for products the
+     * replica does not hold; they share the live pricing rate limit
+     */
+    private int catalogLookups = 2;
+
+    /**
+     * Comment sent to idle streams so proxies keep them open and dead peers are noticed
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * A stream whose current write has been blocked this long is closed
+     */
+    private Duration stallTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Streams are closed after this long; EventSource clients reconnect on their own
+     */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+}
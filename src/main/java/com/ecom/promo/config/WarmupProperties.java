@@ -0,0 +1,70 @@
+package com.ecom.promo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Pre-readiness JIT warm-up configuration
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "promo.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the warm-up; readiness is held back this long at most, so startup
+     * probes must allow for it
+     */
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    /**
+     * Calls per measurement window
+     */
+    private int window = 500;
+
+    /**
+     * Consecutive windows whose median latency stays within {@code tolerance} of the
+     * previous window before the warm-up counts as stable
+     */
+    private int stableWindows = 3;
+
+    private double tolerance = 0.1;
+
+    /**
+     * Concurrent callers; 0 = available processors
+     */
+    private int threads = 0;
+
+    /**
+     * Relative weights of the synthetic call mix
+     */
+    private int calculateWeight = 70;
+
+    private int validateWeight = 15;
+
+    private int activeWeight = 15;
+
+    /**
+     * Synthetic products and promotions served to the warm-up tenant
+     */
+    private int syntheticProducts = 256;
+
+    private int syntheticPromotions = 20;
+
+    /**
+     * Recorded calls to replay instead of the synthetic mix: a JSON-lines file with
+     * {@code type} ({@code calculate}, {@code validate} or {@code active}),
+     * {@code product_id}, {@code quantity} and {@code coupon_code}
+     */
+    private String recording;
+
+    /**
+     * Tenants with the most active promotions whose indexes are loaded before traffic arrives
+     */
+    private int topTenants = 20;
+}
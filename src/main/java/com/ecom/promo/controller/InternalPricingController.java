@@ -0,0 +1,84 @@
+package com.ecom.promo.controller;
+
+import com.ecom.promo.codec.PricingBinaryCodec;
+import com.ecom.promo.model.request.BatchPriceCalculationRequest;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.BatchPriceCalculationResponse;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.ecom.promo.security.JwtAuthenticationToken;
+import com.ecom.promo.service.PromotionService;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Internal Pricing Controller
+ *
+ * <p>Service-to-service variant of the pricing APIs for Cart and Checkout. Requests and
+ * responses use the compact {@value PricingBinaryCodec#MEDIA_TYPE} encoding (16-byte
+ * UUIDs, varint-scaled money) instead of JSON, and responses are not wrapped in
+ * {@code ApiResponse}, which removes Jackson from the hot path on both sides.
+ *
+ * <p>Callers should send {@code Accept: application/x-promo-pricing, application/json}
+ * so error responses can still be rendered as JSON. Responses use format version 1
+ * unless the caller accepts {@code application/x-promo-pricing;version=2}, which adds
+ * the quote token.
+ *
+ * <p>These endpoints require an authenticated service token and are not published in
+ * the public API docs.
+ */
+@RestController
+@RequestMapping("/internal/v1/pricing")
+@Hidden
+@RequiredArgsConstructor
+@Slf4j
+public class InternalPricingController {
+
+    private final PromotionService promotionService;
+
+    /**
+     * Calculate final price for a product (binary)
+     */
+    @PostMapping(value = "/calculate", consumes = PricingBinaryCodec.MEDIA_TYPE, produces = PricingBinaryCodec.MEDIA_TYPE)
+    public PriceCalculationResponse calculatePrice(
+            @Valid @RequestBody PriceCalculationRequest priceRequest,
+            Authentication authentication) {
+
+        log.debug("Calculating price (binary): productId={}, quantity={}",
+            priceRequest.productId(), priceRequest.quantity());
+
+        return promotionService.calculatePrice(getTenantIdFromAuthentication(authentication), priceRequest);
+    }
+
+    /**
+     * Calculate final prices for several lines (binary)
+     */
+    @PostMapping(value = "/calculate/batch", consumes = PricingBinaryCodec.MEDIA_TYPE, produces = PricingBinaryCodec.MEDIA_TYPE)
+    public BatchPriceCalculationResponse calculatePrices(
+            @Valid @RequestBody BatchPriceCalculationRequest batchRequest,
+            Authentication authentication) {
+
+        log.debug("Calculating batch price (binary): items={}", batchRequest.items().size());
+
+        return new BatchPriceCalculationResponse(
+            promotionService.calculatePrices(getTenantIdFromAuthentication(authentication), batchRequest.items()));
+    }
+
+    /**
+     * Extract tenant ID from JWT authentication token
+     */
+    private UUID getTenantIdFromAuthentication(Authentication authentication) {
+        if (authentication instanceof JwtAuthenticationToken jwtToken) {
+            return UUID.fromString(jwtToken.getTenantId());
+        }
+        return null;
+    }
+}
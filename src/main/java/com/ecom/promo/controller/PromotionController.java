@@ -1,14 +1,28 @@
 package com.ecom.promo.controller;
 
+import com.ecom.error.exception.BusinessException;
+import com.ecom.error.model.ErrorCode;
+import com.ecom.promo.cache.ActivePromotionsResponseCache;
+import com.ecom.promo.model.request.ActivePromotionBadgesRequest;
+import com.ecom.promo.model.request.BatchPriceCalculationRequest;
+import com.ecom.promo.model.request.CartRepriceRequest;
 import com.ecom.promo.model.request.CouponRequest;
 import com.ecom.promo.model.request.CouponValidationRequest;
 import com.ecom.promo.model.request.PriceCalculationRequest;
 import com.ecom.promo.model.request.PromotionRequest;
+import com.ecom.promo.model.request.QuoteVerificationRequest;
+import com.ecom.promo.model.response.ActivePromotionBadgesResponse;
+import com.ecom.promo.model.response.BatchPriceCalculationResponse;
+import com.ecom.promo.model.response.CartRepriceResponse;
 import com.ecom.promo.model.response.CouponResponse;
 import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.ecom.promo.model.response.PriceTimelineResponse;
 import com.ecom.promo.model.response.PromotionResponse;
+import com.ecom.promo.model.response.PromotionSimulationResponse;
+import com.ecom.promo.model.response.QuoteVerificationResponse;
 import com.ecom.promo.security.JwtAuthenticationToken;
 import com.ecom.promo.service.PromotionService;
+import com.ecom.promo.stream.PriceChangeHub;
 import com.ecom.response.dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -16,12 +30,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -59,6 +80,8 @@ import java.util.UUID;
 public class PromotionController {
     
     private final PromotionService promotionService;
+    private final ActivePromotionsResponseCache activePromotionsResponseCache;
+    private final PriceChangeHub priceChangeHub;
 
     /**
      * Calculate final price for a product
@@ -95,6 +118,88 @@ public class PromotionController {
         return ResponseEntity.ok(ApiResponse.success(response, "Price calculated successfully"));
     }
 
+    /**
+     * Calculate final prices for several cart lines
+     * 
+     * <p>Same calculation as {@code /calculate}, but active promotions are loaded once
+     * for the whole batch. Results are returned in request order.
+     * 
+     * <p>This endpoint is public (for price display).
+     */
+    @PostMapping("/calculate/batch")
+    @Operation(
+        summary = "Calculate final prices for multiple lines",
+        description = "Applies active promotions and coupons to each line and returns final prices in request order"
+    )
+    public ResponseEntity<ApiResponse<BatchPriceCalculationResponse>> calculatePrices(
+            @Valid @RequestBody BatchPriceCalculationRequest batchRequest,
+            Authentication authentication) {
+        
+        log.info("Calculating batch price: items={}", batchRequest.items().size());
+        
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        
+        List<PriceCalculationResponse> items = promotionService.calculatePrices(tenantId, batchRequest.items());
+        return ResponseEntity.ok(ApiResponse.success(new BatchPriceCalculationResponse(items), "Prices calculated successfully"));
+    }
+
+    /**
+     * Verify a price quote at checkout
+     * 
+     * <p>Every price calculation returns a {@code quote_token}: an HMAC-signed,
+     * time-limited record of the line, its result and the promotion set it was priced
+     * under. Checkout sends it back with the line it is about to charge; a valid quote
+     * can be honoured as is instead of running the pricing pipeline again. An invalid
+     * one is reported with a reason (not an error), and the line should be recalculated.
+     * 
+     * <p>This endpoint is public, like {@code /calculate}.
+     */
+    @PostMapping("/quote/verify")
+    @Operation(
+        summary = "Verify a signed price quote",
+        description = "Checks a quote token's signature, expiry, line, promotion set and unit price and returns the quoted result"
+    )
+    public ResponseEntity<ApiResponse<QuoteVerificationResponse>> verifyQuote(
+            @Valid @RequestBody QuoteVerificationRequest verificationRequest,
+            Authentication authentication) {
+        
+        log.info("Verifying quote: productId={}, quantity={}",
+            verificationRequest.productId(), verificationRequest.quantity());
+        
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        
+        QuoteVerificationResponse response = promotionService.verifyQuote(tenantId, verificationRequest);
+        return ResponseEntity.ok(ApiResponse.success(response, "Quote verified"));
+    }
+
+    /**
+     * Reprice a cart after an edit
+     * 
+     * <p>Takes the fingerprint returned by the previous call plus the lines added,
+     * changed or removed since. Lines the edit did not touch are reused, unless the
+     * tenant's promotions changed or they were priced too long ago, so editing a large
+     * cart costs time proportional to the edit. An unknown fingerprint is answered with
+     * an error, and the caller then sends the whole cart as {@code added} without one.
+     * 
+     * <p>This endpoint is public (for price display).
+     */
+    @PostMapping("/cart/reprice")
+    @Operation(
+        summary = "Incrementally reprice a cart",
+        description = "Applies a delta of added, changed and removed lines to a previously priced cart and returns every line with cart totals"
+    )
+    public ResponseEntity<ApiResponse<CartRepriceResponse>> repriceCart(
+            @Valid @RequestBody CartRepriceRequest repriceRequest,
+            Authentication authentication) {
+        
+        log.info("Repricing cart: fingerprint={}", repriceRequest.fingerprint());
+        
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        
+        CartRepriceResponse response = promotionService.repriceCart(tenantId, repriceRequest);
+        return ResponseEntity.ok(ApiResponse.success(response, "Cart repriced successfully"));
+    }
+
     /**
      * Create a new promotion
      * 
@@ -135,6 +240,39 @@ public class PromotionController {
             .body(ApiResponse.success(response, "Promotion created successfully"));
     }
 
+    /**
+     * Simulate a draft promotion across the tenant catalog
+     * 
+     * <p>Evaluates the draft together with the currently active promotions against
+     * every product in the tenant's catalog, without saving anything, and returns
+     * projected discount spend and how many products it would affect. Lets
+     * merchandisers size a promotion before it goes live.
+     * 
+     * <p>Access control: SELLER and ADMIN roles can simulate promotions.
+     * 
+     * <p>This endpoint is protected and requires authentication.
+     */
+    @PostMapping("/simulate")
+    @Operation(
+        summary = "Simulate a draft promotion",
+        description = "Projects discount spend and affected products for a draft promotion across the whole tenant catalog"
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PreAuthorize("hasRole('SELLER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PromotionSimulationResponse>> simulatePromotion(
+            @Valid @RequestBody PromotionRequest promotionRequest,
+            Authentication authentication) {
+        
+        log.info("Simulating promotion: name={}", promotionRequest.name());
+        
+        UUID userId = getUserIdFromAuthentication(authentication);
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        List<String> roles = getRolesFromAuthentication(authentication);
+        
+        PromotionSimulationResponse response = promotionService.simulatePromotion(userId, tenantId, roles, promotionRequest);
+        return ResponseEntity.ok(ApiResponse.success(response, "Promotion simulated successfully"));
+    }
+
     /**
      * Validate and apply coupon code
      * 
@@ -146,6 +284,7 @@ public class PromotionController {
      *   <li>Coupon exists and is active</li>
      *   <li>Not expired</li>
      *   <li>Usage limit not exceeded</li>
+     *   <li>Not already used by the calling customer (once-per-customer coupons)</li>
      *   <li>Applies to current cart/order items</li>
      *   <li>Minimum order value met (if required)</li>
      * </ul>
@@ -163,12 +302,41 @@ public class PromotionController {
         
         log.info("Validating coupon: code={}", couponRequest.couponCode());
         
+        UUID userId = getUserIdFromAuthentication(authentication);
         UUID tenantId = getTenantIdFromAuthentication(authentication);
         
-        CouponResponse response = promotionService.validateCoupon(tenantId, couponRequest);
+        CouponResponse response = promotionService.validateCoupon(userId, tenantId, couponRequest);
         return ResponseEntity.ok(ApiResponse.success(response, "Coupon validated successfully"));
     }
 
+    /**
+     * Redeem a coupon code
+     * 
+     * <p>Runs the same checks as {@code /coupon/validate}, then counts the use against
+     * the coupon's global usage limit and, for once-per-customer coupons, records the
+     * calling customer. Called by Checkout when an order is placed.
+     * 
+     * <p>This endpoint is protected and requires authentication.
+     */
+    @PostMapping("/coupon/redeem")
+    @Operation(
+        summary = "Redeem coupon code",
+        description = "Validates a coupon code and records its use by the authenticated customer"
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<ApiResponse<CouponResponse>> redeemCoupon(
+            @Valid @RequestBody CouponValidationRequest couponRequest,
+            Authentication authentication) {
+        
+        log.info("Redeeming coupon: code={}", couponRequest.couponCode());
+        
+        UUID userId = getUserIdFromAuthentication(authentication);
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        
+        CouponResponse response = promotionService.redeemCoupon(userId, tenantId, couponRequest);
+        return ResponseEntity.ok(ApiResponse.success(response, "Coupon redeemed successfully"));
+    }
+
     /**
      * Create a coupon code
      * 
@@ -207,25 +375,158 @@ public class PromotionController {
      * <p>Returns all active promotions currently applicable to a product. Used by
      * frontend to display promotional badges and discount information.
      * 
+     * <p>Responses are served pre-serialized with a strong ETag; a matching
+     * {@code If-None-Match} is answered with 304 and no body, so browsers and CDNs
+     * can revalidate on every page view almost for free.
+     * 
      * <p>This endpoint is public (for product display).
      */
-    @GetMapping("/product/{productId}/active")
+    @GetMapping(value = "/product/{productId}/active", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
         summary = "Get active promotions for a product",
-        description = "Returns all currently active promotions applicable to the specified product"
+        description = "Returns all currently active promotions applicable to the specified product. Supports If-None-Match revalidation."
     )
-    public ResponseEntity<ApiResponse<List<PromotionResponse>>> getActivePromotions(
+    public ResponseEntity<byte[]> getActivePromotions(
             @PathVariable UUID productId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         
         log.info("Getting active promotions for product: {}", productId);
         
         UUID tenantId = getTenantIdFromAuthentication(authentication);
         
-        List<PromotionResponse> response = promotionService.getActivePromotions(productId, tenantId);
+        ActivePromotionsResponseCache.CachedResponse cached = activePromotionsResponseCache.get(tenantId, productId);
+        if (cached.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(cached.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(cached.etag())
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.AUTHORIZATION)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(cached.body());
+    }
+    
+    /**
+     * Get active promotions for the products of a listing page
+     * 
+     * <p>Active promotions as in {@code /product/{productId}/active}, for up to 200 products
+     * in one call, so a category or search page costs one request instead of one per
+     * tile. The tenant's promotions are resolved once for the whole page, and each
+     * promotion appears once in the response with only the fields a badge needs;
+     * products refer to it by id.
+     * 
+     * <p>Category, brand and price criteria are only matched for products the catalog
+     * price replica holds; the page never waits on catalog-service. Other products get
+     * the promotions that target them by id or target everything, so their badges can
+     * be a subset of {@code /product/{productId}/active}.
+     * 
+     * <p>This endpoint is public (for product display).
+     */
+    @PostMapping("/product/active/batch")
+    @Operation(
+        summary = "Get active promotions for multiple products",
+        description = "Returns the distinct active promotions of the given products and, per product, the ids of those that apply"
+    )
+    public ResponseEntity<ApiResponse<ActivePromotionBadgesResponse>> getActivePromotionBadges(
+            @Valid @RequestBody ActivePromotionBadgesRequest badgesRequest,
+            Authentication authentication) {
+        
+        log.info("Getting promotion badges: products={}", badgesRequest.productIds().size());
+        
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        
+        ActivePromotionBadgesResponse response = promotionService.getActivePromotionBadges(tenantId, badgesRequest.productIds());
         return ResponseEntity.ok(ApiResponse.success(response, "Active promotions retrieved successfully"));
     }
     
+    /**
+     * Preview a product's price over time
+     * 
+     * <p>Returns the price timeline for a product between {@code from} and {@code to}:
+     * one segment per stretch in which the same promotions apply, including those
+     * scheduled to start later. Without {@code to}, returns the price at {@code from}.
+     * Used by countdown pages and by merchandisers previewing scheduled campaigns.
+     * 
+     * <p>Answered from an in-memory interval tree over the tenant's promotion windows,
+     * so a long window costs one lookup rather than a query per point in time.
+     * 
+     * <p>This endpoint is public (for product display).
+     */
+    @GetMapping("/product/{productId}/timeline")
+    @Operation(
+        summary = "Preview a product's price timeline",
+        description = "Returns the product's price over a time window, split wherever a promotion starts or ends"
+    )
+    public ResponseEntity<ApiResponse<PriceTimelineResponse>> previewPriceTimeline(
+            @PathVariable UUID productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer quantity,
+            Authentication authentication) {
+        
+        log.info("Previewing price timeline: productId={}, from={}, to={}", productId, from, to);
+        
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        
+        PriceTimelineResponse response = promotionService.previewPriceTimeline(tenantId, productId, from, to, quantity);
+        return ResponseEntity.ok(ApiResponse.success(response, "Price timeline calculated successfully"));
+    }
+    
+    /**
+     * Stream price changes for a set of products
+     * 
+     * <p>Opens a server-sent event stream that first sends the current price of each
+     * product, then a {@code price} event whenever a product's price or applied
+     * promotions change: a promotion is created or edited, starts or ends, or the
+     * catalog price moves. Replaces polling {@code /product/{id}/active} and
+     * {@code /calculate} during live sales. Idle streams get a keep-alive comment.
+     * 
+     * <p>A client that reads slowly receives only the latest price of each product.
+     * Streams close after a while and EventSource reconnects on its own. A node at its
+     * stream limit answers 503, so the client retries against another node. The stream
+     * is only served (404 otherwise) while the catalog price replica is enabled, since
+     * catalog price changes reach it through the replica.
+     * 
+     * <p>This endpoint is public (for product display).
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream price changes",
+        description = "Server-sent events with the current price of each product, then a delta whenever it changes"
+    )
+    public ResponseEntity<SseEmitter> streamPriceChanges(
+            @RequestParam("product_ids") List<UUID> productIds,
+            Authentication authentication) {
+        
+        log.info("Opening price stream: products={}", productIds.size());
+        
+        if (!priceChangeHub.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (productIds.isEmpty() || productIds.size() > priceChangeHub.maxProducts()) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED,
+                "Watch between 1 and " + priceChangeHub.maxProducts() + " products per stream");
+        }
+        
+        UUID tenantId = getTenantIdFromAuthentication(authentication);
+        
+        SseEmitter emitter = priceChangeHub.subscribe(tenantId, new LinkedHashSet<>(productIds));
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .header("X-Accel-Buffering", "no") // Keep reverse proxies from buffering events
+            .body(emitter);
+    }
+    
     /**
      * Extract user ID from JWT authentication token
      */
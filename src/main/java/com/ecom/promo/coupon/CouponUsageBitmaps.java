@@ -0,0 +1,295 @@
+package com.ecom.promo.coupon;
+
+import com.ecom.promo.cache.CacheInvalidationBus;
+import com.ecom.promo.config.CouponUsageProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory sets of customers who used each once-per-customer coupon
+ *
+ * <p>Each coupon's set is a {@link RoaringBitmap} of {@link CustomerOrdinals}, loaded on
+ * first use from its latest snapshot in {@code coupon_usage_snapshots} plus the
+ * {@code coupon_redemptions} rows recorded after it. Redemptions are broadcast through
+ * {@link CacheInvalidationBus} so every node adds them without re-reading; changed
+ * bitmaps are written back as snapshots periodically, which keeps reloads to a snapshot
+ * read and a short replay.
+ *
+ * <p>A lost broadcast would leave a bitmap short until it is evicted, so loaded bitmaps
+ * are also caught up from the table every {@code refresh-interval}. Bitmaps grow in
+ * place and Caffeine only weighs an entry when it is written, so the same pass writes
+ * each entry back to have it weighed again against {@code max-bitmap-bytes}.
+ *
+ * <p>Membership answers {@code /coupon/validate} quickly; the primary key on
+ * {@code coupon_redemptions} remains what actually rejects a second redemption.
+ */
+@Component
+@Slf4j
+public class CouponUsageBitmaps {
+
+    static final String TOPIC = "coupon-usage";
+
+    private static final String RECORD =
+        "INSERT INTO coupon_redemptions (tenant_id, coupon_id, user_ordinal) VALUES (?, ?, ?) " +
+        "ON CONFLICT DO NOTHING";
+
+    private static final String LOAD_SNAPSHOT =
+        "SELECT bitmap, through_seq FROM coupon_usage_snapshots WHERE tenant_id = ? AND coupon_id = ?";
+
+    // Settled rows are old enough that no transaction can still commit a lower seq
+    private static final String REPLAY =
+        "SELECT user_ordinal, seq, redeemed_at < now() - make_interval(secs => ?) AS settled " +
+        "FROM coupon_redemptions WHERE tenant_id = ? AND coupon_id = ? AND seq > ? ORDER BY seq";
+
+    private static final String SAVE_SNAPSHOT =
+        "INSERT INTO coupon_usage_snapshots (tenant_id, coupon_id, bitmap, through_seq, cardinality, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, now()) " +
+        "ON CONFLICT (tenant_id, coupon_id) DO UPDATE SET " +
+        "bitmap = EXCLUDED.bitmap, through_seq = EXCLUDED.through_seq, " +
+        "cardinality = EXCLUDED.cardinality, updated_at = now() " +
+        "WHERE coupon_usage_snapshots.through_seq <= EXCLUDED.through_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final double settleSeconds;
+    private final Cache<Key, UsageBitmap> bitmaps;
+    private final Counter snapshots;
+
+    public CouponUsageBitmaps(JdbcTemplate jdbcTemplate,
+                              CacheInvalidationBus invalidationBus,
+                              CouponUsageProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidationBus = invalidationBus;
+        this.settleSeconds = properties.getSettleWindow().toMillis() / 1000.0;
+        this.bitmaps = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxBitmapBytes())
+            .weigher((Key key, UsageBitmap bitmap) -> bitmap.sizeInBytes())
+            .recordStats()
+            .build();
+        this.snapshots = meterRegistry.counter("promo.coupons.usage.snapshots");
+        CaffeineCacheMetrics.monitor(meterRegistry, bitmaps, "promo.coupons.usage.bitmaps");
+        invalidationBus.subscribe(TOPIC, this::onRedemption);
+    }
+
+    /**
+     * Whether the customer with {@code ordinal} has already used the coupon
+     */
+    public boolean hasUsed(UUID tenantId, UUID couponId, int ordinal) {
+        return bitmap(new Key(tenantId, couponId)).contains(ordinal);
+    }
+
+    /**
+     * Record that the customer used the coupon, within the caller's transaction
+     *
+     * <p>Returns {@code false} if they already had; otherwise every node's bitmap picks
+     * the use up after commit.
+     */
+    public boolean recordUse(UUID tenantId, UUID couponId, int ordinal) {
+        if (jdbcTemplate.update(RECORD, tenantId, couponId, ordinal) == 0) {
+            return false;
+        }
+        invalidationBus.publish(TOPIC, tenantId + "|" + couponId + "|" + ordinal);
+        return true;
+    }
+
+    /**
+     * Catch loaded bitmaps up on redemptions whose broadcast never arrived, and re-weigh them
+     */
+    @Scheduled(
+        fixedDelayString = "${promo.coupon-usage.refresh-interval:PT30S}",
+        initialDelayString = "${promo.coupon-usage.refresh-interval:PT30S}"
+    )
+    public void refresh() {
+        for (Map.Entry<Key, UsageBitmap> entry : bitmaps.asMap().entrySet()) {
+            try {
+                replay(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                log.warn("Coupon usage refresh failed: key={}: {}", entry.getKey(), e.getMessage());
+            }
+            reweigh(entry.getKey());
+        }
+    }
+
+    /**
+     * Write back bitmaps that changed since their last snapshot
+     */
+    @Scheduled(
+        fixedDelayString = "${promo.coupon-usage.snapshot-interval:PT5M}",
+        initialDelayString = "${promo.coupon-usage.snapshot-interval:PT5M}"
+    )
+    public void snapshotChanged() {
+        for (Map.Entry<Key, UsageBitmap> entry : bitmaps.asMap().entrySet()) {
+            UsageBitmap bitmap = entry.getValue();
+            if (!bitmap.isDirty()) {
+                continue;
+            }
+            try {
+                // Catch up from the table first so the snapshot's through_seq is exact
+                replay(entry.getKey(), bitmap);
+                Snapshot snapshot = bitmap.snapshot();
+                jdbcTemplate.update(SAVE_SNAPSHOT, entry.getKey().tenantId(), entry.getKey().couponId(),
+                    snapshot.bytes(), snapshot.throughSeq(), snapshot.cardinality());
+                snapshots.increment();
+            } catch (Exception e) {
+                log.warn("Coupon usage snapshot failed: key={}: {}", entry.getKey(), e.getMessage());
+            }
+            // runOptimize in the snapshot usually shrinks it
+            reweigh(entry.getKey());
+        }
+    }
+
+    private UsageBitmap bitmap(Key key) {
+        return bitmaps.get(key, this::load);
+    }
+
+    private void reweigh(Key key) {
+        // Writing the same value back makes Caffeine run the weigher, and evict if over budget
+        bitmaps.asMap().computeIfPresent(key, (k, bitmap) -> bitmap);
+    }
+
+    private UsageBitmap load(Key key) {
+        List<UsageBitmap> loaded = jdbcTemplate.query(LOAD_SNAPSHOT,
+            (rs, rowNum) -> new UsageBitmap(
+                new ImmutableRoaringBitmap(ByteBuffer.wrap(rs.getBytes("bitmap"))).toRoaringBitmap(),
+                rs.getLong("through_seq")),
+            key.tenantId(), key.couponId());
+        UsageBitmap bitmap = loaded.isEmpty() ? new UsageBitmap(new RoaringBitmap(), 0L) : loaded.get(0);
+        replay(key, bitmap);
+        return bitmap;
+    }
+
+    private void replay(Key key, UsageBitmap bitmap) {
+        long[] settledThrough = {bitmap.throughSeq()};
+        boolean[] stillSettled = {true};
+        jdbcTemplate.query(REPLAY, rs -> {
+            bitmap.add(rs.getInt("user_ordinal"));
+            // Only advance past a prefix of settled rows; anything later is replayed again
+            if (stillSettled[0] && rs.getBoolean("settled")) {
+                settledThrough[0] = rs.getLong("seq");
+            } else {
+                stillSettled[0] = false;
+            }
+        }, settleSeconds, key.tenantId(), key.couponId(), bitmap.throughSeq());
+        bitmap.advanceTo(settledThrough[0]);
+    }
+
+    private void onRedemption(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        UsageBitmap bitmap = bitmaps.getIfPresent(new Key(UUID.fromString(parts[0]), UUID.fromString(parts[1])));
+        // Not loaded here: the next load replays it from the table
+        if (bitmap != null) {
+            bitmap.add(Integer.parseInt(parts[2]));
+        }
+    }
+
+    private record Key(UUID tenantId, UUID couponId) {
+    }
+
+    private record Snapshot(byte[] bytes, long throughSeq, long cardinality) {
+    }
+
+    /**
+     * A coupon's bitmap and the redemption seq its last snapshot or replay covered
+     */
+    private static final class UsageBitmap {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final RoaringBitmap ordinals;
+        private long throughSeq;
+        private boolean dirty;
+
+        UsageBitmap(RoaringBitmap ordinals, long throughSeq) {
+            this.ordinals = ordinals;
+            this.throughSeq = throughSeq;
+        }
+
+        boolean contains(int ordinal) {
+            lock.readLock().lock();
+            try {
+                return ordinals.contains(ordinal);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(int ordinal) {
+            lock.writeLock().lock();
+            try {
+                if (ordinals.checkedAdd(ordinal)) {
+                    dirty = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        long throughSeq() {
+            lock.readLock().lock();
+            try {
+                return throughSeq;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void advanceTo(long seq) {
+            lock.writeLock().lock();
+            try {
+                if (seq > throughSeq) {
+                    throughSeq = seq;
+                    dirty = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean isDirty() {
+            lock.readLock().lock();
+            try {
+                return dirty;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int sizeInBytes() {
+            lock.readLock().lock();
+            try {
+                return (int) Math.min(Integer.MAX_VALUE, ordinals.getLongSizeInBytes());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Snapshot snapshot() {
+            lock.writeLock().lock();
+            try {
+                ordinals.runOptimize();
+                ByteBuffer buffer = ByteBuffer.allocate(ordinals.serializedSizeInBytes());
+                ordinals.serialize(buffer);
+                dirty = false;
+                return new Snapshot(buffer.array(), throughSeq, ordinals.getLongCardinality());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
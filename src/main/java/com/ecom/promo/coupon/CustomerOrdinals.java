@@ -0,0 +1,93 @@
+package com.ecom.promo.coupon;
+
+import com.ecom.promo.config.CouponUsageProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dense integer index over customer ids
+ *
+ * <p>Usage bitmaps store 32-bit ordinals rather than UUIDs; ordinals are handed out from
+ * an identity column, so they are dense and compress well. Assignments never change and
+ * are cached indefinitely; "no ordinal yet" is cached briefly, since it only means the
+ * customer has never redeemed a once-per-customer coupon.
+ */
+@Component
+public class CustomerOrdinals {
+
+    private static final String FIND = "SELECT ordinal FROM customer_ordinals WHERE user_id = ?";
+
+    private static final String ASSIGN =
+        "INSERT INTO customer_ordinals (user_id) VALUES (?) ON CONFLICT (user_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+    private final Cache<UUID, Integer> ordinals;
+    private final Cache<UUID, Boolean> unassigned;
+
+    public CustomerOrdinals(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            CouponUsageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ordinals = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxCachedCustomers())
+            .build();
+        this.unassigned = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxCachedCustomers())
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+    }
+
+    /**
+     * Ordinal of {@code userId}, or {@code null} if none has been assigned
+     */
+    public Integer find(UUID userId) {
+        Integer ordinal = ordinals.getIfPresent(userId);
+        if (ordinal != null || unassigned.getIfPresent(userId) != null) {
+            return ordinal;
+        }
+        ordinal = query(userId);
+        if (ordinal != null) {
+            ordinals.put(userId, ordinal);
+        } else {
+            unassigned.put(userId, Boolean.TRUE);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Ordinal of {@code userId}, assigning the next one on first use
+     *
+     * <p>The assignment commits on its own, even if the caller's transaction rolls back;
+     * otherwise another node could hand the same customer a second ordinal.
+     */
+    public int assign(UUID userId) {
+        Integer ordinal = ordinals.getIfPresent(userId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        ordinal = ownTransaction.execute(status -> {
+            jdbcTemplate.update(ASSIGN, userId);
+            return query(userId);
+        });
+        ordinals.put(userId, ordinal);
+        unassigned.invalidate(userId);
+        return ordinal;
+    }
+
+    private Integer query(UUID userId) {
+        List<Integer> rows = jdbcTemplate.queryForList(FIND, Integer.class, userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
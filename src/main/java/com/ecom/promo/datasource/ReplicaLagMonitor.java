@@ -0,0 +1,76 @@
+package com.ecom.promo.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Periodically measures replay lag on each replica and toggles it in or out of rotation
+ *
+ * <p>A replica is only in rotation while its WAL receiver is streaming from the primary:
+ * one that lost its upstream has replayed everything it received, yet falls further
+ * behind every second. Reading {@code pg_stat_wal_receiver.status} needs the
+ * {@code pg_read_all_stats} (or {@code pg_monitor}) role for the replica user; without
+ * it the status reads as null and the replica is kept out of rotation.
+ */
+@Component
+@ConditionalOnProperty(prefix = "promo.datasource.replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Whether the replica streams from the primary, and its lag: zero when it is streaming and has
+    // replayed everything it received (an idle primary writes no commits to age), otherwise the
+    // age of the last replayed commit
+    private static final String LAG_QUERY =
+        "WITH receiver AS (SELECT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') AS streaming) " +
+        "SELECT NOT pg_is_in_recovery() OR receiver.streaming, " +
+        "CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN receiver.streaming AND pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0) END " +
+        "FROM receiver";
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, MeterRegistry meterRegistry) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        for (ReplicaRoutingDataSource.Replica replica : replicaRoutingDataSource.getReplicas()) {
+            Gauge.builder("promo.datasource.replica.lag", replica, ReplicaRoutingDataSource.Replica::lagMillis)
+                .tag("replica", replica.name())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        }
+        checkLag();
+    }
+
+    @Scheduled(fixedDelayString = "${promo.datasource.replicas.lag-check-interval:PT2S}")
+    public void checkLag() {
+        long maxLagMillis = replicaRoutingDataSource.getMaxLag().toMillis();
+        for (ReplicaRoutingDataSource.Replica replica : replicaRoutingDataSource.getReplicas()) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                boolean streaming = rs.getBoolean(1);
+                long lagMillis = rs.getLong(2);
+                boolean healthy = streaming && lagMillis <= maxLagMillis;
+                if (replica.isHealthy() != healthy) {
+                    log.info("Replica {} {} rotation: streaming={}, lag={}ms, tolerance={}ms",
+                        replica.name(), healthy ? "joined" : "left", streaming, lagMillis, maxLagMillis);
+                }
+                replica.markLag(lagMillis, healthy);
+            } catch (Exception e) {
+                if (replica.isHealthy()) {
+                    log.warn("Replica {} unreachable, removing from rotation: {}", replica.name(), e.getMessage());
+                }
+                replica.markUnreachable();
+            }
+        }
+    }
+}
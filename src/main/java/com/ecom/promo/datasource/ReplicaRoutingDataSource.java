@@ -0,0 +1,122 @@
+package com.ecom.promo.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replica pool DataSource
+ *
+ * <p>Hands out connections round-robin across replicas whose last measured lag is
+ * within tolerance. When no replica is healthy, connections come from the primary so
+ * read-only paths degrade to today's behaviour instead of failing.
+ *
+ * <p>The replica pools belong to this DataSource and are closed with it; the primary is
+ * its own bean and is left alone.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return selectTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return selectTarget().getConnection(username, password);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica pool {}: {}", replica.name(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private DataSource selectTarget() {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isHealthy()) {
+                return replica.dataSource();
+            }
+        }
+        log.debug("No replica within lag tolerance, routing read to primary");
+        return primary;
+    }
+
+    /**
+     * A single replica and its last observed health
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long lagMillis() {
+            return lagMillis;
+        }
+
+        void markLag(long lagMillis, boolean healthy) {
+            this.lagMillis = lagMillis;
+            this.healthy = healthy;
+        }
+
+        void markUnreachable() {
+            this.lagMillis = -1;
+            this.healthy = false;
+        }
+    }
+}
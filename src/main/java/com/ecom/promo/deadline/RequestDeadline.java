@@ -0,0 +1,45 @@
+package com.ecom.promo.deadline;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deadline of the inbound request being served on the current thread
+ *
+ * <p>Set by {@link RequestDeadlineFilter} from {@code X-Request-Deadline} (epoch
+ * milliseconds, the same header promo-service forwards downstream). Outbound calls
+ * bound themselves by {@link #remaining()} so that timeouts and retries never outlive
+ * the caller, who has already given up.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Deadline of the current request, or {@code null} if it has none
+     */
+    public static Instant current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Time left until the deadline (zero or negative once passed), or {@code null} if none
+     */
+    public static Duration remaining() {
+        Instant deadline = CURRENT.get();
+        return deadline != null ? Duration.between(Instant.now(), deadline) : null;
+    }
+
+    static void set(Instant deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
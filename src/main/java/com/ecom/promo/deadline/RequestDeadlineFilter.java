@@ -0,0 +1,57 @@
+package com.ecom.promo.deadline;
+
+import com.ecom.promo.config.CatalogClientProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Binds the inbound {@code X-Request-Deadline} to the request thread
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final Duration defaultBudget;
+
+    public RequestDeadlineFilter(CatalogClientProperties properties) {
+        this.defaultBudget = properties.getDeadline().getDefaultBudget();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RequestDeadline.set(deadline(request.getHeader(RequestDeadline.HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private Instant deadline(String header) {
+        if (header != null && !header.isBlank()) {
+            try {
+                return Instant.ofEpochMilli(Long.parseLong(header.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header: {}", RequestDeadline.HEADER, header);
+            }
+        }
+        return defaultBudget != null ? Instant.now().plus(defaultBudget) : null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecom.promo.eligibility;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Compiled form of a promotion's {@code eligibility_criteria} JSON
+ *
+ * <p>Format:
+ * <pre>
+ * {"product_ids": ["..."], "category_ids": ["..."], "brands": ["Acme"]}
+ * </pre>
+ * A product is eligible if it matches any listed product, category or brand (brands
+ * compare case-insensitively). Missing, empty or {@code null} criteria apply to every
+ * product.
+ */
+public record EligibilityCriteria(
+    Set<UUID> productIds,
+    Set<UUID> categoryIds,
+    Set<String> brands
+) {
+
+    public static final EligibilityCriteria ALL = new EligibilityCriteria(Set.of(), Set.of(), Set.of());
+
+    /**
+     * Parse criteria JSON; malformed input raises {@link IllegalArgumentException}
+     */
+    public static EligibilityCriteria parse(String json, ObjectMapper objectMapper) {
+        if (json == null || json.isBlank()) {
+            return ALL;
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("eligibility_criteria is not valid JSON", e);
+        }
+        if (root == null || root.isNull()) {
+            return ALL;
+        }
+        if (!root.isObject()) {
+            throw new IllegalArgumentException("eligibility_criteria must be a JSON object");
+        }
+        return new EligibilityCriteria(
+            readSet(root, "product_ids", UUID::fromString),
+            readSet(root, "category_ids", UUID::fromString),
+            readSet(root, "brands", EligibilityCriteria::normalizeBrand)
+        );
+    }
+
+    public static String normalizeBrand(String brand) {
+        return brand == null ? null : brand.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean appliesToAll() {
+        return productIds.isEmpty() && categoryIds.isEmpty() && brands.isEmpty();
+    }
+
+    public boolean test(CatalogProduct product) {
+        if (appliesToAll()) {
+            return true;
+        }
+        return productIds.contains(product.productId())
+            || (product.categoryId() != null && categoryIds.contains(product.categoryId()))
+            || (product.brand() != null && brands.contains(normalizeBrand(product.brand())));
+    }
+
+    private static <T> Set<T> readSet(JsonNode root, String field, Function<String, T> parser) {
+        JsonNode node = root.get(field);
+        if (node == null || node.isNull()) {
+            return Set.of();
+        }
+        if (!node.isArray()) {
+            throw new IllegalArgumentException(field + " must be an array");
+        }
+        Set<T> values = new HashSet<>();
+        for (JsonNode element : node) {
+            values.add(parser.apply(element.asText()));
+        }
+        return Set.copyOf(values);
+    }
+}
@@ -0,0 +1,189 @@
+package com.ecom.promo.eligibility;
+
+import com.ecom.promo.cache.PromotionVersionTracker;
+import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.repository.PromotionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-tenant {@link TenantPromotionIndex} cache
+ *
+ * <p>Each promotion's criteria JSON is parsed once per rebuild rather than per request.
+ * An index is rebuilt lazily on first use after the tenant's promotion version moves or
+ * its {@code validUntil} passes; concurrent callers for the same tenant wait for a
+ * single rebuild. Fresh lookups are a plain map read, and a rebuild runs outside the
+ * map, so the database query never holds a map lock that other tenants' lookups hash to.
+ *
+ * <p>Also keeps a per-tenant {@link PromotionIntervalTree} over current and upcoming
+ * promotions for time-based queries. It is rebuilt when the version moves, and at least
+ * every {@link #SCHEDULE_MAX_AGE} so that promotions which have since ended drop out.
+ */
+@Component
+@Slf4j
+public class PromotionIndexService {
+
+    static final Duration SCHEDULE_MAX_AGE = Duration.ofHours(1);
+
+    private final PromotionRepository promotionRepository;
+    private final PromotionVersionTracker versionTracker;
+    private final ObjectMapper objectMapper;
+    private final Map<UUID, TenantPromotionIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<UUID, PromotionIntervalTree> schedules = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<TenantPromotionIndex>> indexesInFlight = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<PromotionIntervalTree>> schedulesInFlight = new ConcurrentHashMap<>();
+    private final Counter rebuilds;
+    private final Counter scheduleRebuilds;
+
+    public PromotionIndexService(PromotionRepository promotionRepository,
+                                 PromotionVersionTracker versionTracker,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.promotionRepository = promotionRepository;
+        this.versionTracker = versionTracker;
+        this.objectMapper = objectMapper;
+        this.rebuilds = meterRegistry.counter("promo.eligibility.index.rebuilds");
+        this.scheduleRebuilds = meterRegistry.counter("promo.eligibility.schedule.rebuilds");
+    }
+
+    public TenantPromotionIndex get(UUID tenantId) {
+        UUID key = tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT;
+        TenantPromotionIndex current = indexes.get(key);
+        if (isFresh(current, tenantId)) {
+            return current;
+        }
+        return rebuild(key, indexes, indexesInFlight, index -> isFresh(index, tenantId), () -> build(tenantId));
+    }
+
+    /**
+     * Serve {@code promotions} as the tenant's active set instead of loading it from the
+     * database, until the tenant's version moves or {@link #evict} (warm-up traffic)
+     */
+    public void install(UUID tenantId, List<Promotion> promotions) {
+        List<EligibilityCriteria> criteria = new ArrayList<>(promotions.size());
+        for (Promotion promotion : promotions) {
+            criteria.add(compile(promotion));
+        }
+        UUID key = tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT;
+        indexes.put(key, TenantPromotionIndex.build(
+            promotions, criteria, versionTracker.version(tenantId), LocalDateTime.MAX));
+    }
+
+    public void evict(UUID tenantId) {
+        indexes.remove(tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT);
+    }
+
+    /**
+     * Interval tree over the tenant's running and upcoming promotions; windows that had
+     * already ended when it was built are not included
+     */
+    public PromotionIntervalTree schedule(UUID tenantId) {
+        UUID key = tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT;
+        PromotionIntervalTree current = schedules.get(key);
+        if (isFresh(current, tenantId)) {
+            return current;
+        }
+        return rebuild(key, schedules, schedulesInFlight, schedule -> isFresh(schedule, tenantId), () -> buildSchedule(tenantId));
+    }
+
+    /**
+     * Build a stale entry once per tenant, on the first caller's thread, and install it;
+     * callers arriving meanwhile wait for that build instead of starting their own
+     */
+    private static <T> T rebuild(UUID key, Map<UUID, T> entries, Map<UUID, CompletableFuture<T>> inFlight,
+                                 Predicate<T> isFresh, Supplier<T> builder) {
+        CompletableFuture<T> rebuild = new CompletableFuture<>();
+        CompletableFuture<T> running = inFlight.putIfAbsent(key, rebuild);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            // Another caller may have installed a fresh entry between our read and the claim
+            T current = entries.get(key);
+            T built = isFresh.test(current) ? current : builder.get();
+            entries.put(key, built);
+            rebuild.complete(built);
+            return built;
+        } catch (RuntimeException | Error e) {
+            rebuild.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, rebuild);
+        }
+    }
+
+    private boolean isFresh(TenantPromotionIndex index, UUID tenantId) {
+        return index != null
+            && index.version() == versionTracker.version(tenantId)
+            && LocalDateTime.now().isBefore(index.validUntil());
+    }
+
+    private boolean isFresh(PromotionIntervalTree schedule, UUID tenantId) {
+        return schedule != null
+            && schedule.version() == versionTracker.version(tenantId)
+            && LocalDateTime.now().isBefore(schedule.validUntil());
+    }
+
+    private TenantPromotionIndex build(UUID tenantId) {
+        long version = versionTracker.version(tenantId);
+        LocalDateTime now = LocalDateTime.now();
+        List<Promotion> promotions = promotionRepository.findActivePromotions(tenantId, now);
+
+        LocalDateTime validUntil = promotionRepository.findNextPromotionStart(tenantId, now);
+        List<EligibilityCriteria> criteria = new ArrayList<>(promotions.size());
+        for (Promotion promotion : promotions) {
+            if (validUntil == null || promotion.getEndDate().isBefore(validUntil)) {
+                validUntil = promotion.getEndDate();
+            }
+            criteria.add(compile(promotion));
+        }
+
+        rebuilds.increment();
+        log.debug("Built promotion index: tenantId={}, promotions={}, version={}", tenantId, promotions.size(), version);
+        return TenantPromotionIndex.build(promotions, criteria, version, validUntil != null ? validUntil : LocalDateTime.MAX);
+    }
+
+    private PromotionIntervalTree buildSchedule(UUID tenantId) {
+        long version = versionTracker.version(tenantId);
+        LocalDateTime now = LocalDateTime.now();
+        List<Promotion> promotions = promotionRepository.findScheduledPromotions(tenantId, now);
+
+        List<EligibilityCriteria> criteria = new ArrayList<>(promotions.size());
+        for (Promotion promotion : promotions) {
+            criteria.add(compile(promotion));
+        }
+
+        scheduleRebuilds.increment();
+        log.debug("Built promotion schedule: tenantId={}, promotions={}, version={}", tenantId, promotions.size(), version);
+        return PromotionIntervalTree.build(promotions, criteria, version, now.plus(SCHEDULE_MAX_AGE));
+    }
+
+    private EligibilityCriteria compile(Promotion promotion) {
+        try {
+            return EligibilityCriteria.parse(promotion.getEligibilityCriteria(), objectMapper);
+        } catch (IllegalArgumentException e) {
+            // Unreadable criteria never match, rather than silently applying everywhere
+            log.warn("Ignoring promotion {} with invalid eligibility criteria: {}", promotion.getId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecom.promo.eligibility;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.entity.Promotion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Interval tree over a tenant's promotion windows, answering "which promotions run at
+ * time T" and "which promotions run at some point between A and B"
+ *
+ * <p>Windows are kept sorted by start date as an implicit balanced tree: the middle of
+ * each range is the node and its halves are the subtrees. Every node also records the
+ * latest end date in its subtree, so a query skips subtrees that end before it and,
+ * because starts are sorted, everything right of a node that starts after it. A query
+ * costs {@code O(log n + matches)}.
+ *
+ * <p>Both ends of a window are inclusive, as in {@code findActivePromotions}. Results
+ * are in priority order, the order promotions were given in. Immutable.
+ */
+public final class PromotionIntervalTree {
+
+    private final List<Promotion> promotions;
+    private final List<EligibilityCriteria> criteria;
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    private final LocalDateTime[] maxEnds;
+    private final int[] ordinals;
+    private final long version;
+    private final LocalDateTime validUntil;
+
+    private PromotionIntervalTree(List<Promotion> promotions, List<EligibilityCriteria> criteria,
+                                  int[] ordinals, long version, LocalDateTime validUntil) {
+        this.promotions = promotions;
+        this.criteria = criteria;
+        this.ordinals = ordinals;
+        this.version = version;
+        this.validUntil = validUntil;
+        this.starts = new LocalDateTime[ordinals.length];
+        this.ends = new LocalDateTime[ordinals.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            starts[i] = promotions.get(ordinals[i]).getStartDate();
+            ends[i] = promotions.get(ordinals[i]).getEndDate();
+        }
+        this.maxEnds = new LocalDateTime[ordinals.length];
+        augment(0, ordinals.length);
+    }
+
+    /**
+     * Build from promotions in priority order, with criteria already compiled (entries
+     * for promotions whose criteria failed to parse are {@code null} and never match)
+     */
+    public static PromotionIntervalTree build(List<Promotion> promotions, List<EligibilityCriteria> criteria,
+                                              long version, LocalDateTime validUntil) {
+        List<Integer> scheduled = new ArrayList<>(promotions.size());
+        for (int ordinal = 0; ordinal < promotions.size(); ordinal++) {
+            Promotion promotion = promotions.get(ordinal);
+            if (criteria.get(ordinal) != null && !promotion.getEndDate().isBefore(promotion.getStartDate())) {
+                scheduled.add(ordinal);
+            }
+        }
+        scheduled.sort(Comparator.comparing(ordinal -> promotions.get(ordinal).getStartDate()));
+        int[] ordinals = new int[scheduled.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = scheduled.get(i);
+        }
+        return new PromotionIntervalTree(List.copyOf(promotions), criteria, ordinals, version, validUntil);
+    }
+
+    /**
+     * Promotions eligible for {@code product} whose window contains {@code at}
+     */
+    public List<Promotion> activeAt(LocalDateTime at, CatalogProduct product) {
+        return overlapping(at, at, product);
+    }
+
+    /**
+     * Promotions eligible for {@code product} whose window overlaps {@code [from, to]}
+     */
+    public List<Promotion> overlapping(LocalDateTime from, LocalDateTime to, CatalogProduct product) {
+        BitSet hits = new BitSet(promotions.size());
+        collect(0, ordinals.length, from, to, hits);
+        List<Promotion> result = new ArrayList<>(hits.cardinality());
+        for (int ordinal = hits.nextSetBit(0); ordinal >= 0; ordinal = hits.nextSetBit(ordinal + 1)) {
+            if (criteria.get(ordinal).test(product)) {
+                result.add(promotions.get(ordinal));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return ordinals.length;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public LocalDateTime validUntil() {
+        return validUntil;
+    }
+
+    private void collect(int lo, int hi, LocalDateTime from, LocalDateTime to, BitSet hits) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid].isBefore(from)) {
+                return; // Nothing in this subtree is still running at from
+            }
+            collect(lo, mid, from, to, hits);
+            if (starts[mid].isAfter(to)) {
+                return; // Neither this node nor anything right of it has started by to
+            }
+            if (!ends[mid].isBefore(from)) {
+                hits.set(ordinals[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private LocalDateTime augment(int lo, int hi) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        LocalDateTime max = ends[mid];
+        LocalDateTime left = augment(lo, mid);
+        LocalDateTime right = augment(mid + 1, hi);
+        if (left != null && left.isAfter(max)) {
+            max = left;
+        }
+        if (right != null && right.isAfter(max)) {
+            max = right;
+        }
+        maxEnds[mid] = max;
+        return max;
+    }
+}
@@ -0,0 +1,252 @@
+package com.ecom.promo.eligibility;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.entity.Promotion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inverted index from product, category and brand to a tenant's active promotions
+ *
+ * <p>Promotions are numbered by their position in priority order, and each posting list
+ * holds those ordinals in ascending order. A lookup unions at most four short lists
+ * (product, category, brand and "applies to all") instead of testing every active
+ * promotion. Because eligibility is an OR across the three dimensions, the union is
+ * exactly the eligible set, already in priority order.
+ *
+ * <p>Tenants with at most {@value #MAX_MASK_PROMOTIONS} promotions also get the
+ * eligible set as a bitset of ordinals ({@link #candidateMask}), which the catalog
+ * replica caches per product under this index's {@link #generation()}.
+ *
+ * <p>Immutable; rebuilt when the tenant's promotion version changes or at
+ * {@link #validUntil()}, the next moment a promotion starts or ends.
+ */
+public final class TenantPromotionIndex {
+
+    /**
+     * Most promotions a {@link #candidateMask} can describe; bit 63 stays clear so a mask is never negative
+     */
+    public static final int MAX_MASK_PROMOTIONS = 63;
+
+    private static final int[] NONE = new int[0];
+    private static final AtomicInteger GENERATIONS = new AtomicInteger();
+
+    private final List<Promotion> promotions;
+    private final List<EligibilityCriteria> criteria;
+    private final Map<UUID, int[]> byProduct;
+    private final Map<UUID, int[]> byCategory;
+    private final Map<String, int[]> byBrand;
+    private final int[] appliesToAll;
+    private final long version;
+    private final LocalDateTime validUntil;
+    private final int generation = Math.max(1, GENERATIONS.incrementAndGet() & Integer.MAX_VALUE);
+    private final long fingerprint;
+
+    private TenantPromotionIndex(List<Promotion> promotions, List<EligibilityCriteria> criteria,
+                                 Map<UUID, int[]> byProduct, Map<UUID, int[]> byCategory, Map<String, int[]> byBrand,
+                                 int[] appliesToAll, long version, LocalDateTime validUntil) {
+        this.promotions = promotions;
+        this.criteria = criteria;
+        this.byProduct = byProduct;
+        this.byCategory = byCategory;
+        this.byBrand = byBrand;
+        this.appliesToAll = appliesToAll;
+        this.version = version;
+        this.validUntil = validUntil;
+        this.fingerprint = fingerprint(promotions);
+    }
+
+    /**
+     * Build from active promotions in priority order, with criteria already compiled
+     * (entries for promotions whose criteria failed to parse are {@code null} and skipped)
+     */
+    public static TenantPromotionIndex build(List<Promotion> promotions, List<EligibilityCriteria> criteria,
+                                             long version, LocalDateTime validUntil) {
+        Map<UUID, List<Integer>> byProduct = new HashMap<>();
+        Map<UUID, List<Integer>> byCategory = new HashMap<>();
+        Map<String, List<Integer>> byBrand = new HashMap<>();
+        List<Integer> all = new ArrayList<>();
+        for (int ordinal = 0; ordinal < promotions.size(); ordinal++) {
+            EligibilityCriteria c = criteria.get(ordinal);
+            if (c == null) {
+                continue;
+            }
+            if (c.appliesToAll()) {
+                all.add(ordinal);
+                continue;
+            }
+            for (UUID productId : c.productIds()) {
+                byProduct.computeIfAbsent(productId, k -> new ArrayList<>()).add(ordinal);
+            }
+            for (UUID categoryId : c.categoryIds()) {
+                byCategory.computeIfAbsent(categoryId, k -> new ArrayList<>()).add(ordinal);
+            }
+            for (String brand : c.brands()) {
+                byBrand.computeIfAbsent(brand, k -> new ArrayList<>()).add(ordinal);
+            }
+        }
+        return new TenantPromotionIndex(
+            List.copyOf(promotions),
+            criteria,
+            freeze(byProduct),
+            freeze(byCategory),
+            freeze(byBrand),
+            toArray(all),
+            version,
+            validUntil
+        );
+    }
+
+    /**
+     * Promotions eligible for {@code product}, in priority order
+     */
+    public List<Promotion> candidates(CatalogProduct product) {
+        if (fitsMask()) {
+            return promotions(candidateMask(product));
+        }
+        int[] fromProduct = byProduct.getOrDefault(product.productId(), NONE);
+        int[] fromCategory = product.categoryId() != null ? byCategory.getOrDefault(product.categoryId(), NONE) : NONE;
+        int[] fromBrand = product.brand() != null
+            ? byBrand.getOrDefault(EligibilityCriteria.normalizeBrand(product.brand()), NONE) : NONE;
+
+        if (fromProduct.length == 0 && fromCategory.length == 0 && fromBrand.length == 0) {
+            return ordinalsToPromotions(appliesToAll, appliesToAll.length);
+        }
+        int[] merged = new int[appliesToAll.length + fromProduct.length + fromCategory.length + fromBrand.length];
+        int size = 0;
+        for (int[] postings : new int[][] {appliesToAll, fromProduct, fromCategory, fromBrand}) {
+            System.arraycopy(postings, 0, merged, size, postings.length);
+            size += postings.length;
+        }
+        Arrays.sort(merged, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || merged[distinct - 1] != merged[i]) {
+                merged[distinct++] = merged[i];
+            }
+        }
+        return ordinalsToPromotions(merged, distinct);
+    }
+
+    /**
+     * Promotions eligible for {@code product} as a bitset of ordinals; only if {@link #fitsMask()}
+     */
+    public long candidateMask(CatalogProduct product) {
+        long mask = 0;
+        for (int ordinal : appliesToAll) {
+            mask |= 1L << ordinal;
+        }
+        for (int ordinal : byProduct.getOrDefault(product.productId(), NONE)) {
+            mask |= 1L << ordinal;
+        }
+        if (product.categoryId() != null) {
+            for (int ordinal : byCategory.getOrDefault(product.categoryId(), NONE)) {
+                mask |= 1L << ordinal;
+            }
+        }
+        if (product.brand() != null) {
+            for (int ordinal : byBrand.getOrDefault(EligibilityCriteria.normalizeBrand(product.brand()), NONE)) {
+                mask |= 1L << ordinal;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Promotions whose ordinals are set in {@code mask}, in priority order
+     */
+    public List<Promotion> promotions(long mask) {
+        List<Promotion> result = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            result.add(promotions.get(Long.numberOfTrailingZeros(remaining)));
+        }
+        return result;
+    }
+
+    public boolean fitsMask() {
+        return promotions.size() <= MAX_MASK_PROMOTIONS;
+    }
+
+    /**
+     * Digest of the active promotion set (ids and last modification), equal on every node
+     * that sees the same set, unlike {@link #version()}
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Identifies this build among all indexes built by this process (never zero)
+     */
+    public int generation() {
+        return generation;
+    }
+
+    /**
+     * Whether any promotion targets categories or brands, i.e. whether product attributes matter
+     */
+    public boolean usesProductAttributes() {
+        return !byCategory.isEmpty() || !byBrand.isEmpty();
+    }
+
+    public List<Promotion> promotions() {
+        return promotions;
+    }
+
+    public EligibilityCriteria criteria(int ordinal) {
+        return criteria.get(ordinal);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public LocalDateTime validUntil() {
+        return validUntil;
+    }
+
+    private List<Promotion> ordinalsToPromotions(int[] ordinals, int length) {
+        List<Promotion> result = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            result.add(promotions.get(ordinals[i]));
+        }
+        return result;
+    }
+
+    private static long fingerprint(List<Promotion> promotions) {
+        // Order-independent: promotions of equal priority may come back in any order
+        long sum = promotions.size();
+        for (Promotion promotion : promotions) {
+            long h = promotion.getId() != null
+                ? promotion.getId().getMostSignificantBits() * 31 + promotion.getId().getLeastSignificantBits()
+                : 0L;
+            h = h * 31 + Objects.hashCode(promotion.getUpdatedAt());
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            sum += h ^ (h >>> 33);
+        }
+        return sum;
+    }
+
+    private static <K> Map<K, int[]> freeze(Map<K, List<Integer>> postings) {
+        Map<K, int[]> frozen = new HashMap<>(Math.max(16, postings.size() * 2));
+        postings.forEach((key, ordinals) -> frozen.put(key, toArray(ordinals)));
+        return frozen;
+    }
+
+    private static int[] toArray(List<Integer> ordinals) {
+        int[] array = new int[ordinals.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ordinals.get(i);
+        }
+        return array;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,13 +17,16 @@ import java.util.UUID;
 
 /**
  * Coupon Entity
+ * 
+ * <p>The table is hash-partitioned by tenant_id (see V4-V6), and codes are unique per
+ * tenant. Every query should constrain tenant_id so Postgres prunes to one partition.
  */
 @Entity
-@Table(name = "coupons", indexes = {
-    @Index(name = "idx_coupons_tenant", columnList = "tenant_id"),
-    @Index(name = "idx_coupons_code", columnList = "code"),
-    @Index(name = "idx_coupons_active", columnList = "active"),
-    @Index(name = "idx_coupons_expiry", columnList = "expiry_date")
+@Table(name = "coupons", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_coupons_tenant_code", columnNames = {"tenant_id", "code"})
+}, indexes = {
+    @Index(name = "idx_coupons_tenant_active", columnList = "tenant_id, active"),
+    @Index(name = "idx_coupons_expiry_date", columnList = "expiry_date")
 })
 @Getter
 @Setter
@@ -36,10 +40,11 @@ public class Coupon {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
+    @PartitionKey // Adds tenant_id to UPDATE/DELETE by id, so they prune too
     @Column(name = "tenant_id", nullable = false)
     private UUID tenantId;
     
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(nullable = false, length = 50)
     private String code;
     
     @Column(name = "discount_type", nullable = false, length = 50)
@@ -61,6 +66,10 @@ public class Coupon {
     @Column(name = "min_order_value", precision = 19, scale = 2)
     private BigDecimal minOrderValue;
     
+    @Column(name = "once_per_customer", nullable = false)
+    @Builder.Default
+    private Boolean oncePerCustomer = false;
+    
     @Column(nullable = false)
     @Builder.Default
     private Boolean active = true;
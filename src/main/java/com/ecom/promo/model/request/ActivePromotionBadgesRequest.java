@@ -0,0 +1,20 @@
+package com.ecom.promo.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for the promotion badges of a listing page
+ */
+public record ActivePromotionBadgesRequest(
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = 200, message = "At most 200 products can be looked up per call")
+    @JsonProperty("product_ids")
+    List<@NotNull UUID> productIds
+) {
+}
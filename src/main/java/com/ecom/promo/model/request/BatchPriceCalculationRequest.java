@@ -0,0 +1,17 @@
+package com.ecom.promo.model.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for pricing several cart lines in one call
+ */
+public record BatchPriceCalculationRequest(
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 200, message = "At most 200 items can be priced per call")
+    List<@Valid PriceCalculationRequest> items
+) {
+}
@@ -0,0 +1,28 @@
+package com.ecom.promo.model.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for repricing a cart from its previous state plus a delta
+ *
+ * <p>{@code fingerprint} is the value returned by the previous reprice; leave it out (and
+ * send every line as {@code added}) for a new cart, or when the service no longer
+ * recognizes it. Lines are identified by product.
+ */
+public record CartRepriceRequest(
+    String fingerprint,
+    
+    @Size(max = 200, message = "At most 200 lines can be added per call")
+    List<@Valid PriceCalculationRequest> added,
+    
+    @Size(max = 200, message = "At most 200 lines can be changed per call")
+    List<@Valid PriceCalculationRequest> changed,
+    
+    @Size(max = 200, message = "At most 200 lines can be removed per call")
+    List<UUID> removed // Product IDs
+) {
+}
@@ -32,7 +32,10 @@ public record CouponRequest(
     
     @JsonProperty("min_order_value")
     @DecimalMin(value = "0.0", message = "Minimum order value must be non-negative")
-    BigDecimal minOrderValue
+    BigDecimal minOrderValue,
+    
+    @JsonProperty("once_per_customer")
+    Boolean oncePerCustomer // Optional - defaults to false
 ) {
 }
 
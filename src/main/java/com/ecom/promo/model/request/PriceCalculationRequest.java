@@ -3,6 +3,7 @@ package com.ecom.promo.model.request;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.util.UUID;
 
@@ -18,6 +19,7 @@ public record PriceCalculationRequest(
     @Min(value = 1, message = "Quantity must be at least 1")
     Integer quantity,
     
+    @Size(max = 50, message = "Coupon code must be at most 50 characters")
     @JsonProperty("coupon_code")
     String couponCode
 ) {
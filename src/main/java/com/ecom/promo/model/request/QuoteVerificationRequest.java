@@ -0,0 +1,29 @@
+package com.ecom.promo.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Request DTO for checking a quote token against the line checkout is about to charge
+ */
+public record QuoteVerificationRequest(
+    @NotBlank(message = "Quote token is required")
+    @JsonProperty("quote_token")
+    String quoteToken,
+    
+    @NotNull(message = "Product ID is required")
+    @JsonProperty("product_id")
+    UUID productId,
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    Integer quantity,
+    
+    @JsonProperty("coupon_code")
+    String couponCode
+) {
+}
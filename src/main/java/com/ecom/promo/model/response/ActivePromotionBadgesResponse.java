@@ -0,0 +1,45 @@
+package com.ecom.promo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Response DTO for the active promotions of many products at once
+ *
+ * <p>Each applicable promotion is listed once under {@code promotions}; {@code products}
+ * maps every requested product, in request order, to the ids of its promotions in
+ * priority order (empty if none apply).
+ */
+public record ActivePromotionBadgesResponse(
+    List<Badge> promotions,
+    
+    Map<UUID, List<UUID>> products
+) {
+    
+    /**
+     * What a product tile needs to render a promotion
+     */
+    public record Badge(
+        @JsonProperty("promotion_id")
+        UUID promotionId,
+        
+        String name,
+        
+        String type,
+        
+        @JsonProperty("discount_type")
+        String discountType,
+        
+        @JsonProperty("discount_value")
+        BigDecimal discountValue,
+        
+        @JsonProperty("end_date")
+        LocalDateTime endDate
+    ) {
+    }
+}
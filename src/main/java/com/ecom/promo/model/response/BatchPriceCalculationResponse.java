@@ -0,0 +1,11 @@
+package com.ecom.promo.model.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch price calculation, items in request order
+ */
+public record BatchPriceCalculationResponse(
+    List<PriceCalculationResponse> items
+) {
+}
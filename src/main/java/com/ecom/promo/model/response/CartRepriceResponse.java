@@ -0,0 +1,45 @@
+package com.ecom.promo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for incremental cart repricing: every line, the cart totals, and the
+ * fingerprint to send with the next delta
+ */
+public record CartRepriceResponse(
+    String fingerprint,
+    
+    List<Line> items,
+    
+    @JsonProperty("base_total")
+    BigDecimal baseTotal,
+    
+    @JsonProperty("discount_total")
+    BigDecimal discountTotal,
+    
+    @JsonProperty("final_total")
+    BigDecimal finalTotal,
+    
+    String currency,
+    
+    @JsonProperty("repriced_lines")
+    int repricedLines // Lines calculated by this call; the rest were reused
+) {
+    
+    public record Line(
+        @JsonProperty("product_id")
+        UUID productId,
+        
+        Integer quantity,
+        
+        @JsonProperty("coupon_code")
+        String couponCode,
+        
+        PriceCalculationResponse price
+    ) {
+    }
+}
@@ -36,6 +36,9 @@ public record CouponResponse(
     @JsonProperty("min_order_value")
     BigDecimal minOrderValue,
     
+    @JsonProperty("once_per_customer")
+    Boolean oncePerCustomer,
+    
     Boolean active,
     
     @JsonProperty("created_at")
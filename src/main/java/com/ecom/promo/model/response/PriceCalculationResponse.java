@@ -21,7 +21,14 @@ public record PriceCalculationResponse(
     @JsonProperty("applied_promotions")
     List<String> appliedPromotions, // List of promotion names
     
-    String currency
+    String currency,
+    
+    @JsonProperty("quote_token")
+    String quoteToken // Signed quote checkout can verify instead of recalculating; see /quote/verify
 ) {
+    
+    public PriceCalculationResponse withQuoteToken(String token) {
+        return new PriceCalculationResponse(basePrice, discountAmount, finalPrice, appliedPromotions, currency, token);
+    }
 }
 
@@ -0,0 +1,56 @@
+package com.ecom.promo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Payload of a {@code price} event on the change stream: a product's current unit price
+ * and the promotions behind it
+ *
+ * <p>Prices are {@code null} when the product can no longer be priced (e.g. it was
+ * removed from the catalog).
+ */
+public record PriceChangeEvent(
+    @JsonProperty("product_id")
+    UUID productId,
+    
+    @JsonProperty("base_price")
+    BigDecimal basePrice,
+    
+    @JsonProperty("discount_amount")
+    BigDecimal discountAmount,
+    
+    @JsonProperty("final_price")
+    BigDecimal finalPrice,
+    
+    @JsonProperty("applied_promotions")
+    List<String> appliedPromotions,
+    
+    String currency,
+    
+    @JsonProperty("changed_at")
+    LocalDateTime changedAt
+) {
+    
+    /**
+     * Whether both describe the same price, whenever they were computed
+     */
+    public boolean samePriceAs(PriceChangeEvent other) {
+        return other != null
+            && productId.equals(other.productId)
+            && compare(basePrice, other.basePrice)
+            && compare(discountAmount, other.discountAmount)
+            && compare(finalPrice, other.finalPrice)
+            && Objects.equals(appliedPromotions, other.appliedPromotions)
+            && Objects.equals(currency, other.currency);
+    }
+    
+    private static boolean compare(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecom.promo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a price timeline: the product's price over a window, one segment per
+ * stretch of time in which the same promotions apply
+ *
+ * <p>Segments are contiguous, in time order, and each covers
+ * {@code [starts_at, ends_at)}; a single-instant preview has one segment with both set
+ * to that instant. Prices use the current catalog price throughout.
+ */
+public record PriceTimelineResponse(
+    @JsonProperty("product_id")
+    UUID productId,
+    
+    Integer quantity,
+    
+    String currency,
+    
+    List<Segment> segments
+) {
+    
+    public record Segment(
+        @JsonProperty("starts_at")
+        LocalDateTime startsAt,
+        
+        @JsonProperty("ends_at")
+        LocalDateTime endsAt,
+        
+        @JsonProperty("base_price")
+        BigDecimal basePrice,
+        
+        @JsonProperty("discount_amount")
+        BigDecimal discountAmount,
+        
+        @JsonProperty("final_price")
+        BigDecimal finalPrice,
+        
+        @JsonProperty("applied_promotions")
+        List<String> appliedPromotions
+    ) {
+    }
+}
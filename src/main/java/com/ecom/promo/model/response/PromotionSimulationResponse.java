@@ -0,0 +1,40 @@
+package com.ecom.promo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for a what-if promotion simulation
+ *
+ * <p>Amounts are per single unit of every product, summed over the catalog.
+ */
+public record PromotionSimulationResponse(
+    @JsonProperty("products_evaluated")
+    long productsEvaluated,
+    
+    @JsonProperty("products_eligible")
+    long productsEligible, // Matched by the draft's eligibility criteria
+    
+    @JsonProperty("products_affected")
+    long productsAffected, // Final price actually lowered by the draft
+    
+    @JsonProperty("baseline_revenue")
+    BigDecimal baselineRevenue, // With current active promotions only
+    
+    @JsonProperty("projected_revenue")
+    BigDecimal projectedRevenue, // With the draft added
+    
+    @JsonProperty("projected_discount_spend")
+    BigDecimal projectedDiscountSpend,
+    
+    @JsonProperty("max_unit_discount")
+    BigDecimal maxUnitDiscount,
+    
+    @JsonProperty("catalog_pages")
+    int catalogPages,
+    
+    @JsonProperty("elapsed_ms")
+    long elapsedMs
+) {
+}
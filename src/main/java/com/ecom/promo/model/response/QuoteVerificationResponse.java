@@ -0,0 +1,24 @@
+package com.ecom.promo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for quote verification
+ *
+ * <p>When {@code valid} is false the quote must not be honoured and the line should be
+ * priced again; {@code reason} says why (EXPIRED, INVALID_SIGNATURE, LINE_MISMATCH,
+ * PROMOTIONS_CHANGED, PRICE_CHANGED, PRICE_UNAVAILABLE, COUPON_CHANGED).
+ */
+public record QuoteVerificationResponse(
+    boolean valid,
+    
+    String reason, // Null when valid
+    
+    @JsonProperty("expires_at")
+    Instant expiresAt,
+    
+    PriceCalculationResponse price // The quoted result; null if the token could not be read
+) {
+}
@@ -0,0 +1,34 @@
+package com.ecom.promo.pricing;
+
+import com.ecom.promo.cache.CouponDefinition;
+import com.ecom.promo.entity.Promotion;
+
+import java.math.BigDecimal;
+
+/**
+ * Discount arithmetic shared by live pricing and offline evaluation
+ */
+public final class DiscountCalculator {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private DiscountCalculator() {
+    }
+
+    public static BigDecimal promotionDiscount(Promotion promotion, BigDecimal basePrice) {
+        return discount(promotion.getDiscountType(), promotion.getDiscountValue(), basePrice);
+    }
+
+    public static BigDecimal couponDiscount(CouponDefinition coupon, BigDecimal orderTotal) {
+        return discount(coupon.discountType(), coupon.discountValue(), orderTotal);
+    }
+
+    private static BigDecimal discount(String discountType, BigDecimal discountValue, BigDecimal amount) {
+        if ("PERCENTAGE".equals(discountType)) {
+            return amount.multiply(discountValue).divide(HUNDRED);
+        } else if ("FIXED".equals(discountType)) {
+            return discountValue.min(amount); // Don't exceed the amount being discounted
+        }
+        return BigDecimal.ZERO;
+    }
+}
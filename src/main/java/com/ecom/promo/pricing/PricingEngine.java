@@ -0,0 +1,16 @@
+package com.ecom.promo.pricing;
+
+import com.ecom.promo.model.response.PriceCalculationResponse;
+
+/**
+ * A way of pricing one line, for running side by side with live pricing
+ *
+ * <p>Candidates are Spring beans, selected by bean name through {@code promo.shadow.engine}.
+ * {@link #price} must be a pure function of its input: it runs on a shadow thread,
+ * outside the request's transaction, and anything it needs from the database or the
+ * catalog is already in the {@link PricingInput}. The result's {@code quote_token} is ignored.
+ */
+public interface PricingEngine {
+
+    PriceCalculationResponse price(PricingInput input);
+}
@@ -0,0 +1,24 @@
+package com.ecom.promo.pricing;
+
+import com.ecom.promo.cache.CouponDefinition;
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.eligibility.TenantPromotionIndex;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+
+import java.util.UUID;
+
+/**
+ * Everything live pricing resolved for one line, frozen at the time it was priced
+ *
+ * <p>The index and the product are the very instances the live calculation used (both
+ * immutable), so an engine sees the same promotions and base price even if either has
+ * changed since.
+ */
+public record PricingInput(
+    UUID tenantId,                  // Nullable
+    PriceCalculationRequest request,
+    CatalogProduct product,
+    TenantPromotionIndex index,
+    CouponDefinition coupon         // Nullable; set only if live pricing applied it (validity and usage already checked)
+) {
+}
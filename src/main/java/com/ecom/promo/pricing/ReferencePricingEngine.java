@@ -0,0 +1,44 @@
+package com.ecom.promo.pricing;
+
+import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Today's arithmetic, reached without the catalog replica's cached promotion masks
+ *
+ * <p>Looks eligible promotions up in the index directly and stacks them the way live
+ * pricing does. Run in shadow it should never disagree, which checks the shadow
+ * harness itself and the mask cache; it is also the starting point for a new engine.
+ */
+@Component("reference")
+public class ReferencePricingEngine implements PricingEngine {
+
+    @Override
+    public PriceCalculationResponse price(PricingInput input) {
+        BigDecimal totalBasePrice = input.product().price().multiply(BigDecimal.valueOf(input.request().quantity()));
+
+        BigDecimal discountAmount = BigDecimal.ZERO;
+        List<String> appliedPromotions = new ArrayList<>();
+        for (Promotion promotion : input.index().candidates(input.product())) {
+            BigDecimal promoDiscount = DiscountCalculator.promotionDiscount(promotion, totalBasePrice);
+            if (promoDiscount.compareTo(BigDecimal.ZERO) > 0) {
+                discountAmount = discountAmount.add(promoDiscount);
+                appliedPromotions.add(promotion.getName());
+            }
+        }
+        if (input.coupon() != null) {
+            discountAmount = discountAmount.add(DiscountCalculator.couponDiscount(input.coupon(), totalBasePrice));
+        }
+
+        BigDecimal finalPrice = totalBasePrice.subtract(discountAmount);
+        if (finalPrice.compareTo(BigDecimal.ZERO) < 0) {
+            finalPrice = BigDecimal.ZERO;
+        }
+        return new PriceCalculationResponse(totalBasePrice, discountAmount, finalPrice, appliedPromotions, "USD", null);
+    }
+}
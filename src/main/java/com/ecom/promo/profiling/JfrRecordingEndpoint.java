@@ -0,0 +1,152 @@
+package com.ecom.promo.profiling;
+
+import com.ecom.promo.config.ProfilingProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfr}: one bounded, on-demand Flight Recorder recording at a time
+ *
+ * <ul>
+ *   <li>{@code POST} starts a recording with the configured JFR settings plus
+ *       {@link PriceCalculationEvent}s slower than {@code threshold}; it stops on its own
+ *       after {@code duration}, capped at {@code promo.profiling.max-duration}</li>
+ *   <li>{@code DELETE} stops it early</li>
+ *   <li>{@code GET} streams the finished {@code .jfr} file</li>
+ * </ul>
+ *
+ * <p>Admin only (see {@code SecurityConfig}). The file stays on disk until the next
+ * recording starts or the application shuts down.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private final ProfilingProperties properties;
+    private Recording recording;
+    private Path file;
+
+    public JfrRecordingEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration,
+                                                                       @Nullable Duration threshold) {
+        if (recording != null && isRecording(recording.getState())) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        discard();
+
+        Duration length = duration != null ? duration : properties.getDefaultDuration();
+        if (length.isNegative() || length.isZero() || length.compareTo(properties.getMaxDuration()) > 0) {
+            length = properties.getMaxDuration();
+        }
+        Duration slowQuote = threshold != null ? threshold : properties.getSlowQuoteThreshold();
+
+        try {
+            file = properties.getDirectory() != null
+                ? Files.createTempFile(Files.createDirectories(properties.getDirectory()), "promo-", ".jfr")
+                : Files.createTempFile("promo-", ".jfr");
+            recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+            recording.setName("promo-on-demand");
+            recording.setToDisk(true);
+            recording.setMaxSize(properties.getMaxSize().toBytes());
+            recording.setDuration(length);
+            // Written here when the recording stops, whether by DELETE or by duration
+            recording.setDestination(file);
+            recording.enable(PriceCalculationEvent.class).withThreshold(slowQuote);
+            recording.start();
+        } catch (IOException | ParseException e) {
+            log.error("Could not start JFR recording", e);
+            discard();
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+
+        log.info("JFR recording started: duration={}, slowQuoteThreshold={}, file={}", length, slowQuote, file);
+        return new WebEndpointResponse<>(status());
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (isRecording(recording.getState())) {
+            recording.stop();
+            log.info("JFR recording stopped: file={}", file);
+        }
+        return new WebEndpointResponse<>(status());
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (isRecording(recording.getState())) {
+            return new WebEndpointResponse<>(HttpStatus.CONFLICT.value());
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        discard();
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording.getState());
+        Instant startTime = recording.getStartTime();
+        if (startTime != null) {
+            status.put("startTime", startTime);
+        }
+        status.put("duration", recording.getDuration());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR recording: file={}: {}", file, e.getMessage());
+            }
+            file = null;
+        }
+    }
+
+    private static boolean isRecording(RecordingState state) {
+        return state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+    }
+}
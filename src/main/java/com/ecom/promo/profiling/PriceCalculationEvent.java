@@ -0,0 +1,91 @@
+package com.ecom.promo.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.UUID;
+
+/**
+ * Flight Recorder event for one priced line
+ *
+ * <p>The event's own duration is the total time spent pricing the line. Disabled by
+ * default, so outside a recording the cost is an allocation the JIT usually removes;
+ * {@link JfrRecordingEndpoint} enables it with a threshold so only slow quotes land in
+ * the file.
+ */
+@Name(PriceCalculationEvent.NAME)
+@Label("Price Calculation")
+@Category({"Promo", "Pricing"})
+@Description("A calculatePrice line: tenant, promotions evaluated, catalog latency and coupon path")
+@StackTrace(false)
+public class PriceCalculationEvent extends Event {
+
+    public static final String NAME = "com.ecom.promo.PriceCalculation";
+
+    /**
+     * How the line's coupon code was resolved
+     */
+    public enum CouponPath {
+        NONE, UNKNOWN, REJECTED, APPLIED
+    }
+
+    @Label("Tenant")
+    private String tenantId;
+
+    @Label("Product")
+    private String productId;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Batch")
+    @Description("Priced as part of /calculate/batch")
+    private boolean batch;
+
+    @Label("Promotions Evaluated")
+    @Description("Candidates returned by the tenant's eligibility index")
+    private int promotionsEvaluated;
+
+    @Label("Promotions Applied")
+    private int promotionsApplied;
+
+    @Label("Catalog Latency")
+    @Description("Time to resolve the product's price, from the local replica or catalog-service")
+    @Timespan(Timespan.NANOSECONDS)
+    private long catalogLatency;
+
+    @Label("Coupon Path")
+    private String couponPath = CouponPath.NONE.name();
+
+    public void catalogLatency(long nanos) {
+        this.catalogLatency = nanos;
+    }
+
+    public void promotions(int evaluated, int applied) {
+        this.promotionsEvaluated = evaluated;
+        this.promotionsApplied = applied;
+    }
+
+    public void couponPath(CouponPath path) {
+        this.couponPath = path.name();
+    }
+
+    /**
+     * End the event and commit it if a recording wants it; also on failed lines
+     */
+    public void finish(UUID tenantId, UUID productId, Integer quantity, boolean batch) {
+        end();
+        if (shouldCommit()) {
+            this.tenantId = tenantId != null ? tenantId.toString() : null;
+            this.productId = productId != null ? productId.toString() : null;
+            this.quantity = quantity != null ? quantity : 0;
+            this.batch = batch;
+            commit();
+        }
+    }
+}
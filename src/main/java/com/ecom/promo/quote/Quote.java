@@ -0,0 +1,23 @@
+package com.ecom.promo.quote;
+
+import com.ecom.promo.model.response.PriceCalculationResponse;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Contents of a verified quote token: the priced line, its result, and what it was priced against
+ */
+public record Quote(
+    UUID tenantId,       // Nullable
+    UUID productId,
+    int quantity,
+    String couponCode,   // Nullable
+    boolean couponApplied, // Whether the coupon passed validation and was part of the price
+    BigDecimal unitPrice,
+    PriceCalculationResponse price,
+    long promotionFingerprint,
+    Instant expiresAt
+) {
+}
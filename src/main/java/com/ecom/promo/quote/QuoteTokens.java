@@ -0,0 +1,191 @@
+package com.ecom.promo.quote;
+
+import com.ecom.promo.codec.BinaryReader;
+import com.ecom.promo.codec.BinaryWriter;
+import com.ecom.promo.config.QuoteProperties;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and checks signed, time-limited price quotes
+ *
+ * <p>A token is {@code base64url(payload) "." base64url(HMAC-SHA256(payload))}. The
+ * payload is a {@link BinaryWriter} encoding of the tenant, the priced line, whether its
+ * coupon was applied, the unit price and full result, the fingerprint of the promotion set it was priced under, and
+ * its expiry. Checking a token costs one HMAC and a decode, so checkout can accept a
+ * quote the cart already paid for instead of pricing the line again.
+ */
+@Component
+@Slf4j
+public class QuoteTokens {
+
+    // 2 added whether the coupon was applied; older tokens no longer verify
+    private static final int FORMAT_VERSION = 2;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final UUID NO_TENANT = new UUID(0L, 0L);
+
+    private final boolean enabled;
+    private final long ttlSeconds;
+    private final Clock clock;
+    private final ThreadLocal<Mac> currentMac;
+    private final ThreadLocal<Mac> previousMac;
+
+    public QuoteTokens(QuoteProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    QuoteTokens(QuoteProperties properties, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.ttlSeconds = properties.getTtl().toSeconds();
+        this.clock = clock;
+        byte[] secret = keyBytes(properties.getSecret());
+        if (secret == null) {
+            // A per-node key would make every quote fail verification on the other nodes
+            if (enabled) {
+                throw new IllegalStateException("promo.quotes.enabled requires promo.quotes.secret, shared by every node");
+            }
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        }
+        this.currentMac = macFor(secret);
+        byte[] previous = keyBytes(properties.getPreviousSecret());
+        this.previousMac = previous != null ? macFor(previous) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sign a priced line; {@code null} when quotes are disabled
+     */
+    public String issue(UUID tenantId, PriceCalculationRequest request, boolean couponApplied, BigDecimal unitPrice,
+                        PriceCalculationResponse response, long promotionFingerprint) {
+        if (!enabled) {
+            return null;
+        }
+        BinaryWriter writer = new BinaryWriter(160);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeUuid(tenantId != null ? tenantId : NO_TENANT);
+        writer.writeUuid(request.productId());
+        writer.writeVarInt(request.quantity());
+        writer.writeString(request.couponCode());
+        writer.writeByte(couponApplied ? 1 : 0);
+        writer.writeMoney(unitPrice);
+        writer.writeMoney(response.basePrice());
+        writer.writeMoney(response.discountAmount());
+        writer.writeMoney(response.finalPrice());
+        List<String> applied = response.appliedPromotions() != null ? response.appliedPromotions() : List.of();
+        writer.writeVarInt(applied.size());
+        applied.forEach(writer::writeString);
+        writer.writeString(response.currency());
+        writer.writeLong(promotionFingerprint);
+        writer.writeVarLong(clock.instant().getEpochSecond() + ttlSeconds);
+        byte[] payload = writer.toByteArray();
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(currentMac.get().doFinal(payload));
+    }
+
+    /**
+     * Contents of a token signed with the current or previous key, or {@code null} if
+     * it is malformed or forged; expiry is left to the caller
+     */
+    public Quote decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(token.substring(0, dot));
+            byte[] signature = decoder.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, currentMac.get().doFinal(payload))
+                    && (previousMac == null || !MessageDigest.isEqual(signature, previousMac.get().doFinal(payload)))) {
+                return null;
+            }
+            return read(payload);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.debug("Malformed quote token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public Instant now() {
+        return clock.instant();
+    }
+
+    private static Quote read(byte[] payload) {
+        BinaryReader reader = new BinaryReader(payload);
+        if (reader.readByte() != FORMAT_VERSION) {
+            return null;
+        }
+        UUID tenantId = reader.readUuid();
+        UUID productId = reader.readUuid();
+        int quantity = reader.readVarInt();
+        String couponCode = reader.readString();
+        boolean couponApplied = reader.readByte() != 0;
+        BigDecimal unitPrice = reader.readMoney();
+        BigDecimal basePrice = reader.readMoney();
+        BigDecimal discountAmount = reader.readMoney();
+        BigDecimal finalPrice = reader.readMoney();
+        int appliedCount = reader.readVarInt();
+        if (appliedCount < 0 || appliedCount > 10_000) {
+            return null;
+        }
+        List<String> applied = new ArrayList<>(appliedCount);
+        for (int i = 0; i < appliedCount; i++) {
+            applied.add(reader.readString());
+        }
+        String currency = reader.readString();
+        long promotionFingerprint = reader.readLong();
+        Instant expiresAt = Instant.ofEpochSecond(reader.readVarLong());
+        return new Quote(
+            NO_TENANT.equals(tenantId) ? null : tenantId,
+            productId,
+            quantity,
+            couponCode,
+            couponApplied,
+            unitPrice,
+            new PriceCalculationResponse(basePrice, discountAmount, finalPrice, applied, currency, null),
+            promotionFingerprint,
+            expiresAt
+        );
+    }
+
+    private static byte[] keyBytes(String secret) {
+        return secret == null || secret.isBlank() ? null : secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ThreadLocal<Mac> macFor(byte[] key) {
+        SecretKeySpec spec = new SecretKeySpec(key, ALGORITHM);
+        return ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(spec);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+            }
+        });
+    }
+}
@@ -1,7 +1,14 @@
 package com.ecom.promo.repository;
 
+import com.ecom.promo.cache.CouponDefinition;
 import com.ecom.promo.entity.Coupon;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,14 +16,42 @@ import java.util.UUID;
 
 /**
  * Repository for Coupon entities
+ * 
+ * <p>Every query is scoped by tenant, the partition key of the coupons table.
  */
 @Repository
 public interface CouponRepository extends JpaRepository<Coupon, UUID> {
     
-    Optional<Coupon> findByCode(String code);
+    String COUPON_DEFINITION = "SELECT new com.ecom.promo.cache.CouponDefinition(" +
+           "c.id, c.tenantId, c.code, c.discountType, c.discountValue, c.usageLimit, c.expiryDate, " +
+           "c.minOrderValue, c.oncePerCustomer, c.active, c.createdAt, c.updatedAt) " +
+           "FROM Coupon c WHERE c.tenantId = :tenantId AND c.code = :code";
     
     Optional<Coupon> findByCodeAndTenantId(String code, UUID tenantId);
     
-    boolean existsByCode(String code);
+    /**
+     * A coupon's definition for validation and pricing, read straight into the record
+     * (never a managed entity, and without flushing the persistence context first)
+     */
+    @Query(COUPON_DEFINITION)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<CouponDefinition> findDefinition(@Param("tenantId") UUID tenantId, @Param("code") String code);
+    
+    boolean existsByCodeAndTenantId(String code, UUID tenantId);
+    
+    /**
+     * Current redemption count only, without loading the coupon definition
+     */
+    @Query("SELECT c.usedCount FROM Coupon c WHERE c.tenantId = :tenantId AND c.id = :id")
+    Integer findUsedCount(@Param("tenantId") UUID tenantId, @Param("id") UUID id);
+    
+    /**
+     * Count one use, unless that would exceed the usage limit; returns rows updated (0 or 1)
+     */
+    @Modifying
+    @Query("UPDATE Coupon c SET c.usedCount = c.usedCount + 1 " +
+           "WHERE c.tenantId = :tenantId AND c.id = :id " +
+           "AND (c.usageLimit IS NULL OR c.usedCount < c.usageLimit)")
+    int incrementUsedCount(@Param("tenantId") UUID tenantId, @Param("id") UUID id);
 }
 
@@ -1,8 +1,12 @@
 package com.ecom.promo.repository;
 
 import com.ecom.promo.entity.Promotion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,16 +20,65 @@ import java.util.UUID;
 @Repository
 public interface PromotionRepository extends JpaRepository<Promotion, UUID> {
     
-    List<Promotion> findByTenantIdAndActiveTrue(UUID tenantId);
-    
-    @Query("SELECT p FROM Promotion p WHERE p.tenantId = :tenantId " +
+    String ACTIVE_PROMOTIONS = "SELECT p FROM Promotion p WHERE p.tenantId = :tenantId " +
            "AND p.active = true " +
            "AND p.startDate <= :now " +
            "AND p.endDate >= :now " +
-           "ORDER BY p.priority DESC")
+           "ORDER BY p.priority DESC";
+    
+    List<Promotion> findByTenantIdAndActiveTrue(UUID tenantId);
+    
+    /**
+     * Running promotions in priority order, for the eligibility index
+     * 
+     * <p>Loaded read-only and without an auto-flush: the index keeps these instances
+     * detached for as long as it lives, so Hibernate need not snapshot them for dirty
+     * checking. Callers must not modify or save them.
+     */
+    @Query(ACTIVE_PROMOTIONS)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
     List<Promotion> findActivePromotions(
         @Param("tenantId") UUID tenantId,
         @Param("now") LocalDateTime now
     );
+    
+    /**
+     * Earliest start of a not-yet-running promotion, i.e. when the active set next grows
+     */
+    @Query("SELECT MIN(p.startDate) FROM Promotion p WHERE p.tenantId = :tenantId " +
+           "AND p.active = true " +
+           "AND p.startDate > :now")
+    LocalDateTime findNextPromotionStart(
+        @Param("tenantId") UUID tenantId,
+        @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Promotions running now or scheduled to start later, in priority order; read-only
+     * like {@link #findActivePromotions}
+     */
+    @Query("SELECT p FROM Promotion p WHERE p.tenantId = :tenantId " +
+           "AND p.active = true " +
+           "AND p.endDate >= :since " +
+           "ORDER BY p.priority DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")
+    })
+    List<Promotion> findScheduledPromotions(
+        @Param("tenantId") UUID tenantId,
+        @Param("since") LocalDateTime since
+    );
+    
+    /**
+     * Tenants with the most active promotions, most first
+     */
+    @Query("SELECT p.tenantId FROM Promotion p WHERE p.active = true " +
+           "GROUP BY p.tenantId " +
+           "ORDER BY COUNT(p) DESC")
+    List<UUID> findBusiestTenants(Pageable pageable);
 }
 
@@ -83,7 +83,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
         String path = request.getRequestURI();
-        return path.startsWith("/actuator") ||
+        // Only the public probes skip authentication; other actuator endpoints are admin-only and need the caller's roles
+        return path.startsWith("/actuator/health") ||
+               path.equals("/actuator/info") ||
                path.startsWith("/swagger-ui") ||
                path.startsWith("/v3/api-docs");
     }
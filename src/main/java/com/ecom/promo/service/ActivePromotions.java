@@ -0,0 +1,18 @@
+package com.ecom.promo.service;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.model.response.PromotionResponse;
+
+import java.util.List;
+
+/**
+ * Active promotions for one product, with what they were matched on
+ *
+ * @param promotions the promotions that apply
+ * @param matchedOn  the catalog attributes used for matching, or {@code null} when no
+ *                   active promotion targets a category or brand
+ * @param degraded   whether the catalog was unreachable, so only product-targeted and
+ *                   catch-all promotions could be matched and the list may be short
+ */
+public record ActivePromotions(List<PromotionResponse> promotions, CatalogProduct matchedOn, boolean degraded) {
+}
@@ -1,13 +1,21 @@
 package com.ecom.promo.service;
 
+import com.ecom.promo.model.request.CartRepriceRequest;
 import com.ecom.promo.model.request.CouponRequest;
 import com.ecom.promo.model.request.CouponValidationRequest;
 import com.ecom.promo.model.request.PriceCalculationRequest;
 import com.ecom.promo.model.request.PromotionRequest;
+import com.ecom.promo.model.request.QuoteVerificationRequest;
+import com.ecom.promo.model.response.ActivePromotionBadgesResponse;
+import com.ecom.promo.model.response.CartRepriceResponse;
 import com.ecom.promo.model.response.CouponResponse;
 import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.ecom.promo.model.response.PriceTimelineResponse;
 import com.ecom.promo.model.response.PromotionResponse;
+import com.ecom.promo.model.response.PromotionSimulationResponse;
+import com.ecom.promo.model.response.QuoteVerificationResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,24 +29,60 @@ public interface PromotionService {
      */
     PromotionResponse createPromotion(UUID userId, UUID tenantId, List<String> roles, PromotionRequest request);
     
+    /**
+     * Project the effect of a draft promotion across the tenant's whole catalog
+     */
+    PromotionSimulationResponse simulatePromotion(UUID userId, UUID tenantId, List<String> roles, PromotionRequest request);
+    
     /**
      * Get active promotions for a product
      */
-    List<PromotionResponse> getActivePromotions(UUID productId, UUID tenantId);
+    ActivePromotions getActivePromotions(UUID productId, UUID tenantId);
+    
+    /**
+     * Get active promotions for many products at once, each promotion listed once
+     */
+    ActivePromotionBadgesResponse getActivePromotionBadges(UUID tenantId, List<UUID> productIds);
+    
+    /**
+     * Price a product over a time window, one segment per change in applicable promotions
+     * ({@code to} null for the price at {@code from} alone)
+     */
+    PriceTimelineResponse previewPriceTimeline(UUID tenantId, UUID productId, LocalDateTime from, LocalDateTime to, Integer quantity);
     
     /**
      * Calculate final price with promotions applied
      */
     PriceCalculationResponse calculatePrice(UUID tenantId, PriceCalculationRequest request);
     
+    /**
+     * Calculate final prices for several lines, in request order
+     */
+    List<PriceCalculationResponse> calculatePrices(UUID tenantId, List<PriceCalculationRequest> requests);
+    
+    /**
+     * Check that a quote token is authentic, unexpired and still matches current promotions and prices
+     */
+    QuoteVerificationResponse verifyQuote(UUID tenantId, QuoteVerificationRequest request);
+    
+    /**
+     * Reprice a previously priced cart after an edit, recalculating only what the edit affects
+     */
+    CartRepriceResponse repriceCart(UUID tenantId, CartRepriceRequest request);
+    
     /**
      * Create a coupon
      */
     CouponResponse createCoupon(UUID userId, UUID tenantId, List<String> roles, CouponRequest request);
     
     /**
-     * Validate coupon code
+     * Validate coupon code for a customer (userId is null for anonymous callers)
+     */
+    CouponResponse validateCoupon(UUID userId, UUID tenantId, CouponValidationRequest request);
+    
+    /**
+     * Redeem a coupon for a customer, counting the use against its limits
      */
-    CouponResponse validateCoupon(UUID tenantId, CouponValidationRequest request);
+    CouponResponse redeemCoupon(UUID userId, UUID tenantId, CouponValidationRequest request);
 }
 
@@ -2,33 +2,65 @@ package com.ecom.promo.service.impl;
 
 import com.ecom.error.exception.BusinessException;
 import com.ecom.error.model.ErrorCode;
-import com.ecom.httpclient.client.ResilientWebClient;
+import com.ecom.promo.audit.PriceDecision;
+import com.ecom.promo.audit.PriceDecisionAuditor;
+import com.ecom.promo.cache.CouponDefinition;
+import com.ecom.promo.cache.CouponNearCache;
+import com.ecom.promo.cache.PromotionVersionTracker;
+import com.ecom.promo.catalog.CatalogPriceReplica;
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.catalog.CatalogServiceClient;
+import com.ecom.promo.cart.PricedCart;
+import com.ecom.promo.cart.PricedCartCache;
+import com.ecom.promo.cart.PricedLine;
+import com.ecom.promo.coupon.CouponUsageBitmaps;
+import com.ecom.promo.coupon.CustomerOrdinals;
+import com.ecom.promo.eligibility.EligibilityCriteria;
+import com.ecom.promo.eligibility.PromotionIndexService;
+import com.ecom.promo.eligibility.PromotionIntervalTree;
+import com.ecom.promo.eligibility.TenantPromotionIndex;
 import com.ecom.promo.entity.Coupon;
 import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.model.request.CartRepriceRequest;
 import com.ecom.promo.model.request.CouponRequest;
 import com.ecom.promo.model.request.CouponValidationRequest;
 import com.ecom.promo.model.request.PriceCalculationRequest;
 import com.ecom.promo.model.request.PromotionRequest;
+import com.ecom.promo.model.request.QuoteVerificationRequest;
+import com.ecom.promo.model.response.ActivePromotionBadgesResponse;
+import com.ecom.promo.model.response.CartRepriceResponse;
 import com.ecom.promo.model.response.CouponResponse;
 import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.ecom.promo.model.response.PriceTimelineResponse;
 import com.ecom.promo.model.response.PromotionResponse;
+import com.ecom.promo.model.response.PromotionSimulationResponse;
+import com.ecom.promo.model.response.QuoteVerificationResponse;
+import com.ecom.promo.pricing.DiscountCalculator;
+import com.ecom.promo.pricing.PricingInput;
+import com.ecom.promo.profiling.PriceCalculationEvent;
+import com.ecom.promo.quote.Quote;
+import com.ecom.promo.quote.QuoteTokens;
 import com.ecom.promo.repository.CouponRepository;
 import com.ecom.promo.repository.PromotionRepository;
+import com.ecom.promo.service.ActivePromotions;
 import com.ecom.promo.service.PromotionService;
-import com.ecom.response.dto.ApiResponse;
+import com.ecom.promo.shadow.ShadowPricing;
+import com.ecom.promo.simulation.PromotionSimulator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -40,12 +72,23 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PromotionServiceImpl implements PromotionService {
     
+    private static final int MAX_CART_LINES = 200;
+    
     private final PromotionRepository promotionRepository;
     private final CouponRepository couponRepository;
-    private final ResilientWebClient resilientWebClient;
-    
-    @Value("${services.catalog.url:http://localhost:8084}")
-    private String catalogServiceUrl;
+    private final CouponNearCache couponNearCache;
+    private final CustomerOrdinals customerOrdinals;
+    private final CouponUsageBitmaps couponUsageBitmaps;
+    private final CatalogServiceClient catalogServiceClient;
+    private final CatalogPriceReplica catalogPriceReplica;
+    private final PriceDecisionAuditor priceDecisionAuditor;
+    private final PromotionVersionTracker promotionVersionTracker;
+    private final PromotionIndexService promotionIndexService;
+    private final PromotionSimulator promotionSimulator;
+    private final PricedCartCache pricedCartCache;
+    private final QuoteTokens quoteTokens;
+    private final ShadowPricing shadowPricing;
+    private final ObjectMapper objectMapper;
     
     @Override
     @Transactional
@@ -57,85 +100,236 @@ public class PromotionServiceImpl implements PromotionService {
             throw new BusinessException(ErrorCode.UNAUTHORIZED, "Only SELLER and ADMIN roles can create promotions");
         }
         
-        Promotion promotion = Promotion.builder()
-            .tenantId(tenantId)
-            .name(request.name())
-            .type(request.type())
-            .discountType(request.discountType())
-            .discountValue(request.discountValue())
-            .startDate(request.startDate())
-            .endDate(request.endDate())
-            .eligibilityCriteria(request.eligibilityCriteria())
-            .priority(request.priority() != null ? request.priority() : 0)
-            .active(true)
-            .build();
+        compileCriteria(request);
+        Promotion promotion = toPromotion(tenantId, request);
         
         Promotion saved = promotionRepository.save(promotion);
+        promotionVersionTracker.promotionsChanged(tenantId);
         return toPromotionResponse(saved);
     }
     
     @Override
-    public List<PromotionResponse> getActivePromotions(UUID productId, UUID tenantId) {
+    public PromotionSimulationResponse simulatePromotion(UUID userId, UUID tenantId, List<String> roles, PromotionRequest request) {
+        log.debug("Simulating promotion: tenantId={}, name={}", tenantId, request.name());
+        
+        // Authorization check
+        if (!hasSellerOrAdminRole(roles)) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "Only SELLER and ADMIN roles can simulate promotions");
+        }
+        
+        // Not transactional: the catalog walk takes seconds and must not pin a connection
+        EligibilityCriteria criteria = compileCriteria(request);
+        return promotionSimulator.simulate(tenantId, toPromotion(tenantId, request), criteria);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ActivePromotions getActivePromotions(UUID productId, UUID tenantId) {
         log.debug("Getting active promotions for product: {}, tenant: {}", productId, tenantId);
         
-        LocalDateTime now = LocalDateTime.now();
-        List<Promotion> promotions = promotionRepository.findActivePromotions(tenantId, now);
+        TenantPromotionIndex index = promotionIndexService.get(tenantId);
+        if (index.promotions().isEmpty()) {
+            return new ActivePromotions(List.of(), null, false);
+        }
+        
+        // Category and brand only matter if some promotion targets them
+        CatalogProduct attributes = index.usesProductAttributes() ? describeProduct(productId, tenantId) : null;
+        CatalogProduct product = attributes != null ? attributes : new CatalogProduct(productId, null, null, null);
         
-        // Filter by product eligibility (simplified - in production would check eligibility_criteria JSON)
-        return promotions.stream()
+        List<PromotionResponse> promotions = index.candidates(product).stream()
             .map(this::toPromotionResponse)
             .collect(Collectors.toList());
+        return new ActivePromotions(promotions, attributes, index.usesProductAttributes() && attributes == null);
     }
     
     @Override
-    public PriceCalculationResponse calculatePrice(UUID tenantId, PriceCalculationRequest request) {
-        log.debug("Calculating price: productId={}, quantity={}, couponCode={}", 
-            request.productId(), request.quantity(), request.couponCode());
+    @Transactional(readOnly = true)
+    public ActivePromotionBadgesResponse getActivePromotionBadges(UUID tenantId, List<UUID> productIds) {
+        log.debug("Getting promotion badges: tenantId={}, products={}", tenantId, productIds.size());
         
-        // 1. Fetch base price from Catalog service
-        BigDecimal basePrice = fetchProductPrice(request.productId(), tenantId);
-        BigDecimal totalBasePrice = basePrice.multiply(BigDecimal.valueOf(request.quantity()));
+        // One index for the page; each promotion is mapped once however many tiles show it
+        TenantPromotionIndex index = promotionIndexService.get(tenantId);
+        Map<UUID, ActivePromotionBadgesResponse.Badge> badges = new LinkedHashMap<>();
+        Map<UUID, List<UUID>> products = new LinkedHashMap<>();
+        for (UUID productId : productIds) {
+            if (products.containsKey(productId)) {
+                continue;
+            }
+            List<Promotion> eligible = index.promotions().isEmpty() ? List.of() : badgePromotions(tenantId, productId, index);
+            List<UUID> ids = new ArrayList<>(eligible.size());
+            for (Promotion promotion : eligible) {
+                badges.computeIfAbsent(promotion.getId(), id -> toBadge(promotion));
+                ids.add(promotion.getId());
+            }
+            products.put(productId, ids);
+        }
+        return new ActivePromotionBadgesResponse(List.copyOf(badges.values()), products);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PriceTimelineResponse previewPriceTimeline(UUID tenantId, UUID productId, LocalDateTime from,
+                                                      LocalDateTime to, Integer quantity) {
+        log.debug("Previewing price timeline: productId={}, from={}, to={}", productId, from, to);
         
-        // 2. Get active promotions
-        LocalDateTime now = LocalDateTime.now();
-        List<Promotion> promotions = promotionRepository.findActivePromotions(tenantId, now);
+        if (to != null && !from.isBefore(to)) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Timeline start must be before its end");
+        }
+        int units = quantity != null ? quantity : 1;
+        if (units < 1) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Quantity must be at least 1");
+        }
         
-        // 3. Apply promotions in priority order
-        BigDecimal discountAmount = BigDecimal.ZERO;
-        List<String> appliedPromotions = new ArrayList<>();
+        PromotionIntervalTree schedule = promotionIndexService.schedule(tenantId);
+        CatalogProduct product = fetchProduct(productId, tenantId);
+        BigDecimal totalBasePrice = product.price().multiply(BigDecimal.valueOf(units));
         
-        for (Promotion promotion : promotions) {
-            BigDecimal promoDiscount = calculatePromotionDiscount(promotion, totalBasePrice);
-            if (promoDiscount.compareTo(BigDecimal.ZERO) > 0) {
-                discountAmount = discountAmount.add(promoDiscount);
-                appliedPromotions.add(promotion.getName());
+        List<PriceTimelineResponse.Segment> segments = new ArrayList<>();
+        if (to == null) {
+            segments.add(timelineSegment(from, from, totalBasePrice, schedule.activeAt(from, product)));
+            return new PriceTimelineResponse(productId, units, "USD", segments);
+        }
+        
+        // The window is [from, to); the set only changes where a promotion starts or just after one ends
+        LocalDateTime last = to.minusNanos(1);
+        List<Promotion> overlapping = schedule.overlapping(from, last, product);
+        TreeSet<LocalDateTime> changes = new TreeSet<>();
+        changes.add(from);
+        for (Promotion promotion : overlapping) {
+            if (promotion.getStartDate().isAfter(from)) {
+                changes.add(promotion.getStartDate());
+            }
+            if (promotion.getEndDate().isBefore(last)) {
+                changes.add(promotion.getEndDate().plusNanos(1));
             }
         }
         
-        // 4. Apply coupon if provided
-        if (request.couponCode() != null && !request.couponCode().isEmpty()) {
-            Optional<Coupon> couponOpt = couponRepository.findByCodeAndTenantId(request.couponCode(), tenantId);
-            if (couponOpt.isPresent()) {
-                Coupon coupon = couponOpt.get();
-                if (isCouponValid(coupon, totalBasePrice)) {
-                    BigDecimal couponDiscount = calculateCouponDiscount(coupon, totalBasePrice);
-                    discountAmount = discountAmount.add(couponDiscount);
+        List<LocalDateTime> boundaries = new ArrayList<>(changes);
+        boundaries.add(to);
+        for (int i = 0; i < boundaries.size() - 1; i++) {
+            LocalDateTime at = boundaries.get(i);
+            List<Promotion> active = new ArrayList<>();
+            for (Promotion promotion : overlapping) {
+                if (!promotion.getStartDate().isAfter(at) && !promotion.getEndDate().isBefore(at)) {
+                    active.add(promotion);
                 }
             }
+            PriceTimelineResponse.Segment segment = timelineSegment(at, boundaries.get(i + 1), totalBasePrice, active);
+            
+            // Promotions that add nothing leave the price unchanged; merge such neighbours
+            PriceTimelineResponse.Segment previous = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (previous != null && previous.finalPrice().compareTo(segment.finalPrice()) == 0
+                    && previous.appliedPromotions().equals(segment.appliedPromotions())) {
+                segments.set(segments.size() - 1, new PriceTimelineResponse.Segment(
+                    previous.startsAt(), segment.endsAt(), previous.basePrice(),
+                    previous.discountAmount(), previous.finalPrice(), previous.appliedPromotions()));
+            } else {
+                segments.add(segment);
+            }
         }
+        return new PriceTimelineResponse(productId, units, "USD", segments);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PriceCalculationResponse calculatePrice(UUID tenantId, PriceCalculationRequest request) {
+        log.debug("Calculating price: productId={}, quantity={}, couponCode={}", 
+            request.productId(), request.quantity(), request.couponCode());
         
-        // 5. Calculate final price (ensure non-negative)
-        BigDecimal finalPrice = totalBasePrice.subtract(discountAmount);
-        if (finalPrice.compareTo(BigDecimal.ZERO) < 0) {
-            finalPrice = BigDecimal.ZERO;
+        return priceLine(tenantId, request, promotionIndexService.get(tenantId), false);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<PriceCalculationResponse> calculatePrices(UUID tenantId, List<PriceCalculationRequest> requests) {
+        log.debug("Calculating batch price: tenantId={}, items={}", tenantId, requests.size());
+        
+        // The tenant's index is resolved once and shared by every line
+        TenantPromotionIndex index = promotionIndexService.get(tenantId);
+        List<PriceCalculationResponse> responses = new ArrayList<>(requests.size());
+        for (PriceCalculationRequest request : requests) {
+            responses.add(priceLine(tenantId, request, index, true));
+        }
+        return responses;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public QuoteVerificationResponse verifyQuote(UUID tenantId, QuoteVerificationRequest request) {
+        Quote quote = quoteTokens.decode(request.quoteToken());
+        if (quote == null) {
+            return new QuoteVerificationResponse(false, "INVALID_SIGNATURE", null, null);
+        }
+        String reason = null;
+        if (!quoteTokens.now().isBefore(quote.expiresAt())) {
+            reason = "EXPIRED";
+        } else if (!Objects.equals(quote.tenantId(), tenantId)
+                || !quote.productId().equals(request.productId())
+                || quote.quantity() != request.quantity()
+                || !Objects.equals(blankToNull(quote.couponCode()), blankToNull(request.couponCode()))) {
+            reason = "LINE_MISMATCH";
+        } else if (quote.promotionFingerprint() != promotionIndexService.get(tenantId).fingerprint()) {
+            reason = "PROMOTIONS_CHANGED";
+        } else {
+            reason = currentLineReason(tenantId, quote);
+        }
+        return new QuoteVerificationResponse(reason == null, reason, quote.expiresAt(), quote.price());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CartRepriceResponse repriceCart(UUID tenantId, CartRepriceRequest request) {
+        log.debug("Repricing cart: tenantId={}, fingerprint={}", tenantId, request.fingerprint());
+        
+        PricedCart previous = request.fingerprint() == null
+            ? PricedCart.EMPTY
+            : pricedCartCache.find(tenantId, request.fingerprint());
+        if (previous == null) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND,
+                "Unknown cart fingerprint; reprice the full cart without one");
         }
         
-        return new PriceCalculationResponse(
-            totalBasePrice,
-            discountAmount,
-            finalPrice,
-            appliedPromotions,
-            "USD" // Would get from product
+        TenantPromotionIndex index = promotionIndexService.get(tenantId);
+        PricedCart.Editor cart = previous.edit(index.generation(), pricedCartCache.staleBefore());
+        if (request.removed() != null) {
+            request.removed().forEach(cart::remove);
+        }
+        if (request.changed() != null) {
+            request.changed().forEach(cart::put);
+        }
+        if (request.added() != null) {
+            request.added().forEach(cart::put);
+        }
+        if (cart.size() > MAX_CART_LINES) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED, "A cart can hold at most " + MAX_CART_LINES + " lines");
+        }
+        
+        // Only touched lines, and lines priced under an older promotion set, are recalculated
+        List<PriceCalculationRequest> toPrice = cart.linesToPrice();
+        for (PriceCalculationRequest line : toPrice) {
+            cart.priced(line, priceLine(tenantId, line, index, true), System.nanoTime());
+        }
+        PricedCart priced = cart.build();
+        pricedCartCache.put(tenantId, priced);
+        pricedCartCache.recordLines(priced.size() - toPrice.size(), toPrice.size());
+        
+        List<CartRepriceResponse.Line> items = new ArrayList<>(priced.size());
+        for (PricedLine line : priced.lines()) {
+            items.add(new CartRepriceResponse.Line(
+                line.request().productId(),
+                line.request().quantity(),
+                line.request().couponCode(),
+                line.response()
+            ));
+        }
+        return new CartRepriceResponse(
+            priced.fingerprint(),
+            items,
+            priced.baseTotal(),
+            priced.discountTotal(),
+            priced.finalTotal(),
+            "USD", // Same as the lines
+            toPrice.size()
         );
     }
     
@@ -155,8 +349,8 @@ public class PromotionServiceImpl implements PromotionService {
             code = generateCouponCode();
         }
         
-        // Check code uniqueness
-        if (couponRepository.existsByCode(code)) {
+        // Check code uniqueness (per tenant)
+        if (couponRepository.existsByCodeAndTenantId(code, tenantId)) {
             throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon code already exists: " + code);
         }
         
@@ -169,97 +363,315 @@ public class PromotionServiceImpl implements PromotionService {
             .usedCount(0)
             .expiryDate(request.expiryDate())
             .minOrderValue(request.minOrderValue())
+            .oncePerCustomer(Boolean.TRUE.equals(request.oncePerCustomer()))
             .active(true)
             .build();
         
         Coupon saved = couponRepository.save(coupon);
+        // Drops a pinned "no such coupon" entry for this code on every node
+        couponNearCache.couponChanged(tenantId, code);
         return toCouponResponse(saved);
     }
     
     @Override
-    public CouponResponse validateCoupon(UUID tenantId, CouponValidationRequest request) {
+    @Transactional(readOnly = true)
+    public CouponResponse validateCoupon(UUID userId, UUID tenantId, CouponValidationRequest request) {
         log.debug("Validating coupon: code={}, tenantId={}", request.couponCode(), tenantId);
         
-        Coupon coupon = couponRepository.findByCodeAndTenantId(request.couponCode(), tenantId)
-            .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Invalid coupon code"));
+        CouponDefinition coupon = requireApplicableCoupon(tenantId, request);
         
-        // Validate coupon
-        if (!coupon.getActive()) {
-            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon is not active");
+        // Usage is volatile and never cached
+        int usedCount = couponNearCache.usedCount(coupon);
+        if (coupon.limited() && usedCount >= coupon.usageLimit()) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon usage limit exceeded");
         }
         
-        if (coupon.getExpiryDate().isBefore(LocalDateTime.now())) {
-            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon has expired");
+        // In-memory bitmap check; customers without an ordinal have never used such a coupon
+        if (coupon.oncePerCustomer()) {
+            Integer ordinal = customerOrdinals.find(requireCustomer(userId));
+            if (ordinal != null && couponUsageBitmaps.hasUsed(tenantId, coupon.id(), ordinal)) {
+                throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon already used by this customer");
+            }
         }
         
-        if (coupon.getUsageLimit() != null && coupon.getUsedCount() >= coupon.getUsageLimit()) {
+        return toCouponResponse(coupon, usedCount);
+    }
+    
+    @Override
+    @Transactional
+    public CouponResponse redeemCoupon(UUID userId, UUID tenantId, CouponValidationRequest request) {
+        log.debug("Redeeming coupon: code={}, tenantId={}", request.couponCode(), tenantId);
+        
+        CouponDefinition coupon = requireApplicableCoupon(tenantId, request);
+        
+        // The redemption row's primary key is what rejects a second use
+        if (coupon.oncePerCustomer()) {
+            int ordinal = customerOrdinals.assign(requireCustomer(userId));
+            if (!couponUsageBitmaps.recordUse(tenantId, coupon.id(), ordinal)) {
+                throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon already used by this customer");
+            }
+        }
+        
+        // Atomic check-and-increment; failing here rolls the redemption row back too
+        if (couponRepository.incrementUsedCount(tenantId, coupon.id()) == 0) {
             throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon usage limit exceeded");
         }
         
-        if (request.orderTotal() != null && coupon.getMinOrderValue() != null) {
-            if (request.orderTotal().compareTo(coupon.getMinOrderValue()) < 0) {
-                throw new BusinessException(ErrorCode.SKU_REQUIRED, 
-                    "Minimum order value not met. Required: " + coupon.getMinOrderValue());
+        return toCouponResponse(coupon, couponNearCache.usedCount(coupon));
+    }
+    
+    // Helper methods
+    
+    private PriceCalculationResponse priceLine(UUID tenantId, PriceCalculationRequest request,
+                                               TenantPromotionIndex index, boolean batch) {
+        PriceCalculationEvent event = new PriceCalculationEvent();
+        event.begin();
+        try {
+            return priceLine(tenantId, request, index, event);
+        } finally {
+            event.finish(tenantId, request.productId(), request.quantity(), batch);
+        }
+    }
+    
+    private PriceCalculationResponse priceLine(UUID tenantId, PriceCalculationRequest request,
+                                               TenantPromotionIndex index, PriceCalculationEvent event) {
+        // 1. Resolve product and base price (local catalog replica, falling back to Catalog service)
+        long catalogStart = System.nanoTime();
+        CatalogProduct product = fetchProduct(request.productId(), tenantId);
+        event.catalogLatency(System.nanoTime() - catalogStart);
+        BigDecimal totalBasePrice = product.price().multiply(BigDecimal.valueOf(request.quantity()));
+        
+        // 2. Apply eligible promotions in priority order
+        long pricingStart = System.nanoTime();
+        BigDecimal discountAmount = BigDecimal.ZERO;
+        List<String> appliedPromotions = new ArrayList<>();
+        
+        List<Promotion> candidates = eligiblePromotions(tenantId, product, index);
+        for (Promotion promotion : candidates) {
+            BigDecimal promoDiscount = DiscountCalculator.promotionDiscount(promotion, totalBasePrice);
+            if (promoDiscount.compareTo(BigDecimal.ZERO) > 0) {
+                discountAmount = discountAmount.add(promoDiscount);
+                appliedPromotions.add(promotion.getName());
             }
         }
+        event.promotions(candidates.size(), appliedPromotions.size());
+        
+        // 3. Apply coupon if provided
+        CouponDefinition appliedCoupon = null;
+        if (request.couponCode() != null && !request.couponCode().isEmpty()) {
+            CouponDefinition coupon = couponNearCache.find(tenantId, request.couponCode());
+            if (coupon == null) {
+                event.couponPath(PriceCalculationEvent.CouponPath.UNKNOWN);
+            } else if (isCouponValid(coupon, totalBasePrice)) {
+                BigDecimal couponDiscount = DiscountCalculator.couponDiscount(coupon, totalBasePrice);
+                discountAmount = discountAmount.add(couponDiscount);
+                appliedCoupon = coupon;
+                event.couponPath(PriceCalculationEvent.CouponPath.APPLIED);
+            } else {
+                event.couponPath(PriceCalculationEvent.CouponPath.REJECTED);
+            }
+        }
+        
+        // 4. Calculate final price (ensure non-negative)
+        BigDecimal finalPrice = totalBasePrice.subtract(discountAmount);
+        if (finalPrice.compareTo(BigDecimal.ZERO) < 0) {
+            finalPrice = BigDecimal.ZERO;
+        }
+        
+        PriceCalculationResponse response = new PriceCalculationResponse(
+            totalBasePrice,
+            discountAmount,
+            finalPrice,
+            appliedPromotions,
+            "USD", // Would get from product
+            null
+        );
+        long pricingNanos = System.nanoTime() - pricingStart;
+        
+        // 5. On a sampled fraction of lines, hand the same inputs to the candidate engine under evaluation
+        if (shadowPricing.sampled(tenantId)) {
+            shadowPricing.submit(new PricingInput(tenantId, request, product, index, appliedCoupon), response, pricingNanos);
+        }
+        
+        // 6. Sign the result so checkout can accept it without recalculating
+        if (quoteTokens.isEnabled()) {
+            response = response.withQuoteToken(
+                quoteTokens.issue(tenantId, request, appliedCoupon != null, product.price(), response, index.fingerprint()));
+        }
+        
+        // 7. Hand the decision to the async audit log (never blocks)
+        priceDecisionAuditor.record(new PriceDecision(
+            tenantId,
+            request.productId(),
+            request.quantity(),
+            request.couponCode(),
+            totalBasePrice,
+            discountAmount,
+            finalPrice,
+            List.copyOf(appliedPromotions),
+            response.currency(),
+            LocalDateTime.now()
+        ));
         
-        return toCouponResponse(coupon);
+        return response;
     }
     
-    // Helper methods
+    private PriceTimelineResponse.Segment timelineSegment(LocalDateTime startsAt, LocalDateTime endsAt,
+                                                          BigDecimal totalBasePrice, List<Promotion> active) {
+        // Same stacking and non-negative floor as priceLine; coupons are per checkout and left out
+        BigDecimal discountAmount = BigDecimal.ZERO;
+        List<String> appliedPromotions = new ArrayList<>();
+        for (Promotion promotion : active) {
+            BigDecimal promoDiscount = DiscountCalculator.promotionDiscount(promotion, totalBasePrice);
+            if (promoDiscount.compareTo(BigDecimal.ZERO) > 0) {
+                discountAmount = discountAmount.add(promoDiscount);
+                appliedPromotions.add(promotion.getName());
+            }
+        }
+        BigDecimal finalPrice = totalBasePrice.subtract(discountAmount);
+        if (finalPrice.compareTo(BigDecimal.ZERO) < 0) {
+            finalPrice = BigDecimal.ZERO;
+        }
+        return new PriceTimelineResponse.Segment(
+            startsAt, endsAt, totalBasePrice, discountAmount, finalPrice, List.copyOf(appliedPromotions));
+    }
+    
+    private CatalogProduct fetchProduct(UUID productId, UUID tenantId) {
+        // Local replica first; the synchronous catalog call only covers products it has not seen
+        CatalogProduct product = catalogPriceReplica.find(tenantId, productId);
+        if (product == null) {
+            product = catalogServiceClient.fetchProduct(productId, tenantId);
+        }
+        return product;
+    }
+    
+    private List<Promotion> eligiblePromotions(UUID tenantId, CatalogProduct product, TenantPromotionIndex index) {
+        if (!index.fitsMask()) {
+            return index.candidates(product);
+        }
+        // The eligible set is cached per product next to its price in the catalog replica
+        long mask = catalogPriceReplica.promotionMask(tenantId, product.productId(), index.generation());
+        if (mask < 0) {
+            mask = index.candidateMask(product);
+            catalogPriceReplica.cachePromotionMask(tenantId, product, index.generation(), mask);
+        }
+        return index.promotions(mask);
+    }
+    
+    private List<Promotion> badgePromotions(UUID tenantId, UUID productId, TenantPromotionIndex index) {
+        if (!index.usesProductAttributes()) {
+            return index.candidates(new CatalogProduct(productId, null, null, null));
+        }
+        // Replica only: a page of up to 200 tiles must not turn into as many catalog calls.
+        // Products it does not hold are matched by id, and must not leave that partial set
+        // in the replica's mask cache
+        CatalogProduct product = catalogPriceReplica.find(tenantId, productId);
+        return product != null
+            ? eligiblePromotions(tenantId, product, index)
+            : index.candidates(new CatalogProduct(productId, null, null, null));
+    }
     
-    private BigDecimal fetchProductPrice(UUID productId, UUID tenantId) {
+    /**
+     * Why the quoted line would no longer price the same, judged on the current catalog
+     * price and coupon state; {@code null} if it still would
+     */
+    private String currentLineReason(UUID tenantId, Quote quote) {
+        CatalogProduct current;
         try {
-            WebClient webClient = resilientWebClient.create("catalog-service", catalogServiceUrl);
-            
-            ApiResponse<?> response = webClient
-                .get()
-                .uri("/api/v1/product/{id}", productId)
-                .header("X-Tenant-Id", tenantId.toString())
-                .retrieve()
-                .bodyToMono(ApiResponse.class)
-                .block();
-            
-            if (response == null || response.data() == null) {
-                throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
+            current = fetchProduct(quote.productId(), tenantId);
+        } catch (BusinessException | ResponseStatusException e) {
+            return "PRICE_UNAVAILABLE";
+        }
+        if (current.price().compareTo(quote.unitPrice()) != 0) {
+            return "PRICE_CHANGED";
+        }
+        // Same checks as pricing: active, not expired, minimum order, usage limit
+        if (blankToNull(quote.couponCode()) != null) {
+            CouponDefinition coupon = couponNearCache.find(tenantId, quote.couponCode());
+            boolean applies = coupon != null && isCouponValid(coupon, quote.price().basePrice());
+            if (applies != quote.couponApplied()) {
+                return "COUPON_CHANGED";
             }
-            
-            // Extract price from response
-            @SuppressWarnings("unchecked")
-            java.util.Map<String, Object> productMap = (java.util.Map<String, Object>) response.data();
-            return new BigDecimal(productMap.get("price").toString());
-            
-        } catch (WebClientResponseException.NotFound e) {
-            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Product not found: " + productId);
-        } catch (Exception e) {
-            log.error("Error fetching product price", e);
-            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Failed to fetch product: " + e.getMessage());
         }
+        return null;
     }
     
-    private BigDecimal calculatePromotionDiscount(Promotion promotion, BigDecimal basePrice) {
-        if ("PERCENTAGE".equals(promotion.getDiscountType())) {
-            return basePrice.multiply(promotion.getDiscountValue()).divide(BigDecimal.valueOf(100));
-        } else if ("FIXED".equals(promotion.getDiscountType())) {
-            return promotion.getDiscountValue().min(basePrice); // Don't exceed base price
+    private CatalogProduct describeProduct(UUID productId, UUID tenantId) {
+        // Listing promotions must not fail because the catalog is unreachable;
+        // null tells the caller to match by product id only and not cache the result
+        try {
+            return fetchProduct(productId, tenantId);
+        } catch (BusinessException | ResponseStatusException e) {
+            log.warn("Product attributes unavailable, matching by product id only: productId={}, reason={}",
+                productId, e.getMessage());
+            return null;
         }
-        return BigDecimal.ZERO;
     }
     
-    private BigDecimal calculateCouponDiscount(Coupon coupon, BigDecimal orderTotal) {
-        if ("PERCENTAGE".equals(coupon.getDiscountType())) {
-            return orderTotal.multiply(coupon.getDiscountValue()).divide(BigDecimal.valueOf(100));
-        } else if ("FIXED".equals(coupon.getDiscountType())) {
-            return coupon.getDiscountValue().min(orderTotal); // Don't exceed order total
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+    
+    private EligibilityCriteria compileCriteria(PromotionRequest request) {
+        // Reject criteria the eligibility index could not compile
+        try {
+            return EligibilityCriteria.parse(request.eligibilityCriteria(), objectMapper);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Invalid eligibility criteria: " + e.getMessage());
         }
-        return BigDecimal.ZERO;
     }
     
-    private boolean isCouponValid(Coupon coupon, BigDecimal orderTotal) {
-        if (!coupon.getActive()) return false;
-        if (coupon.getExpiryDate().isBefore(LocalDateTime.now())) return false;
-        if (coupon.getUsageLimit() != null && coupon.getUsedCount() >= coupon.getUsageLimit()) return false;
-        if (coupon.getMinOrderValue() != null && orderTotal.compareTo(coupon.getMinOrderValue()) < 0) return false;
+    private Promotion toPromotion(UUID tenantId, PromotionRequest request) {
+        return Promotion.builder()
+            .tenantId(tenantId)
+            .name(request.name())
+            .type(request.type())
+            .discountType(request.discountType())
+            .discountValue(request.discountValue())
+            .startDate(request.startDate())
+            .endDate(request.endDate())
+            .eligibilityCriteria(request.eligibilityCriteria())
+            .priority(request.priority() != null ? request.priority() : 0)
+            .active(true)
+            .build();
+    }
+    
+    private CouponDefinition requireApplicableCoupon(UUID tenantId, CouponValidationRequest request) {
+        CouponDefinition coupon = couponNearCache.find(tenantId, request.couponCode());
+        if (coupon == null) {
+            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND, "Invalid coupon code");
+        }
+        
+        if (!coupon.active()) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon is not active");
+        }
+        
+        if (coupon.expiryDate().isBefore(LocalDateTime.now())) {
+            throw new BusinessException(ErrorCode.SKU_REQUIRED, "Coupon has expired");
+        }
+        
+        if (request.orderTotal() != null && coupon.minOrderValue() != null) {
+            if (request.orderTotal().compareTo(coupon.minOrderValue()) < 0) {
+                throw new BusinessException(ErrorCode.SKU_REQUIRED, 
+                    "Minimum order value not met. Required: " + coupon.minOrderValue());
+            }
+        }
+        return coupon;
+    }
+    
+    private UUID requireCustomer(UUID userId) {
+        if (userId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "Sign in to use this coupon");
+        }
+        return userId;
+    }
+    
+    private boolean isCouponValid(CouponDefinition coupon, BigDecimal orderTotal) {
+        if (!coupon.active()) return false;
+        if (coupon.expiryDate().isBefore(LocalDateTime.now())) return false;
+        if (coupon.minOrderValue() != null && orderTotal.compareTo(coupon.minOrderValue()) < 0) return false;
+        // Only limited coupons need the (uncached) usage count
+        if (coupon.limited() && couponNearCache.usedCount(coupon) >= coupon.usageLimit()) return false;
         return true;
     }
     
@@ -289,6 +701,17 @@ public class PromotionServiceImpl implements PromotionService {
         );
     }
     
+    private ActivePromotionBadgesResponse.Badge toBadge(Promotion promotion) {
+        return new ActivePromotionBadgesResponse.Badge(
+            promotion.getId(),
+            promotion.getName(),
+            promotion.getType(),
+            promotion.getDiscountType(),
+            promotion.getDiscountValue(),
+            promotion.getEndDate()
+        );
+    }
+    
     private CouponResponse toCouponResponse(Coupon coupon) {
         return new CouponResponse(
             coupon.getId(),
@@ -300,10 +723,29 @@ public class PromotionServiceImpl implements PromotionService {
             coupon.getUsedCount(),
             coupon.getExpiryDate(),
             coupon.getMinOrderValue(),
+            coupon.getOncePerCustomer(),
             coupon.getActive(),
             coupon.getCreatedAt(),
             coupon.getUpdatedAt()
         );
     }
+    
+    private CouponResponse toCouponResponse(CouponDefinition coupon, int usedCount) {
+        return new CouponResponse(
+            coupon.id(),
+            coupon.tenantId(),
+            coupon.code(),
+            coupon.discountType(),
+            coupon.discountValue(),
+            coupon.usageLimit(),
+            usedCount,
+            coupon.expiryDate(),
+            coupon.minOrderValue(),
+            coupon.oncePerCustomer(),
+            coupon.active(),
+            coupon.createdAt(),
+            coupon.updatedAt()
+        );
+    }
 }
 
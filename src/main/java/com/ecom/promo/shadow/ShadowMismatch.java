@@ -0,0 +1,31 @@
+package com.ecom.promo.shadow;
+
+import com.ecom.promo.model.response.PriceCalculationResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A line the candidate engine priced differently from live pricing, with enough of its
+ * input to replay it
+ */
+public record ShadowMismatch(
+    String engine,
+    UUID tenantId,                     // Nullable
+    UUID productId,
+    int quantity,
+    String couponCode,                 // Nullable
+    boolean couponApplied,
+    BigDecimal unitPrice,
+    UUID categoryId,                   // Nullable
+    String brand,                      // Nullable
+    long promotionFingerprint,
+    List<String> fields,               // base_price, discount_amount, final_price, applied_promotions
+    PriceCalculationResponse primary,
+    PriceCalculationResponse candidate, // Null if the candidate threw
+    String error,                      // Nullable; the candidate's exception
+    LocalDateTime detectedAt
+) {
+}
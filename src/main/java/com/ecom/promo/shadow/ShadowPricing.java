@@ -0,0 +1,224 @@
+package com.ecom.promo.shadow;
+
+import com.ecom.promo.config.ShadowProperties;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.ecom.promo.pricing.PricingEngine;
+import com.ecom.promo.pricing.PricingInput;
+import com.ecom.promo.warmup.WarmupCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a candidate pricing engine next to live pricing and reports where they disagree
+ *
+ * <p>Live pricing calls {@link #sampled} for every line and, only for the sampled
+ * fraction, {@link #submit} with the inputs it resolved and the result it returned.
+ * That is all the request thread pays: a random draw, and for sampled lines a queue
+ * offer. The candidate runs on a small pool of low-priority threads behind a bounded
+ * queue; when the queue is full the line is dropped and counted, never waited for.
+ *
+ * <p>Base price, discount and final price must be equal including scale, and the
+ * applied promotions equal in order, since that is what clients see. Mismatches and
+ * candidate failures are logged with their inputs and the latest are kept for
+ * {@code /actuator/shadowpricing}. Metrics:
+ * <ul>
+ *   <li>{@code promo.shadow.evaluations{result=match|mismatch|error|dropped}}</li>
+ *   <li>{@code promo.shadow.mismatches{field}}, per differing field</li>
+ *   <li>{@code promo.shadow.latency{engine=primary|candidate}}, for the sampled lines only;
+ *       the primary is timed from promotion lookup to final price, catalog lookup excluded</li>
+ *   <li>{@code promo.shadow.latency.ratio}, candidate time over primary time per line</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class ShadowPricing implements DisposableBean {
+
+    private final ShadowProperties properties;
+    private final PricingEngine candidate;
+    private final ThreadPoolExecutor executor;
+    private final Deque<ShadowMismatch> mismatches = new ArrayDeque<>();
+    private final Counter matched;
+    private final Counter mismatched;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Timer primaryLatency;
+    private final Timer candidateLatency;
+    private final DistributionSummary latencyRatio;
+    private final MeterRegistry meterRegistry;
+
+    public ShadowPricing(ShadowProperties properties, Map<String, PricingEngine> engines, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        PricingEngine engine = properties.isEnabled() ? engines.get(properties.getEngine()) : null;
+        if (properties.isEnabled() && engine == null) {
+            log.warn("Shadow pricing disabled: no pricing engine named '{}', known: {}", properties.getEngine(), engines.keySet());
+        }
+        this.candidate = engine;
+        this.executor = engine == null ? null : new ThreadPoolExecutor(
+            properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            Thread.ofPlatform().name("shadow-pricing-", 0).daemon().priority(Thread.MIN_PRIORITY).factory());
+
+        this.matched = meterRegistry.counter("promo.shadow.evaluations", "result", "match");
+        this.mismatched = meterRegistry.counter("promo.shadow.evaluations", "result", "mismatch");
+        this.failed = meterRegistry.counter("promo.shadow.evaluations", "result", "error");
+        this.dropped = meterRegistry.counter("promo.shadow.evaluations", "result", "dropped");
+        this.primaryLatency = meterRegistry.timer("promo.shadow.latency", "engine", "primary");
+        this.candidateLatency = meterRegistry.timer("promo.shadow.latency", "engine", "candidate");
+        this.latencyRatio = DistributionSummary.builder("promo.shadow.latency.ratio")
+            .description("Candidate engine time over live pricing time, per sampled line")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        if (executor != null) {
+            Gauge.builder("promo.shadow.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+            log.info("Shadow pricing enabled: engine={}, sampleRate={}", properties.getEngine(), properties.getSampleRate());
+        }
+    }
+
+    /**
+     * Whether this line should also be priced by the candidate; cheap enough to call on every line
+     */
+    public boolean sampled(UUID tenantId) {
+        return candidate != null
+            && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()
+            && !WarmupCatalog.isWarmupTenant(tenantId);
+    }
+
+    /**
+     * Queue a sampled line for the candidate; never blocks
+     *
+     * @param primaryNanos how long live pricing took for the same steps the candidate runs
+     */
+    public void submit(PricingInput input, PriceCalculationResponse primary, long primaryNanos) {
+        try {
+            executor.execute(() -> evaluate(input, primary, primaryNanos));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Latest mismatches and candidate failures, newest first
+     */
+    public List<ShadowMismatch> recentMismatches() {
+        synchronized (mismatches) {
+            return new ArrayList<>(mismatches);
+        }
+    }
+
+    public boolean isEnabled() {
+        return candidate != null;
+    }
+
+    public String engine() {
+        return properties.getEngine();
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void evaluate(PricingInput input, PriceCalculationResponse primary, long primaryNanos) {
+        PriceCalculationResponse result;
+        long started = System.nanoTime();
+        try {
+            result = candidate.price(input);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Shadow pricing engine failed: engine={}, tenantId={}, productId={}",
+                properties.getEngine(), input.tenantId(), input.request().productId(), e);
+            remember(mismatch(input, List.of(), primary, null, e.toString()));
+            return;
+        }
+        long candidateNanos = System.nanoTime() - started;
+        primaryLatency.record(primaryNanos, TimeUnit.NANOSECONDS);
+        candidateLatency.record(candidateNanos, TimeUnit.NANOSECONDS);
+        if (primaryNanos > 0) {
+            latencyRatio.record((double) candidateNanos / primaryNanos);
+        }
+
+        List<String> fields = differingFields(primary, result);
+        if (fields.isEmpty()) {
+            matched.increment();
+            return;
+        }
+        mismatched.increment();
+        for (String field : fields) {
+            meterRegistry.counter("promo.shadow.mismatches", "field", field).increment();
+        }
+        ShadowMismatch mismatch = mismatch(input, fields, primary, result, null);
+        log.warn("Shadow pricing mismatch: {}", mismatch);
+        remember(mismatch);
+    }
+
+    private static List<String> differingFields(PriceCalculationResponse primary, PriceCalculationResponse candidate) {
+        // equals, not compareTo: 10.0 and 10.00 serialize differently
+        List<String> fields = new ArrayList<>(4);
+        if (!Objects.equals(primary.basePrice(), candidate.basePrice())) {
+            fields.add("base_price");
+        }
+        if (!Objects.equals(primary.discountAmount(), candidate.discountAmount())) {
+            fields.add("discount_amount");
+        }
+        if (!Objects.equals(primary.finalPrice(), candidate.finalPrice())) {
+            fields.add("final_price");
+        }
+        if (!Objects.equals(primary.appliedPromotions(), candidate.appliedPromotions())) {
+            fields.add("applied_promotions");
+        }
+        return fields;
+    }
+
+    private ShadowMismatch mismatch(PricingInput input, List<String> fields, PriceCalculationResponse primary,
+                                    PriceCalculationResponse candidate, String error) {
+        return new ShadowMismatch(
+            properties.getEngine(),
+            input.tenantId(),
+            input.request().productId(),
+            input.request().quantity(),
+            input.request().couponCode(),
+            input.coupon() != null,
+            input.product().price(),
+            input.product().categoryId(),
+            input.product().brand(),
+            input.index().fingerprint(),
+            fields,
+            primary,
+            candidate,
+            error,
+            LocalDateTime.now()
+        );
+    }
+
+    private void remember(ShadowMismatch mismatch) {
+        synchronized (mismatches) {
+            mismatches.addFirst(mismatch);
+            while (mismatches.size() > properties.getMismatchHistory()) {
+                mismatches.removeLast();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecom.promo.shadow;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/shadowpricing}: the candidate engine under evaluation and its latest
+ * mismatches, newest first, with the inputs needed to replay them
+ *
+ * <p>Admin only (see {@code SecurityConfig}). Counts and latencies are in the
+ * {@code promo.shadow.*} metrics.
+ */
+@Component
+@Endpoint(id = "shadowpricing")
+public class ShadowPricingEndpoint {
+
+    private final ShadowPricing shadowPricing;
+
+    public ShadowPricingEndpoint(ShadowPricing shadowPricing) {
+        this.shadowPricing = shadowPricing;
+    }
+
+    @ReadOperation
+    public Map<String, Object> mismatches() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", shadowPricing.isEnabled());
+        body.put("engine", shadowPricing.engine());
+        body.put("mismatches", shadowPricing.recentMismatches());
+        return body;
+    }
+}
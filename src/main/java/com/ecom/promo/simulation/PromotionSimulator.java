@@ -0,0 +1,215 @@
+package com.ecom.promo.simulation;
+
+import com.ecom.promo.catalog.CatalogPage;
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.catalog.CatalogServiceClient;
+import com.ecom.promo.config.SimulationProperties;
+import com.ecom.promo.eligibility.EligibilityCriteria;
+import com.ecom.promo.eligibility.PromotionIndexService;
+import com.ecom.promo.eligibility.TenantPromotionIndex;
+import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.model.response.PromotionSimulationResponse;
+import com.ecom.promo.pricing.DiscountCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates a draft promotion, alongside the tenant's active promotions, against the
+ * whole tenant catalog
+ *
+ * <p>The catalog is streamed page by page: up to {@code pagesInFlight} pages are fetched
+ * concurrently while the current page is split across cores on a dedicated
+ * {@link ForkJoinPool}, and only per-page aggregates are kept. Heap use therefore
+ * depends on the page size, not the catalog size.
+ *
+ * <p>The draft is evaluated as if it were live now, regardless of its start and end
+ * dates. Coupons are per-customer and are left out.
+ */
+@Component
+@Slf4j
+public class PromotionSimulator implements DisposableBean {
+
+    private final CatalogServiceClient catalogServiceClient;
+    private final PromotionIndexService promotionIndexService;
+    private final SimulationProperties properties;
+    private final ForkJoinPool pool;
+
+    public PromotionSimulator(CatalogServiceClient catalogServiceClient,
+                              PromotionIndexService promotionIndexService,
+                              SimulationProperties properties) {
+        this.catalogServiceClient = catalogServiceClient;
+        this.promotionIndexService = promotionIndexService;
+        this.properties = properties;
+        int parallelism = properties.getParallelism() > 0
+            ? properties.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public PromotionSimulationResponse simulate(UUID tenantId, Promotion draft, EligibilityCriteria draftCriteria) {
+        long started = System.nanoTime();
+        TenantPromotionIndex index = promotionIndexService.get(tenantId);
+
+        SimulationStats totals = SimulationStats.EMPTY;
+        int pages = 0;
+        for (CatalogPage page : catalogPages(tenantId).toIterable(properties.getPagesInFlight())) {
+            List<CatalogProduct> products = page.products();
+            totals = totals.merge(pool.invoke(new EvaluateTask(
+                products, 0, products.size(), index, draft, draftCriteria, properties.getLeafSize())));
+            pages++;
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Simulated promotion: tenantId={}, products={}, pages={}, elapsedMs={}",
+            tenantId, totals.evaluated(), pages, elapsedMs);
+        return new PromotionSimulationResponse(
+            totals.evaluated(),
+            totals.eligible(),
+            totals.affected(),
+            totals.baselineRevenue(),
+            totals.projectedRevenue(),
+            totals.baselineRevenue().subtract(totals.projectedRevenue()),
+            totals.maxUnitDiscount(),
+            pages,
+            elapsedMs
+        );
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private Flux<CatalogPage> catalogPages(UUID tenantId) {
+        int size = properties.getPageSize();
+        return catalogServiceClient.fetchProductPage(tenantId, 0, size)
+            .flatMapMany(first -> {
+                if (first.last()) {
+                    return Flux.just(first);
+                }
+                if (first.totalPages() != null) {
+                    // Fetch the remaining pages concurrently but hand them over in order
+                    return Flux.concat(Mono.just(first), Flux.range(1, first.totalPages() - 1)
+                        .flatMapSequential(page -> catalogServiceClient.fetchProductPage(tenantId, page, size),
+                            properties.getPagesInFlight()));
+                }
+                // No total reported: walk pages one after another until a short page
+                return Mono.just(first).expand(page -> page.last()
+                    ? Mono.empty()
+                    : catalogServiceClient.fetchProductPage(tenantId, page.page() + 1, size));
+            });
+    }
+
+    /**
+     * Aggregates over a slice of the catalog, per single unit of each product
+     */
+    private record SimulationStats(
+        long evaluated,
+        long eligible,
+        long affected,
+        BigDecimal baselineRevenue,
+        BigDecimal projectedRevenue,
+        BigDecimal maxUnitDiscount
+    ) {
+
+        static final SimulationStats EMPTY =
+            new SimulationStats(0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        SimulationStats merge(SimulationStats other) {
+            return new SimulationStats(
+                evaluated + other.evaluated,
+                eligible + other.eligible,
+                affected + other.affected,
+                baselineRevenue.add(other.baselineRevenue),
+                projectedRevenue.add(other.projectedRevenue),
+                maxUnitDiscount.max(other.maxUnitDiscount)
+            );
+        }
+    }
+
+    /**
+     * Splits a page in halves down to {@code leafSize} products, then evaluates sequentially
+     */
+    private static final class EvaluateTask extends RecursiveTask<SimulationStats> {
+
+        private final List<CatalogProduct> products;
+        private final int from;
+        private final int to;
+        private final TenantPromotionIndex index;
+        private final Promotion draft;
+        private final EligibilityCriteria draftCriteria;
+        private final int leafSize;
+
+        EvaluateTask(List<CatalogProduct> products, int from, int to, TenantPromotionIndex index,
+                     Promotion draft, EligibilityCriteria draftCriteria, int leafSize) {
+            this.products = products;
+            this.from = from;
+            this.to = to;
+            this.index = index;
+            this.draft = draft;
+            this.draftCriteria = draftCriteria;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= leafSize) {
+                return evaluate();
+            }
+            int middle = (from + to) >>> 1;
+            EvaluateTask left = new EvaluateTask(products, from, middle, index, draft, draftCriteria, leafSize);
+            left.fork();
+            SimulationStats right = new EvaluateTask(products, middle, to, index, draft, draftCriteria, leafSize).compute();
+            return left.join().merge(right);
+        }
+
+        private SimulationStats evaluate() {
+            long eligible = 0;
+            long affected = 0;
+            BigDecimal baselineRevenue = BigDecimal.ZERO;
+            BigDecimal projectedRevenue = BigDecimal.ZERO;
+            BigDecimal maxUnitDiscount = BigDecimal.ZERO;
+
+            for (int i = from; i < to; i++) {
+                CatalogProduct product = products.get(i);
+                BigDecimal basePrice = product.price();
+
+                // Same additive stacking and non-negative floor as live pricing
+                BigDecimal discount = BigDecimal.ZERO;
+                for (Promotion promotion : index.candidates(product)) {
+                    discount = discount.add(DiscountCalculator.promotionDiscount(promotion, basePrice));
+                }
+                BigDecimal baselineFinal = floorAtZero(basePrice.subtract(discount));
+                BigDecimal projectedFinal = baselineFinal;
+
+                if (draftCriteria.test(product)) {
+                    eligible++;
+                    discount = discount.add(DiscountCalculator.promotionDiscount(draft, basePrice));
+                    projectedFinal = floorAtZero(basePrice.subtract(discount));
+                    BigDecimal unitDiscount = baselineFinal.subtract(projectedFinal);
+                    if (unitDiscount.signum() > 0) {
+                        affected++;
+                        maxUnitDiscount = maxUnitDiscount.max(unitDiscount);
+                    }
+                }
+                baselineRevenue = baselineRevenue.add(baselineFinal);
+                projectedRevenue = projectedRevenue.add(projectedFinal);
+            }
+            return new SimulationStats(to - from, eligible, affected, baselineRevenue, projectedRevenue, maxUnitDiscount);
+        }
+
+        private static BigDecimal floorAtZero(BigDecimal amount) {
+            return amount.signum() < 0 ? BigDecimal.ZERO : amount;
+        }
+    }
+}
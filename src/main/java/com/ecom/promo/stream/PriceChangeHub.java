@@ -0,0 +1,368 @@
+package com.ecom.promo.stream;
+
+import com.ecom.error.exception.BusinessException;
+import com.ecom.promo.cache.PromotionVersionTracker;
+import com.ecom.promo.catalog.CatalogPriceReplica;
+import com.ecom.promo.config.StreamProperties;
+import com.ecom.promo.eligibility.PromotionIndexService;
+import com.ecom.promo.model.response.PriceChangeEvent;
+import com.ecom.promo.model.response.PriceTimelineResponse;
+import com.ecom.promo.service.PromotionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans price changes out to server-sent event streams
+ *
+ * <p>Subscribers are indexed by tenant and product. A change is priced once per
+ * product, however many streams watch it, and only pushed if the price or the applied
+ * promotions actually differ from what was last sent. Three things trigger repricing:
+ * <ul>
+ *   <li>a tenant's promotions are written on any node (every watched product of the tenant)</li>
+ *   <li>a promotion starts or ends (a timer at the tenant index's {@code validUntil})</li>
+ *   <li>the catalog replica applies a price change (that product only)</li>
+ * </ul>
+ *
+ * <p>Catalog price changes only arrive through {@link CatalogPriceReplica}, so the
+ * stream is only served while the replica is enabled. Repricing reads replicated
+ * products locally; the few it does not hold go to catalog-service on their own
+ * virtual threads, at most {@code catalogLookups} at a time per node, so a promotion
+ * edit on a busy tenant cannot drain the catalog rate limit that live pricing shares.
+ *
+ * <p>Idle streams hold no thread. Repricing and writes run on virtual threads, one
+ * drain per stream at a time; see {@link PriceStreamSubscriber} for how a slow client's
+ * backlog is conflated. A stream whose write stays blocked past {@code stallTimeout} is
+ * closed.
+ */
+@Component
+@Slf4j
+public class PriceChangeHub implements DisposableBean {
+
+    private final PromotionService promotionService;
+    private final PromotionIndexService promotionIndexService;
+    private final CatalogPriceReplica catalogPriceReplica;
+    private final StreamProperties properties;
+    private final Semaphore catalogLookups;
+    private final Map<UUID, TenantChannel> tenants = new ConcurrentHashMap<>();
+    private final Set<PriceStreamSubscriber> streams = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("price-stream-timer").daemon().factory());
+    private final Counter sent;
+    private final Counter conflated;
+    private final Counter stalled;
+
+    public PriceChangeHub(PromotionService promotionService,
+                          PromotionIndexService promotionIndexService,
+                          PromotionVersionTracker promotionVersionTracker,
+                          CatalogPriceReplica catalogPriceReplica,
+                          StreamProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.promotionService = promotionService;
+        this.promotionIndexService = promotionIndexService;
+        this.catalogPriceReplica = catalogPriceReplica;
+        this.properties = properties;
+        this.catalogLookups = new Semaphore(properties.getCatalogLookups());
+        this.sent = meterRegistry.counter("promo.stream.events", "result", "sent");
+        this.conflated = meterRegistry.counter("promo.stream.events", "result", "conflated");
+        this.stalled = meterRegistry.counter("promo.stream.disconnects", "reason", "stalled");
+        Gauge.builder("promo.stream.subscribers", subscribers, AtomicInteger::get).register(meterRegistry);
+
+        promotionVersionTracker.addListener(this::promotionsChanged);
+        catalogPriceReplica.addChangeListener(this::priceChanged);
+        long heartbeatMs = properties.getHeartbeat().toMillis();
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        if (properties.isEnabled() && !catalogPriceReplica.isEnabled()) {
+            log.warn("Price stream disabled: it needs the catalog price replica (promo.catalog-replica.enabled)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && catalogPriceReplica.isEnabled();
+    }
+
+    public int maxProducts() {
+        return properties.getMaxProducts();
+    }
+
+    /**
+     * Open a stream of price changes for {@code productIds}, starting with their current
+     * prices; {@code null} if this node already serves {@code maxSubscribers} streams
+     */
+    public SseEmitter subscribe(UUID tenantId, Set<UUID> productIds) {
+        if (subscribers.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscribers.decrementAndGet();
+            return null;
+        }
+        UUID tenantKey = tenantId != null ? tenantId : PromotionVersionTracker.NO_TENANT;
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        PriceStreamSubscriber subscriber = new PriceStreamSubscriber(tenantKey, Set.copyOf(productIds), emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        streams.add(subscriber);
+        TenantChannel channel;
+        List<ProductState> states = new ArrayList<>(productIds.size());
+        while (true) {
+            channel = tenants.computeIfAbsent(tenantKey, TenantChannel::new);
+            synchronized (channel) {
+                // Lost a race with the last unsubscribe of this tenant; use the new channel
+                if (tenants.get(tenantKey) != channel) {
+                    continue;
+                }
+                for (UUID productId : subscriber.productIds()) {
+                    ProductState state = channel.products.computeIfAbsent(productId, ProductState::new);
+                    state.subscribers.add(subscriber);
+                    states.add(state);
+                }
+                break;
+            }
+        }
+        TenantChannel subscribed = channel;
+        workers.execute(() -> {
+            for (ProductState state : states) {
+                // The first price of a product reaches every stream watching it, this one included
+                PriceChangeEvent current = state.last;
+                if (current == null) {
+                    reprice(subscribed, state);
+                } else {
+                    deliver(subscriber, current);
+                }
+            }
+            subscribed.scheduleBoundary(this);
+        });
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+        streams.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    private void promotionsChanged(UUID tenantKey) {
+        TenantChannel channel = tenants.get(tenantKey);
+        if (channel != null) {
+            channel.requestReprice(this);
+        }
+    }
+
+    private void priceChanged(UUID tenantId, UUID productId) {
+        TenantChannel channel = tenants.get(tenantId);
+        ProductState state = channel != null ? channel.products.get(productId) : null;
+        if (state != null && state.queued.compareAndSet(false, true)) {
+            workers.execute(() -> {
+                state.queued.set(false);
+                reprice(channel, state);
+            });
+        }
+    }
+
+    private void repriceTenant(TenantChannel channel) {
+        channel.queued.set(false);
+        for (ProductState state : channel.products.values()) {
+            if (catalogPriceReplica.contains(channel.tenantId(), state.productId)) {
+                reprice(channel, state);
+            } else {
+                workers.execute(() -> reprice(channel, state));
+            }
+        }
+        channel.scheduleBoundary(this);
+    }
+
+    /**
+     * Price the product now and push the result to its streams if it changed
+     */
+    private void reprice(TenantChannel channel, ProductState state) {
+        if (state.subscribers.isEmpty()) {
+            return;
+        }
+        PriceChangeEvent event = currentPrice(channel.tenantId(), state.productId);
+        synchronized (state) {
+            if (event.samePriceAs(state.last)) {
+                return;
+            }
+            state.last = event;
+        }
+        state.subscribers.forEach(subscriber -> deliver(subscriber, event));
+    }
+
+    private PriceChangeEvent currentPrice(UUID tenantId, UUID productId) {
+        boolean remote = !catalogPriceReplica.contains(tenantId, productId);
+        if (remote) {
+            catalogLookups.acquireUninterruptibly();
+        }
+        try {
+            return priceNow(tenantId, productId);
+        } finally {
+            if (remote) {
+                catalogLookups.release();
+            }
+        }
+    }
+
+    private PriceChangeEvent priceNow(UUID tenantId, UUID productId) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            PriceTimelineResponse price = promotionService.previewPriceTimeline(tenantId, productId, now, null, 1);
+            PriceTimelineResponse.Segment segment = price.segments().get(0);
+            return new PriceChangeEvent(productId, segment.basePrice(), segment.discountAmount(),
+                segment.finalPrice(), segment.appliedPromotions(), price.currency(), now);
+        } catch (BusinessException e) {
+            log.debug("Product unavailable for price stream: productId={}, reason={}", productId, e.getMessage());
+            return new PriceChangeEvent(productId, null, null, null, List.of(), null, now);
+        }
+    }
+
+    private void deliver(PriceStreamSubscriber subscriber, PriceChangeEvent event) {
+        if (subscriber.offer(event, conflated::increment)) {
+            workers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(PriceStreamSubscriber subscriber) {
+        try {
+            sent.increment(subscriber.drain());
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or emitter already completed
+            subscriber.emitter().completeWithError(e);
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        long stallTimeout = properties.getStallTimeout().toNanos();
+        for (PriceStreamSubscriber subscriber : streams) {
+            if (subscriber.stalled(now, stallTimeout)) {
+                log.debug("Closing stalled price stream: tenantId={}", subscriber.tenantKey());
+                stalled.increment();
+                subscriber.emitter().complete();
+                unsubscribe(subscriber);
+            } else if (subscriber.offerHeartbeat()) {
+                workers.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    private void unsubscribe(PriceStreamSubscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.isClosed()) {
+                return;
+            }
+            subscriber.close();
+        }
+        streams.remove(subscriber);
+        subscribers.decrementAndGet();
+        TenantChannel channel = tenants.get(subscriber.tenantKey());
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            for (UUID productId : subscriber.productIds()) {
+                ProductState state = channel.products.get(productId);
+                if (state != null) {
+                    state.subscribers.remove(subscriber);
+                    if (state.subscribers.isEmpty()) {
+                        channel.products.remove(productId);
+                    }
+                }
+            }
+            if (channel.products.isEmpty()) {
+                tenants.remove(subscriber.tenantKey(), channel);
+                channel.cancelBoundary();
+            }
+        }
+    }
+
+    /**
+     * Watched products of one tenant
+     */
+    private static final class TenantChannel {
+
+        private final UUID tenantKey;
+        private final Map<UUID, ProductState> products = new ConcurrentHashMap<>();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private ScheduledFuture<?> boundary;
+
+        TenantChannel(UUID tenantKey) {
+            this.tenantKey = tenantKey;
+        }
+
+        UUID tenantId() {
+            return PromotionVersionTracker.NO_TENANT.equals(tenantKey) ? null : tenantKey;
+        }
+
+        void requestReprice(PriceChangeHub hub) {
+            if (queued.compareAndSet(false, true)) {
+                hub.workers.execute(() -> hub.repriceTenant(this));
+            }
+        }
+
+        /**
+         * Reprice again just after the next promotion of the tenant starts or ends
+         */
+        synchronized void scheduleBoundary(PriceChangeHub hub) {
+            if (products.isEmpty()) {
+                return;
+            }
+            LocalDateTime next = hub.promotionIndexService.get(tenantId()).validUntil();
+            if (next.equals(LocalDateTime.MAX)) {
+                cancelBoundary();
+                return;
+            }
+            // A window's end is inclusive, so the change is only visible after it
+            long delayMs = Math.max(0, Duration.between(LocalDateTime.now(), next).toMillis()) + 1_000;
+            cancelBoundary();
+            boundary = hub.scheduler.schedule(() -> requestReprice(hub), delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void cancelBoundary() {
+            if (boundary != null) {
+                boundary.cancel(false);
+                boundary = null;
+            }
+        }
+    }
+
+    /**
+     * Last price pushed for a product, and the streams watching it
+     */
+    private static final class ProductState {
+
+        private final UUID productId;
+        private final Set<PriceStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private volatile PriceChangeEvent last;
+
+        ProductState(UUID productId) {
+            this.productId = productId;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecom.promo.stream;
+
+import com.ecom.promo.model.response.PriceChangeEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One open stream: the products it watches and the events not yet written to it
+ *
+ * <p>At most one write is in flight per stream. Events that arrive meanwhile wait in a
+ * map keyed by product, so a newer price replaces an unsent older one: a slow client
+ * gets the latest state rather than every intermediate step, and its backlog can never
+ * exceed one event per watched product.
+ */
+final class PriceStreamSubscriber {
+
+    private final UUID tenantKey;
+    private final Set<UUID> productIds;
+    private final SseEmitter emitter;
+    private final Map<UUID, PriceChangeEvent> pending = new LinkedHashMap<>();
+    private boolean draining;
+    private boolean heartbeatDue;
+    private volatile long writingSince;
+    private volatile boolean closed;
+
+    PriceStreamSubscriber(UUID tenantKey, Set<UUID> productIds, SseEmitter emitter) {
+        this.tenantKey = tenantKey;
+        this.productIds = productIds;
+        this.emitter = emitter;
+    }
+
+    UUID tenantKey() {
+        return tenantKey;
+    }
+
+    Set<UUID> productIds() {
+        return productIds;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queue an event; {@code true} if the caller must start {@link #drain}, {@code false}
+     * if a drain is already running (the result of replacing an unsent event is reported
+     * through {@code conflated})
+     */
+    synchronized boolean offer(PriceChangeEvent event, Runnable conflated) {
+        if (closed) {
+            return false;
+        }
+        if (pending.put(event.productId(), event) != null) {
+            conflated.run();
+        }
+        return startDrain();
+    }
+
+    /**
+     * Queue a keep-alive comment if nothing else is being written
+     */
+    synchronized boolean offerHeartbeat() {
+        if (closed || draining) {
+            return false;
+        }
+        heartbeatDue = true;
+        return startDrain();
+    }
+
+    /**
+     * Write queued events until none are left; returns the number written
+     *
+     * @throws IOException if the client went away
+     */
+    int drain() throws IOException {
+        int written = 0;
+        while (true) {
+            PriceChangeEvent next;
+            boolean heartbeat;
+            synchronized (this) {
+                heartbeat = heartbeatDue;
+                heartbeatDue = false;
+                next = heartbeat ? null : poll();
+                if (next == null && !heartbeat) {
+                    draining = false;
+                    return written;
+                }
+            }
+            writingSince = System.nanoTime();
+            try {
+                if (heartbeat) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    emitter.send(SseEmitter.event().name("price").data(next, MediaType.APPLICATION_JSON));
+                    written++;
+                }
+            } finally {
+                writingSince = 0;
+            }
+        }
+    }
+
+    /**
+     * Whether the current write has been blocked for longer than {@code timeoutNanos}
+     */
+    boolean stalled(long now, long timeoutNanos) {
+        long since = writingSince;
+        return since != 0 && now - since > timeoutNanos;
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private PriceChangeEvent poll() {
+        Iterator<PriceChangeEvent> it = pending.values().iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        PriceChangeEvent next = it.next();
+        it.remove();
+        return next;
+    }
+
+    private boolean startDrain() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+}
@@ -0,0 +1,333 @@
+package com.ecom.promo.warmup;
+
+import com.ecom.error.exception.BusinessException;
+import com.ecom.promo.cache.ActivePromotionsResponseCache;
+import com.ecom.promo.config.WarmupProperties;
+import com.ecom.promo.eligibility.PromotionIndexService;
+import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.model.request.CouponValidationRequest;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.CouponResponse;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.ecom.promo.repository.PromotionRepository;
+import com.ecom.promo.service.PromotionService;
+import com.ecom.response.dto.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays pricing traffic in-process before the service reports ready
+ *
+ * <p>Application runners complete before Spring Boot moves readiness to
+ * {@code ACCEPTING_TRAFFIC}, so the pod is kept out of rotation while this runs. The
+ * warm-up first loads the eligibility indexes of the busiest tenants, then drives the
+ * calculate, validate and active-promotions paths (service, Hibernate and Jackson
+ * included) in windows of calls until the median latency of consecutive windows stops
+ * moving, or {@code maxDuration} passes.
+ *
+ * <p>Traffic is either a weighted synthetic mix or a recorded one, and always runs as
+ * {@link WarmupCatalog#TENANT}: products come from the in-process catalog stub,
+ * promotions are synthetic and installed straight into the index, and nothing is
+ * audited or written.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class PricingWarmup implements ApplicationRunner {
+
+    private static final String[] COUPON_CODES = {"WARMUP1", "WARMUP2", "WARMUP3", "WARMUP4"};
+
+    private final PromotionService promotionService;
+    private final PromotionIndexService promotionIndexService;
+    private final PromotionRepository promotionRepository;
+    private final ActivePromotionsResponseCache activePromotionsResponseCache;
+    private final WarmupCatalog warmupCatalog;
+    private final ObjectMapper objectMapper;
+    private final WarmupProperties properties;
+
+    public PricingWarmup(PromotionService promotionService,
+                         PromotionIndexService promotionIndexService,
+                         PromotionRepository promotionRepository,
+                         ActivePromotionsResponseCache activePromotionsResponseCache,
+                         WarmupCatalog warmupCatalog,
+                         ObjectMapper objectMapper,
+                         WarmupProperties properties) {
+        this.promotionService = promotionService;
+        this.promotionIndexService = promotionIndexService;
+        this.promotionRepository = promotionRepository;
+        this.activePromotionsResponseCache = activePromotionsResponseCache;
+        this.warmupCatalog = warmupCatalog;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        loadBusiestTenants();
+
+        List<WarmupCall> calls = properties.getRecording() != null && !properties.getRecording().isBlank()
+            ? recordedCalls(Path.of(properties.getRecording()))
+            : syntheticCalls(new Random(42));
+        if (calls.isEmpty()) {
+            log.info("Warm-up skipped: no calls to replay");
+            return;
+        }
+
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        ExecutorService callers = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("warmup-", 0).factory());
+        warmupCatalog.setActive(true);
+        promotionIndexService.install(WarmupCatalog.TENANT, syntheticPromotions(new Random(7)));
+        try {
+            Result result = replay(calls, callers, threads, started + properties.getMaxDuration().toNanos());
+            log.info("Warm-up finished: stable={}, windows={}, calls={}, medianMicros={}, elapsedMs={}",
+                result.stable(), result.windows(), result.calls(), result.medianNanos() / 1_000,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            callers.shutdownNow();
+            warmupCatalog.setActive(false);
+            promotionIndexService.evict(WarmupCatalog.TENANT);
+        }
+    }
+
+    private void loadBusiestTenants() {
+        if (properties.getTopTenants() <= 0) {
+            return;
+        }
+        try {
+            List<UUID> tenants = promotionRepository.findBusiestTenants(PageRequest.of(0, properties.getTopTenants()));
+            for (UUID tenantId : tenants) {
+                promotionIndexService.get(tenantId);
+                promotionIndexService.schedule(tenantId);
+            }
+            log.info("Warm-up loaded promotion indexes: tenants={}", tenants.size());
+        } catch (RuntimeException e) {
+            // A cold cache is no reason to stay out of rotation
+            log.warn("Warm-up could not preload tenant indexes: {}", e.getMessage());
+        }
+    }
+
+    private Result replay(List<WarmupCall> calls, ExecutorService callers, int threads, long deadline)
+            throws InterruptedException {
+        int window = Math.max(threads, properties.getWindow());
+        long[] latencies = new long[window];
+        long previous = 0;
+        int stableRun = 0;
+        int windows = 0;
+        long total = 0;
+        while (System.nanoTime() < deadline) {
+            int offset = (int) (total % calls.size());
+            List<Callable<Void>> slices = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int from = t * window / threads;
+                int to = (t + 1) * window / threads;
+                slices.add(() -> {
+                    for (int i = from; i < to; i++) {
+                        WarmupCall call = calls.get((offset + i) % calls.size());
+                        long callStarted = System.nanoTime();
+                        call(call);
+                        latencies[i] = System.nanoTime() - callStarted;
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> slice : callers.invokeAll(slices)) {
+                try {
+                    slice.get();
+                } catch (ExecutionException e) {
+                    log.warn("Warm-up stopped by a failing call: {}", e.getCause().toString());
+                    return new Result(false, windows, total, previous);
+                }
+            }
+            windows++;
+            total += window;
+
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            long median = sorted[window / 2];
+            if (previous > 0 && Math.abs(median - previous) <= previous * properties.getTolerance()) {
+                stableRun++;
+            } else {
+                stableRun = 0;
+            }
+            previous = median;
+            if (stableRun >= properties.getStableWindows()) {
+                return new Result(true, windows, total, median);
+            }
+        }
+        return new Result(false, windows, total, previous);
+    }
+
+    private void call(WarmupCall call) throws IOException {
+        switch (call.type()) {
+            case CALCULATE -> {
+                PriceCalculationRequest request = objectMapper.readValue(call.body(), PriceCalculationRequest.class);
+                PriceCalculationResponse response = promotionService.calculatePrice(WarmupCatalog.TENANT, request);
+                objectMapper.writeValueAsBytes(ApiResponse.success(response, "Price calculated successfully"));
+            }
+            case VALIDATE -> {
+                CouponValidationRequest request = objectMapper.readValue(call.body(), CouponValidationRequest.class);
+                try {
+                    CouponResponse response = promotionService.validateCoupon(null, WarmupCatalog.TENANT, request);
+                    objectMapper.writeValueAsBytes(ApiResponse.success(response, "Coupon validated successfully"));
+                } catch (BusinessException e) {
+                    // Warm-up codes do not exist; the rejection path is exercised instead
+                }
+            }
+            case ACTIVE -> activePromotionsResponseCache.get(WarmupCatalog.TENANT, call.productId());
+        }
+    }
+
+    private List<WarmupCall> syntheticCalls(Random random) {
+        List<UUID> products = new ArrayList<>(properties.getSyntheticProducts());
+        for (int i = 0; i < properties.getSyntheticProducts(); i++) {
+            products.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        int calculate = properties.getCalculateWeight();
+        int validate = properties.getValidateWeight();
+        int weights = calculate + validate + properties.getActiveWeight();
+        if (products.isEmpty() || weights <= 0) {
+            return List.of();
+        }
+        int size = Math.max(properties.getWindow(), 4 * products.size());
+        List<WarmupCall> calls = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UUID productId = products.get(random.nextInt(products.size()));
+            String couponCode = random.nextInt(4) == 0 ? COUPON_CODES[random.nextInt(COUPON_CODES.length)] : null;
+            int pick = random.nextInt(weights);
+            if (pick < calculate) {
+                calls.add(calculate(productId, 1 + random.nextInt(5), couponCode));
+            } else if (pick < calculate + validate) {
+                calls.add(validate(COUPON_CODES[random.nextInt(COUPON_CODES.length)],
+                    BigDecimal.valueOf(random.nextInt(50_000), 2)));
+            } else {
+                calls.add(new WarmupCall(WarmupCall.Type.ACTIVE, productId, null));
+            }
+        }
+        return calls;
+    }
+
+    private List<WarmupCall> recordedCalls(Path recording) {
+        List<WarmupCall> calls = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(recording)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                UUID productId = node.hasNonNull("product_id") ? UUID.fromString(node.get("product_id").asText()) : null;
+                String couponCode = node.hasNonNull("coupon_code") ? node.get("coupon_code").asText() : null;
+                switch (node.path("type").asText()) {
+                    case "calculate" -> {
+                        if (productId != null) {
+                            calls.add(calculate(productId, Math.max(1, node.path("quantity").asInt(1)), couponCode));
+                        }
+                    }
+                    case "validate" -> {
+                        if (couponCode != null) {
+                            calls.add(validate(couponCode, null));
+                        }
+                    }
+                    case "active" -> {
+                        if (productId != null) {
+                            calls.add(new WarmupCall(WarmupCall.Type.ACTIVE, productId, null));
+                        }
+                    }
+                    default -> log.debug("Skipping recorded warm-up call: {}", line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Unreadable warm-up recording {}, falling back to synthetic traffic: {}", recording, e.getMessage());
+            return syntheticCalls(new Random(42));
+        }
+        log.info("Replaying recorded warm-up calls: calls={}, file={}", calls.size(), recording);
+        return calls;
+    }
+
+    private WarmupCall calculate(UUID productId, int quantity, String couponCode) {
+        return new WarmupCall(WarmupCall.Type.CALCULATE, productId,
+            json(new PriceCalculationRequest(productId, quantity, couponCode)));
+    }
+
+    private WarmupCall validate(String couponCode, BigDecimal orderTotal) {
+        return new WarmupCall(WarmupCall.Type.VALIDATE, null,
+            json(new CouponValidationRequest(couponCode, orderTotal, null)));
+    }
+
+    private byte[] json(Object request) {
+        try {
+            return objectMapper.writeValueAsBytes(request);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A spread of percentage and fixed promotions over the stub's categories and brands,
+     * plus a few that apply to everything
+     */
+    private List<Promotion> syntheticPromotions(Random random) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Promotion> promotions = new ArrayList<>(properties.getSyntheticPromotions());
+        for (int i = 0; i < properties.getSyntheticPromotions(); i++) {
+            String criteria = switch (i % 4) {
+                case 0 -> "{\"category_ids\":[\"" + WarmupCatalog.category(random.nextInt(WarmupCatalog.CATEGORIES)) + "\"]}";
+                case 1 -> "{\"brands\":[\"" + WarmupCatalog.brand(random.nextInt(WarmupCatalog.BRANDS)) + "\"]}";
+                case 2 -> "{\"category_ids\":[\"" + WarmupCatalog.category(random.nextInt(WarmupCatalog.CATEGORIES))
+                    + "\"],\"brands\":[\"" + WarmupCatalog.brand(random.nextInt(WarmupCatalog.BRANDS)) + "\"]}";
+                default -> null;
+            };
+            boolean percentage = random.nextBoolean();
+            promotions.add(Promotion.builder()
+                .id(new UUID(random.nextLong(), random.nextLong()))
+                .tenantId(WarmupCatalog.TENANT)
+                .name("Warm-up promotion " + i)
+                .type(percentage ? "PERCENTAGE" : "FIXED_AMOUNT")
+                .discountType(percentage ? "PERCENTAGE" : "FIXED")
+                .discountValue(percentage ? BigDecimal.valueOf(1 + random.nextInt(30)) : BigDecimal.valueOf(random.nextInt(1_000), 2))
+                .startDate(now.minusDays(1))
+                .endDate(now.plusDays(1))
+                .eligibilityCriteria(criteria)
+                .priority(random.nextInt(10))
+                .active(true)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        }
+        promotions.sort((a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        return promotions;
+    }
+
+    private record Result(boolean stable, int windows, long calls, long medianNanos) {
+    }
+}
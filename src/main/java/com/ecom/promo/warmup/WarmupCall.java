@@ -0,0 +1,19 @@
+package com.ecom.promo.warmup;
+
+import java.util.UUID;
+
+/**
+ * One replayed call: its kind, the product it is about, and its JSON request body
+ */
+record WarmupCall(
+    Type type,
+    UUID productId,  // Nullable
+    byte[] body      // Nullable; JSON request for CALCULATE and VALIDATE
+) {
+
+    enum Type {
+        CALCULATE,
+        VALIDATE,
+        ACTIVE
+    }
+}
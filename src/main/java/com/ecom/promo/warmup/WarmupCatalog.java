@@ -0,0 +1,61 @@
+package com.ecom.promo.warmup;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * In-process catalog stub for warm-up traffic
+ *
+ * <p>Warm-up calls are made for the reserved {@link #TENANT}, which no real caller can
+ * have. While a warm-up runs, products of that tenant are answered here, derived from
+ * the product id, instead of calling catalog-service, and its price decisions are not
+ * audited.
+ */
+@Component
+public class WarmupCatalog {
+
+    /**
+     * Tenant of synthetic warm-up traffic
+     */
+    public static final UUID TENANT = new UUID(0L, 0x5741524DL);
+
+    static final int CATEGORIES = 16;
+    static final int BRANDS = 8;
+
+    private volatile boolean active;
+
+    public static boolean isWarmupTenant(UUID tenantId) {
+        return TENANT.equals(tenantId);
+    }
+
+    /**
+     * Synthetic product for the warm-up tenant while a warm-up runs, otherwise {@code null}
+     */
+    public CatalogProduct find(UUID tenantId, UUID productId) {
+        if (!active || !TENANT.equals(tenantId)) {
+            return null;
+        }
+        int hash = productId.hashCode() & Integer.MAX_VALUE;
+        return new CatalogProduct(
+            productId,
+            BigDecimal.valueOf(100 + hash % 100_000, 2),
+            category(hash % CATEGORIES),
+            brand(hash % BRANDS)
+        );
+    }
+
+    static UUID category(int index) {
+        return new UUID(0x5741524DL, index);
+    }
+
+    static String brand(int index) {
+        return "warmup-brand-" + index;
+    }
+
+    void setActive(boolean active) {
+        this.active = active;
+    }
+}
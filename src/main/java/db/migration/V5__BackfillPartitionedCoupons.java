@@ -0,0 +1,76 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Hash-partitioned replacement for coupons (step 2 of 3)
+ *
+ * <p>Copies existing rows into {@code coupons_partitioned} in keyset-ordered batches, each
+ * committed on its own, so no lock is held on {@code coupons} beyond a single batch
+ * read and the live table keeps serving reads and writes. Rows the V4 trigger already
+ * mirrored are newer and are left alone ({@code ON CONFLICT DO NOTHING}).
+ */
+public class V5__BackfillPartitionedCoupons extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V5__BackfillPartitionedCoupons.class);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String COPY_BATCH =
+        "WITH batch AS (" +
+        "  SELECT * FROM coupons WHERE id > ? ORDER BY id LIMIT ?" +
+        "), copied AS (" +
+        "  INSERT INTO coupons_partitioned (id, tenant_id, code, discount_type, discount_value, usage_limit," +
+        "                                   used_count, expiry_date, min_order_value, active, created_at, updated_at)" +
+        "  SELECT id, tenant_id, code, discount_type, discount_value, usage_limit," +
+        "         used_count, expiry_date, min_order_value, active, created_at, updated_at FROM batch" +
+        "  ON CONFLICT DO NOTHING" +
+        ") " +
+        "SELECT id, (SELECT count(*) FROM batch) FROM batch ORDER BY id DESC LIMIT 1";
+
+    /**
+     * Batches commit individually; running the whole copy in one transaction would hold
+     * its snapshot (and block vacuum) for the entire backfill
+     */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try (PreparedStatement statement = connection.prepareStatement(COPY_BATCH)) {
+            UUID lastId = new UUID(0L, 0L); // Postgres orders uuids bytewise, so nil sorts first
+            long copied = 0;
+            while (true) {
+                statement.setObject(1, lastId);
+                statement.setInt(2, BATCH_SIZE);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        break;
+                    }
+                    lastId = rs.getObject(1, UUID.class);
+                    copied += rs.getLong(2);
+                }
+                if (copied % (BATCH_SIZE * 100L) == 0) {
+                    log.info("Coupon backfill progress: rows={}, lastId={}", copied, lastId);
+                }
+            }
+            log.info("Coupon backfill complete: rows={}", copied);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
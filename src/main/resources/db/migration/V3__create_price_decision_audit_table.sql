@@ -0,0 +1,21 @@
+-- Create price decision audit table
+CREATE TABLE IF NOT EXISTS price_decision_audit (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    tenant_id UUID,
+    product_id UUID NOT NULL,
+    quantity INTEGER NOT NULL,
+    coupon_code VARCHAR(50),
+    base_price NUMERIC NOT NULL,
+    discount_amount NUMERIC NOT NULL,
+    final_price NUMERIC NOT NULL,
+    applied_promotions TEXT[] NOT NULL DEFAULT '{}',
+    currency VARCHAR(3),
+    decided_at TIMESTAMP NOT NULL
+);
+
+-- Create indexes
+CREATE INDEX idx_price_decision_audit_tenant_time ON price_decision_audit(tenant_id, decided_at);
+CREATE INDEX idx_price_decision_audit_product ON price_decision_audit(product_id);
+
+-- Add comment
+COMMENT ON TABLE price_decision_audit IS 'Append-only log of price quotes, written asynchronously in batches';
@@ -0,0 +1,85 @@
+-- Hash-partitioned replacement for coupons (step 1 of 3)
+--
+-- V4 creates the partitioned table and keeps it in sync with writes to the live table,
+-- V5 backfills existing rows in small batches, and V6 swaps the tables under a lock
+-- held only for the renames. Instances still running the previous release keep
+-- writing to "coupons" throughout.
+
+CREATE TABLE IF NOT EXISTS coupons_partitioned (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    tenant_id UUID NOT NULL,
+    code VARCHAR(50) NOT NULL,
+    discount_type VARCHAR(50) NOT NULL, -- PERCENTAGE, FIXED
+    discount_value DECIMAL(19, 2) NOT NULL,
+    usage_limit INTEGER, -- NULL means unlimited
+    used_count INTEGER DEFAULT 0,
+    expiry_date TIMESTAMP NOT NULL,
+    min_order_value DECIMAL(19, 2), -- Minimum order value to apply coupon
+    active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Unique constraints on a partitioned table must include the partition key
+    CONSTRAINT pk_coupons PRIMARY KEY (tenant_id, id),
+    CONSTRAINT uk_coupons_tenant_code UNIQUE (tenant_id, code)
+) PARTITION BY HASH (tenant_id);
+
+-- 16 partitions; each can later be split by attaching MODULUS 32 children
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS coupons_p%s PARTITION OF coupons_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END
+$$;
+
+-- Create indexes (tenant and code lookups are served by the unique constraint)
+CREATE INDEX IF NOT EXISTS idx_coupons_part_active ON coupons_partitioned(tenant_id, active);
+CREATE INDEX IF NOT EXISTS idx_coupons_part_expiry ON coupons_partitioned(expiry_date);
+
+-- Deletes seen while the backfill runs; replayed by V6 in case the backfill copied a row
+-- from a snapshot taken before the delete
+CREATE TABLE IF NOT EXISTS coupons_migration_tombstones (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL
+);
+
+-- Mirror every write to the live table
+CREATE OR REPLACE FUNCTION coupons_sync_partitioned() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM coupons_partitioned WHERE tenant_id = OLD.tenant_id AND id = OLD.id;
+        INSERT INTO coupons_migration_tombstones (id, tenant_id) VALUES (OLD.id, OLD.tenant_id)
+            ON CONFLICT (id) DO NOTHING;
+        RETURN OLD;
+    END IF;
+    IF TG_OP = 'UPDATE' AND OLD.tenant_id IS DISTINCT FROM NEW.tenant_id THEN
+        DELETE FROM coupons_partitioned WHERE tenant_id = OLD.tenant_id AND id = OLD.id;
+    END IF;
+    INSERT INTO coupons_partitioned (id, tenant_id, code, discount_type, discount_value, usage_limit,
+                                     used_count, expiry_date, min_order_value, active, created_at, updated_at)
+    VALUES (NEW.id, NEW.tenant_id, NEW.code, NEW.discount_type, NEW.discount_value, NEW.usage_limit,
+            NEW.used_count, NEW.expiry_date, NEW.min_order_value, NEW.active, NEW.created_at, NEW.updated_at)
+    ON CONFLICT (tenant_id, id) DO UPDATE SET
+        code = EXCLUDED.code,
+        discount_type = EXCLUDED.discount_type,
+        discount_value = EXCLUDED.discount_value,
+        usage_limit = EXCLUDED.usage_limit,
+        used_count = EXCLUDED.used_count,
+        expiry_date = EXCLUDED.expiry_date,
+        min_order_value = EXCLUDED.min_order_value,
+        active = EXCLUDED.active,
+        created_at = EXCLUDED.created_at,
+        updated_at = EXCLUDED.updated_at;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_coupons_sync_partitioned ON coupons;
+CREATE TRIGGER trg_coupons_sync_partitioned
+    AFTER INSERT OR UPDATE OR DELETE ON coupons
+    FOR EACH ROW EXECUTE FUNCTION coupons_sync_partitioned();
+
+-- Add comment
+COMMENT ON TABLE coupons_partitioned IS 'Coupons hash-partitioned by tenant_id; becomes "coupons" in V6';
@@ -0,0 +1,27 @@
+-- Hash-partitioned replacement for coupons (step 3 of 3)
+--
+-- Everything but the renames happened online in V4/V5; the exclusive lock is held
+-- only while pending deletes are replayed and the tables swap names. The old table is
+-- kept as coupons_legacy until it is dropped by hand after verification.
+
+SET LOCAL lock_timeout = '5s';
+
+LOCK TABLE coupons IN ACCESS EXCLUSIVE MODE;
+
+DELETE FROM coupons_partitioned p
+USING coupons_migration_tombstones t
+WHERE p.tenant_id = t.tenant_id AND p.id = t.id;
+
+DROP TRIGGER IF EXISTS trg_coupons_sync_partitioned ON coupons;
+DROP FUNCTION IF EXISTS coupons_sync_partitioned();
+DROP TABLE IF EXISTS coupons_migration_tombstones;
+
+ALTER TABLE coupons RENAME TO coupons_legacy;
+ALTER TABLE coupons_partitioned RENAME TO coupons;
+
+ALTER INDEX idx_coupons_part_active RENAME TO idx_coupons_tenant_active;
+ALTER INDEX idx_coupons_part_expiry RENAME TO idx_coupons_expiry_date;
+
+-- Add comment
+COMMENT ON TABLE coupons IS 'Stores coupon codes for discounts, hash-partitioned by tenant_id';
+COMMENT ON TABLE coupons_legacy IS 'Unpartitioned coupons table before V6; drop once the swap is verified';
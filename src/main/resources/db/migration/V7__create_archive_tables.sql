@@ -0,0 +1,68 @@
+-- Archive tables for expired promotions and coupons, filled by the background archival job
+
+CREATE TABLE IF NOT EXISTS promotions_archive (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    discount_type VARCHAR(50) NOT NULL,
+    discount_value DECIMAL(19, 2) NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    eligibility_criteria TEXT,
+    priority INTEGER,
+    active BOOLEAN,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, id)
+);
+
+CREATE TABLE IF NOT EXISTS coupons_archive (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    code VARCHAR(50) NOT NULL,
+    discount_type VARCHAR(50) NOT NULL,
+    discount_value DECIMAL(19, 2) NOT NULL,
+    usage_limit INTEGER,
+    used_count INTEGER,
+    expiry_date TIMESTAMP NOT NULL,
+    min_order_value DECIMAL(19, 2),
+    active BOOLEAN,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS coupons_archive_p%s PARTITION OF coupons_archive FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END
+$$;
+
+-- Create indexes
+CREATE INDEX IF NOT EXISTS idx_coupons_archive_code ON coupons_archive(tenant_id, code);
+CREATE INDEX IF NOT EXISTS idx_promotions_archive_end ON promotions_archive(tenant_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_promotions_end_date ON promotions(end_date);
+
+-- Per-tenant progress of the archival job
+CREATE TABLE IF NOT EXISTS archival_watermarks (
+    table_name VARCHAR(63) NOT NULL,
+    tenant_id UUID NOT NULL,
+    archived_through TIMESTAMP, -- Every row expiring before this has been archived
+    resume_expiry TIMESTAMP,    -- Keyset position of a pass cut short by the batch budget
+    resume_id UUID,
+    rows_archived BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (table_name, tenant_id)
+);
+
+-- Add comment
+COMMENT ON TABLE promotions_archive IS 'Promotions that ended before the retention window, moved out of the hot table';
+COMMENT ON TABLE coupons_archive IS 'Coupons that expired before the retention window, moved out of the hot table';
+COMMENT ON TABLE archival_watermarks IS 'Per-tenant keyset watermarks of the archival job';
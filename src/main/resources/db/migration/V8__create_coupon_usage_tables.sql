@@ -0,0 +1,52 @@
+-- Per-customer coupon usage
+
+ALTER TABLE coupons ADD COLUMN IF NOT EXISTS once_per_customer BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE coupons_archive ADD COLUMN IF NOT EXISTS once_per_customer BOOLEAN NOT NULL DEFAULT false;
+
+-- Dense 32-bit ordinal per customer, so usage sets fit compressed bitmaps
+CREATE TABLE IF NOT EXISTS customer_ordinals (
+    user_id UUID PRIMARY KEY,
+    ordinal INTEGER GENERATED ALWAYS AS IDENTITY UNIQUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Source of truth for once-per-customer coupons; the primary key rejects a second use
+CREATE SEQUENCE IF NOT EXISTS coupon_redemptions_seq;
+
+CREATE TABLE IF NOT EXISTS coupon_redemptions (
+    tenant_id UUID NOT NULL,
+    coupon_id UUID NOT NULL,
+    user_ordinal INTEGER NOT NULL,
+    seq BIGINT NOT NULL DEFAULT nextval('coupon_redemptions_seq'),
+    redeemed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, coupon_id, user_ordinal)
+) PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS coupon_redemptions_p%s PARTITION OF coupon_redemptions FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END
+$$;
+
+-- Create indexes
+CREATE INDEX IF NOT EXISTS idx_coupon_redemptions_seq ON coupon_redemptions(tenant_id, coupon_id, seq);
+
+-- Serialized Roaring bitmap of customer ordinals per coupon, covering redemptions up to through_seq
+CREATE TABLE IF NOT EXISTS coupon_usage_snapshots (
+    tenant_id UUID NOT NULL,
+    coupon_id UUID NOT NULL,
+    bitmap BYTEA NOT NULL,
+    through_seq BIGINT NOT NULL,
+    cardinality BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, coupon_id)
+);
+
+-- Add comment
+COMMENT ON TABLE customer_ordinals IS 'Dense integer index over customer ids for bitmap membership';
+COMMENT ON TABLE coupon_redemptions IS 'One row per customer per once-per-customer coupon';
+COMMENT ON TABLE coupon_usage_snapshots IS 'Periodic Roaring bitmap snapshots of coupon_redemptions';
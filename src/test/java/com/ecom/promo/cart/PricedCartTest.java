@@ -0,0 +1,155 @@
+package com.ecom.promo.cart;
+
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricedCartTest {
+
+    private static final int GENERATION = 1;
+    private static final long PRICED_AT = 1_000L;
+
+    private final UUID shoes = UUID.randomUUID();
+    private final UUID socks = UUID.randomUUID();
+    private final UUID hat = UUID.randomUUID();
+
+    @Test
+    void newLinesArePricedAndTotalled() {
+        PricedCart.Editor editor = PricedCart.EMPTY.edit(GENERATION, PRICED_AT);
+        editor.put(line(shoes, 1, null));
+        editor.put(line(socks, 3, "SOCKS"));
+
+        List<PriceCalculationRequest> toPrice = editor.linesToPrice();
+        toPrice.forEach(request -> editor.priced(request, price(request), PRICED_AT));
+        PricedCart cart = editor.build();
+
+        assertThat(toPrice).containsExactly(line(shoes, 1, null), line(socks, 3, "SOCKS"));
+        assertThat(cart.size()).isEqualTo(2);
+        assertThat(cart.baseTotal()).isEqualTo(new BigDecimal("40.00"));
+        assertThat(cart.discountTotal()).isEqualTo(new BigDecimal("4.00"));
+        assertThat(cart.finalTotal()).isEqualTo(new BigDecimal("36.00"));
+    }
+
+    @Test
+    void onlyTouchedLinesAreRepricedAndTotalsMatchAFreshCart() {
+        PricedCart cart = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 3, null), line(hat, 1, null));
+
+        PricedCart.Editor editor = cart.edit(GENERATION, PRICED_AT);
+        editor.put(line(socks, 5, null));
+        editor.remove(hat);
+        List<PriceCalculationRequest> toPrice = editor.linesToPrice();
+        toPrice.forEach(request -> editor.priced(request, price(request), PRICED_AT + 1));
+        PricedCart edited = editor.build();
+
+        PricedCart fresh = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 5, null));
+        assertThat(toPrice).containsExactly(line(socks, 5, null));
+        assertThat(edited.fingerprint()).isEqualTo(fresh.fingerprint());
+        assertThat(edited.baseTotal()).isEqualTo(fresh.baseTotal());
+        assertThat(edited.discountTotal()).isEqualTo(fresh.discountTotal());
+        assertThat(edited.finalTotal()).isEqualTo(fresh.finalTotal());
+    }
+
+    @Test
+    void replacedLineKeepsItsPosition() {
+        PricedCart cart = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 1, null), line(hat, 1, null));
+
+        PricedCart edited = cart(cart, line(socks, 2, null));
+
+        assertThat(edited.lines().stream().map(line -> line.request().productId()).toList())
+            .containsExactly(shoes, socks, hat);
+    }
+
+    @Test
+    void fingerprintDependsOnContentNotLineOrder() {
+        PricedCart forward = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 2, "SOCKS"));
+        PricedCart backward = cart(PricedCart.EMPTY, line(socks, 2, "SOCKS"), line(shoes, 1, null));
+        PricedCart otherQuantity = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 3, "SOCKS"));
+        PricedCart otherCoupon = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 2, null));
+
+        assertThat(backward.fingerprint()).isEqualTo(forward.fingerprint());
+        assertThat(otherQuantity.fingerprint()).isNotEqualTo(forward.fingerprint());
+        assertThat(otherCoupon.fingerprint()).isNotEqualTo(forward.fingerprint());
+    }
+
+    @Test
+    void removingEveryLineReturnsToTheEmptyCart() {
+        PricedCart cart = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 2, null));
+
+        PricedCart.Editor editor = cart.edit(GENERATION, PRICED_AT);
+        editor.remove(shoes);
+        editor.remove(socks);
+        editor.remove(hat);
+        PricedCart emptied = editor.build();
+
+        assertThat(emptied.size()).isZero();
+        assertThat(emptied.fingerprint()).isEqualTo(PricedCart.EMPTY.fingerprint());
+        assertThat(emptied.finalTotal()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void linesFromAnotherIndexGenerationOrTooOldAreRepriced() {
+        PricedCart cart = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 2, null));
+
+        PricedCart.Editor newGeneration = cart.edit(GENERATION + 1, PRICED_AT);
+        assertThat(newGeneration.linesToPrice()).containsExactly(line(shoes, 1, null), line(socks, 2, null));
+
+        PricedCart.Editor stale = cart.edit(GENERATION, PRICED_AT + 1);
+        assertThat(stale.linesToPrice()).containsExactly(line(shoes, 1, null), line(socks, 2, null));
+
+        PricedCart.Editor current = cart.edit(GENERATION, PRICED_AT);
+        assertThat(current.linesToPrice()).isEmpty();
+    }
+
+    @Test
+    void repricedStaleLinesAreNotCountedTwice() {
+        PricedCart cart = cart(PricedCart.EMPTY, line(shoes, 1, null), line(socks, 2, null));
+
+        PricedCart.Editor editor = cart.edit(GENERATION + 1, PRICED_AT);
+        editor.linesToPrice().forEach(request -> editor.priced(request, price(request), PRICED_AT));
+        PricedCart repriced = editor.build();
+
+        assertThat(repriced.fingerprint()).isEqualTo(cart.fingerprint());
+        assertThat(repriced.finalTotal()).isEqualTo(cart.finalTotal());
+    }
+
+    @Test
+    void fingerprintsRoundTripThroughTheirTextForm() {
+        PricedCart cart = cart(PricedCart.EMPTY, line(shoes, 1, null));
+
+        assertThat(PricedCart.parseFingerprint(cart.fingerprint())).isEqualTo(cart.fingerprintValue());
+        assertThat(PricedCart.parseFingerprint(null)).isNull();
+        assertThat(PricedCart.parseFingerprint("abc")).isNull();
+        assertThat(PricedCart.parseFingerprint("zzzzzzzzzzzzzzzz")).isNull();
+    }
+
+    /**
+     * Apply {@code lines} to {@code cart} and price whatever that leaves pending
+     */
+    private static PricedCart cart(PricedCart cart, PriceCalculationRequest... lines) {
+        PricedCart.Editor editor = cart.edit(GENERATION, PRICED_AT);
+        for (PriceCalculationRequest line : lines) {
+            editor.put(line);
+        }
+        editor.linesToPrice().forEach(request -> editor.priced(request, price(request), PRICED_AT));
+        return editor.build();
+    }
+
+    private static PriceCalculationRequest line(UUID productId, int quantity, String couponCode) {
+        return new PriceCalculationRequest(productId, quantity, couponCode);
+    }
+
+    /**
+     * 10.00 a unit, 10% off
+     */
+    private static PriceCalculationResponse price(PriceCalculationRequest request) {
+        BigDecimal base = new BigDecimal("10.00").multiply(BigDecimal.valueOf(request.quantity()));
+        BigDecimal discount = base.divide(BigDecimal.TEN);
+        return new PriceCalculationResponse(base, discount, base.subtract(discount), List.of(), "USD", null);
+    }
+}
@@ -0,0 +1,194 @@
+package com.ecom.promo.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapPriceTableTest {
+
+    private static final UUID PRODUCT = UUID.fromString("0b7f3c52-6d1e-4e0a-9a5b-2f8c4d6e1a37");
+    private static final UUID CATEGORY = UUID.fromString("c1a2b3c4-d5e6-47f8-9a0b-1c2d3e4f5a6b");
+
+    private final BrandDictionary brands = new BrandDictionary();
+
+    @Test
+    void storedProductReadsBackAtTheTableScale() throws Exception {
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(null, 16, 2);
+        int acme = brands.assign("Acme");
+
+        assertThat(table.put(PRODUCT.getMostSignificantBits(), PRODUCT.getLeastSignificantBits(), 1999,
+            CATEGORY.getMostSignificantBits(), CATEGORY.getLeastSignificantBits(), acme)).isTrue();
+
+        assertThat(table.product(PRODUCT, brands))
+            .isEqualTo(new CatalogProduct(PRODUCT, new BigDecimal("19.99"), CATEGORY, "Acme"));
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.product(UUID.randomUUID(), brands)).isNull();
+    }
+
+    @Test
+    void missingCategoryAndBrandReadBackAsNull() throws Exception {
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(null, 16, 2);
+
+        put(table, PRODUCT, 500, null, BrandDictionary.NONE);
+
+        assertThat(table.product(PRODUCT, brands)).isEqualTo(new CatalogProduct(PRODUCT, new BigDecimal("5.00"), null, null));
+    }
+
+    @Test
+    void updateReplacesThePayloadInPlace() throws Exception {
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(null, 16, 2);
+        put(table, PRODUCT, 1999, CATEGORY, BrandDictionary.NONE);
+
+        put(table, PRODUCT, 1499, null, brands.assign("Acme"));
+
+        assertThat(table.product(PRODUCT, brands))
+            .isEqualTo(new CatalogProduct(PRODUCT, new BigDecimal("14.99"), null, "Acme"));
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedProductIsGoneUntilItIsWrittenAgain() throws Exception {
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(null, 16, 2);
+        put(table, PRODUCT, 1999, CATEGORY, BrandDictionary.NONE);
+
+        assertThat(table.remove(PRODUCT.getMostSignificantBits(), PRODUCT.getLeastSignificantBits())).isTrue();
+        assertThat(table.remove(PRODUCT.getMostSignificantBits(), PRODUCT.getLeastSignificantBits())).isFalse();
+        assertThat(table.product(PRODUCT, brands)).isNull();
+        assertThat(table.size()).isZero();
+
+        put(table, PRODUCT, 2499, CATEGORY, BrandDictionary.NONE);
+        assertThat(table.product(PRODUCT, brands).price()).isEqualTo(new BigDecimal("24.99"));
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fullTableRefusesNewKeysAndGrowKeepsLiveRows() throws Exception {
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(null, 16, 2);
+        List<UUID> products = new ArrayList<>();
+        UUID product = UUID.randomUUID();
+        while (put(table, product, products.size() + 1, null, BrandDictionary.NONE)) {
+            products.add(product);
+            product = UUID.randomUUID();
+        }
+        // 75% load factor of the minimum 16 slots
+        assertThat(products).hasSize(12);
+        UUID removed = products.removeFirst();
+        table.remove(removed.getMostSignificantBits(), removed.getLeastSignificantBits());
+
+        OffHeapPriceTable grown = table.grow();
+
+        assertThat(grown.size()).isEqualTo(11);
+        assertThat(grown.product(removed, brands)).isNull();
+        for (UUID kept : products) {
+            assertThat(grown.product(kept, brands)).isEqualTo(table.product(kept, brands));
+        }
+        assertThat(put(grown, product, 99, null, BrandDictionary.NONE)).isTrue();
+    }
+
+    @Test
+    void promotionMaskIsOnlyServedForItsGenerationAndTheAttributesItWasComputedFrom() throws Exception {
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(null, 16, 2);
+        long msb = PRODUCT.getMostSignificantBits();
+        long lsb = PRODUCT.getLeastSignificantBits();
+        put(table, PRODUCT, 1999, CATEGORY, BrandDictionary.NONE);
+        assertThat(table.promotionMask(msb, lsb, 1)).isEqualTo(OffHeapPriceTable.NO_MASK);
+
+        table.cachePromotionMask(msb, lsb, CATEGORY.getMostSignificantBits(), CATEGORY.getLeastSignificantBits(),
+            BrandDictionary.NONE, 1, 0b1011L);
+
+        assertThat(table.promotionMask(msb, lsb, 1)).isEqualTo(0b1011L);
+        assertThat(table.promotionMask(msb, lsb, 2)).isEqualTo(OffHeapPriceTable.NO_MASK);
+
+        // A mask computed from attributes the row no longer has is not cached
+        table.cachePromotionMask(msb, lsb, 0L, 0L, BrandDictionary.NONE, 2, 0b1L);
+        assertThat(table.promotionMask(msb, lsb, 2)).isEqualTo(OffHeapPriceTable.NO_MASK);
+
+        // Any write to the row invalidates its mask
+        put(table, PRODUCT, 1799, CATEGORY, BrandDictionary.NONE);
+        assertThat(table.promotionMask(msb, lsb, 1)).isEqualTo(OffHeapPriceTable.NO_MASK);
+    }
+
+    @Test
+    void fileBackedTableReopensWithItsRows(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("tenant.prices");
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(file, 16, 2);
+        int acme = brands.assign("Acme");
+        put(table, PRODUCT, 1999, CATEGORY, acme);
+        table.force();
+
+        OffHeapPriceTable reopened = OffHeapPriceTable.open(file, 2);
+
+        assertThat(reopened.size()).isEqualTo(1);
+        assertThat(reopened.product(PRODUCT, brands))
+            .isEqualTo(new CatalogProduct(PRODUCT, new BigDecimal("19.99"), CATEGORY, "Acme"));
+    }
+
+    @Test
+    void readersNeverSeeAHalfWrittenRow() throws Exception {
+        OffHeapPriceTable table = OffHeapPriceTable.allocate(null, 16, 2);
+        for (int i = 0; i < 8; i++) {
+            brands.assign("brand-" + i);
+        }
+        // Every field is derived from the price, so a torn read shows up as a mismatch
+        putConsistent(table, 1);
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> torn = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        int readerCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        CountDownLatch finished = new CountDownLatch(readerCount);
+        for (int r = 0; r < readerCount; r++) {
+            Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    while (!done.get() && torn.get() == null) {
+                        CatalogProduct product = table.product(PRODUCT, brands);
+                        long price = product.price().unscaledValue().longValueExact();
+                        if (product.categoryId() == null
+                                || product.categoryId().getMostSignificantBits() != price
+                                || product.categoryId().getLeastSignificantBits() != ~price
+                                || !("brand-" + price % 8).equals(product.brand())) {
+                            torn.set(product.toString());
+                        }
+                        reads.incrementAndGet();
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        for (long price = 2; System.nanoTime() < deadline && torn.get() == null; price++) {
+            putConsistent(table, price);
+        }
+        done.set(true);
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(torn.get()).isNull();
+        assertThat(reads.get()).isPositive();
+    }
+
+    private void putConsistent(OffHeapPriceTable table, long price) {
+        table.put(PRODUCT.getMostSignificantBits(), PRODUCT.getLeastSignificantBits(), price,
+            price, ~price, brands.lookup("brand-" + price % 8));
+    }
+
+    private static boolean put(OffHeapPriceTable table, UUID product, long priceMinor, UUID category, int brandId) {
+        return table.put(product.getMostSignificantBits(), product.getLeastSignificantBits(), priceMinor,
+            category != null ? category.getMostSignificantBits() : 0L,
+            category != null ? category.getLeastSignificantBits() : 0L,
+            brandId);
+    }
+}
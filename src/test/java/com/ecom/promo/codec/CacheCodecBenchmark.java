@@ -0,0 +1,157 @@
+package com.ecom.promo.codec;
+
+import com.ecom.promo.cache.CouponDefinition;
+import com.ecom.promo.entity.Promotion;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Bytes per entry and decode time of {@link CacheBinaryCodec} against JSON, per cached type
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ecom.promo.codec.CacheCodecBenchmark [-Dexec.args="20000 10"]
+ * </pre>
+ *
+ * <p>Arguments are the number of entries per type (default 10000) and measured rounds
+ * (default 10); as many warm-up rounds run first. JSON uses Spring Boot's default
+ * ISO-8601 timestamps. Single-threaded and without JMH, so compare the two columns
+ * of one run rather than absolute numbers across machines. Kept with the tests so it
+ * stays out of the service jar.
+ */
+public final class CacheCodecBenchmark {
+
+    // Decoded values feed this, so the JIT cannot drop the decoding
+    private static volatile long blackhole;
+
+    private CacheCodecBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        ObjectMapper json = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Random random = new Random(42);
+
+        List<Object> promotions = new ArrayList<>(entries);
+        List<Object> coupons = new ArrayList<>(entries);
+        List<Object> prices = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            promotions.add(promotion(random, i));
+            coupons.add(coupon(random, i));
+            prices.add(price(random));
+        }
+
+        System.out.printf("%-26s %12s %12s %14s %14s%n", "type", "binary B", "json B", "binary ns/op", "json ns/op");
+        report("Promotion", promotions, Promotion.class, json, rounds);
+        report("CouponDefinition", coupons, CouponDefinition.class, json, rounds);
+        report("PriceCalculationResponse", prices, PriceCalculationResponse.class, json, rounds);
+    }
+
+    private static void report(String label, List<Object> values, Class<?> type, ObjectMapper json, int rounds)
+            throws IOException {
+        List<byte[]> binary = new ArrayList<>(values.size());
+        List<byte[]> text = new ArrayList<>(values.size());
+        long binaryBytes = 0;
+        long jsonBytes = 0;
+        for (Object value : values) {
+            byte[] encoded = CacheBinaryCodec.encode(value);
+            byte[] serialized = json.writeValueAsBytes(value);
+            binary.add(encoded);
+            text.add(serialized);
+            binaryBytes += encoded.length;
+            jsonBytes += serialized.length;
+        }
+
+        long sink = 0;
+        long binaryNanos = 0;
+        long jsonNanos = 0;
+        for (int round = 0; round < rounds * 2; round++) {
+            boolean measured = round >= rounds;
+            long started = System.nanoTime();
+            for (byte[] encoded : binary) {
+                sink += CacheBinaryCodec.decode(encoded).hashCode();
+            }
+            long binaryElapsed = System.nanoTime() - started;
+            started = System.nanoTime();
+            for (byte[] serialized : text) {
+                sink += json.readValue(serialized, type).hashCode();
+            }
+            long jsonElapsed = System.nanoTime() - started;
+            if (measured) {
+                binaryNanos += binaryElapsed;
+                jsonNanos += jsonElapsed;
+            }
+        }
+
+        long decodes = (long) values.size() * rounds;
+        blackhole = sink;
+        System.out.printf("%-26s %12.1f %12.1f %14.1f %14.1f%n",
+            label,
+            (double) binaryBytes / values.size(),
+            (double) jsonBytes / values.size(),
+            (double) binaryNanos / decodes,
+            (double) jsonNanos / decodes);
+    }
+
+    private static Promotion promotion(Random random, int i) {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0).plusHours(random.nextInt(24 * 365));
+        return Promotion.builder()
+            .id(UUID.randomUUID())
+            .tenantId(UUID.randomUUID())
+            .name("Seasonal sale " + i)
+            .type(random.nextBoolean() ? "PERCENTAGE" : "FIXED_AMOUNT")
+            .discountType(random.nextBoolean() ? "PERCENTAGE" : "FIXED")
+            .discountValue(BigDecimal.valueOf(random.nextInt(5_000), 2))
+            .startDate(start)
+            .endDate(start.plusDays(1 + random.nextInt(30)))
+            .eligibilityCriteria("{\"category_ids\":[\"" + UUID.randomUUID() + "\"]}")
+            .priority(random.nextInt(10))
+            .active(true)
+            .createdAt(start.minusDays(7))
+            .updatedAt(start.minusDays(1).withNano(random.nextInt(1_000_000) * 1_000))
+            .build();
+    }
+
+    private static CouponDefinition coupon(Random random, int i) {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000));
+        return new CouponDefinition(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            "PROMO" + Integer.toHexString(0x10000000 + i).toUpperCase(),
+            random.nextBoolean() ? "PERCENTAGE" : "FIXED",
+            BigDecimal.valueOf(random.nextInt(5_000), 2),
+            random.nextBoolean() ? 1 + random.nextInt(1_000) : null,
+            created.plusDays(90),
+            random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(20_000), 2) : null,
+            random.nextBoolean(),
+            true,
+            created,
+            created
+        );
+    }
+
+    private static PriceCalculationResponse price(Random random) {
+        BigDecimal base = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+        BigDecimal discount = base.multiply(BigDecimal.valueOf(random.nextInt(40))).divide(BigDecimal.valueOf(100));
+        return new PriceCalculationResponse(
+            base,
+            discount,
+            base.subtract(discount),
+            discount.signum() > 0 ? List.of("Seasonal sale") : List.of(),
+            "USD",
+            null
+        );
+    }
+}
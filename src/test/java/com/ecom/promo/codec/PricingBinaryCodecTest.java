@@ -0,0 +1,123 @@
+package com.ecom.promo.codec;
+
+import com.ecom.promo.model.request.BatchPriceCalculationRequest;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.BatchPriceCalculationResponse;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PricingBinaryCodecTest {
+
+    private static final PriceCalculationResponse QUOTED = new PriceCalculationResponse(
+        new BigDecimal("120.00"), new BigDecimal("12.50"), new BigDecimal("107.50"),
+        List.of("Summer sale"), "USD", "cGF5bG9hZA.c2lnbmF0dXJl");
+
+    private static final PriceCalculationResponse UNQUOTED = new PriceCalculationResponse(
+        new BigDecimal("0.99"), BigDecimal.ZERO, new BigDecimal("0.99"), List.of(), "USD", null);
+
+    @Test
+    void requestsRoundTrip() {
+        PriceCalculationRequest request = new PriceCalculationRequest(UUID.randomUUID(), 2, "WELCOME");
+        BatchPriceCalculationRequest batch = new BatchPriceCalculationRequest(List.of(
+            request, new PriceCalculationRequest(UUID.randomUUID(), 1, null)));
+
+        assertThat(PricingBinaryCodec.decode(PricingBinaryCodec.encode(request))).isEqualTo(request);
+        assertThat(PricingBinaryCodec.decode(PricingBinaryCodec.encode(batch))).isEqualTo(batch);
+    }
+
+    @Test
+    void version2ResponsesKeepTheQuoteToken() {
+        BatchPriceCalculationResponse batch = new BatchPriceCalculationResponse(List.of(QUOTED, UNQUOTED));
+
+        byte[] single = PricingBinaryCodec.encode(QUOTED, 2);
+        byte[] many = PricingBinaryCodec.encode(batch, 2);
+
+        assertThat(single[0]).isEqualTo((byte) 2);
+        assertThat(PricingBinaryCodec.decode(single)).isEqualTo(QUOTED);
+        assertThat(PricingBinaryCodec.decode(many)).isEqualTo(batch);
+    }
+
+    @Test
+    void version1ResponsesLeaveTheQuoteTokenOut() {
+        byte[] v1 = PricingBinaryCodec.encode(QUOTED, 1);
+
+        assertThat(v1[0]).isEqualTo((byte) 1);
+        assertThat(v1).hasSizeLessThan(PricingBinaryCodec.encode(QUOTED, 2).length);
+        assertThat(PricingBinaryCodec.decode(v1)).isEqualTo(QUOTED.withQuoteToken(null));
+    }
+
+    @Test
+    void version1BatchResponsesRoundTrip() {
+        BatchPriceCalculationResponse batch = new BatchPriceCalculationResponse(List.of(QUOTED, UNQUOTED));
+
+        Object decoded = PricingBinaryCodec.decode(PricingBinaryCodec.encode(batch, 1));
+
+        assertThat(decoded).isEqualTo(new BatchPriceCalculationResponse(List.of(QUOTED.withQuoteToken(null), UNQUOTED)));
+    }
+
+    @Test
+    void version1PayloadIsWhatAVersion1ClientReads() {
+        // Written field by field as the first version of the format defined it
+        BinaryWriter writer = new BinaryWriter(64)
+            .writeByte(1)
+            .writeByte(PricingBinaryCodec.PRICE_RESPONSE)
+            .writeMoney(QUOTED.basePrice())
+            .writeMoney(QUOTED.discountAmount())
+            .writeMoney(QUOTED.finalPrice())
+            .writeVarInt(1)
+            .writeString("Summer sale")
+            .writeString("USD");
+
+        assertThat(PricingBinaryCodec.encode(QUOTED, 1)).isEqualTo(writer.toByteArray());
+    }
+
+    @Test
+    void moneyKeepsItsScale() {
+        PriceCalculationResponse response = new PriceCalculationResponse(
+            new BigDecimal("10.0"), new BigDecimal("0.000"), new BigDecimal("10.0"), List.of(), "EUR", null);
+
+        PriceCalculationResponse decoded = (PriceCalculationResponse) PricingBinaryCodec.decode(PricingBinaryCodec.encode(response));
+
+        assertThat(decoded.basePrice()).isEqualTo(new BigDecimal("10.0"));
+        assertThat(decoded.discountAmount()).isEqualTo(new BigDecimal("0.000"));
+    }
+
+    @Test
+    void unknownVersionsAreRejected() {
+        byte[] payload = PricingBinaryCodec.encode(UNQUOTED);
+        payload[0] = 3;
+
+        assertThatThrownBy(() -> PricingBinaryCodec.decode(payload)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PricingBinaryCodec.encode(UNQUOTED, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PricingBinaryCodec.encode(UNQUOTED, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void truncatedPayloadsAreRejected() {
+        byte[] payload = PricingBinaryCodec.encode(QUOTED);
+
+        assertThatThrownBy(() -> PricingBinaryCodec.decode(Arrays.copyOf(payload, payload.length - 3)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void convertersWriteVersion1UnlessVersion2IsAccepted() {
+        assertThat(PricingBinaryMessageConverter.negotiatedVersion(null)).isEqualTo(1);
+        assertThat(PricingBinaryMessageConverter.negotiatedVersion(PricingBinaryMessageConverter.MEDIA_TYPE)).isEqualTo(1);
+        assertThat(PricingBinaryMessageConverter.negotiatedVersion(
+            MediaType.parseMediaType("application/x-promo-pricing;version=2"))).isEqualTo(2);
+        assertThat(PricingBinaryMessageConverter.negotiatedVersion(
+            MediaType.parseMediaType("application/x-promo-pricing;version=9"))).isEqualTo(2);
+        assertThat(PricingBinaryMessageConverter.negotiatedVersion(
+            MediaType.parseMediaType("application/x-promo-pricing;version=latest"))).isEqualTo(1);
+    }
+}
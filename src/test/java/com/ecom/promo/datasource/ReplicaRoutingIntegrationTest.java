@@ -0,0 +1,217 @@
+package com.ecom.promo.datasource;
+
+import com.ecom.promo.config.DataSourceConfig;
+import com.ecom.promo.config.ReplicaDataSourceProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Read-only routing against a real primary and a streaming replica
+ *
+ * <p>The replica is cloned from the primary with {@code pg_basebackup} and follows it over
+ * streaming replication, so lag and WAL receiver status are the server's own. Skipped
+ * when Docker is not available.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaRoutingIntegrationTest {
+
+    private static final String IMAGE = "postgres:16";
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+
+    // Runs after initdb; replication connections are not covered by the image's "all" rule
+    private static final String ALLOW_REPLICATION =
+        "echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\"\n";
+
+    private static final String FOLLOW_PRIMARY =
+        "chmod 700 \"$PGDATA\" && " +
+        "until gosu postgres pg_basebackup -h primary -U test -D \"$PGDATA\" -R -X stream; do sleep 1; done && " +
+        "exec gosu postgres postgres";
+
+    private static Network network;
+    private static PostgreSQLContainer<?> primary;
+    private static GenericContainer<?> replica;
+
+    private static HikariDataSource primaryPool;
+    private static ReplicaRoutingDataSource routing;
+    private static ReplicaLagMonitor monitor;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate readOnly;
+    private static TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void startCluster() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+
+        network = Network.newNetwork();
+        primary = new PostgreSQLContainer<>(IMAGE)
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(ALLOW_REPLICATION), "/docker-entrypoint-initdb.d/replication.sh");
+        primary.start();
+        replica = new GenericContainer<>(IMAGE)
+            .withNetwork(network)
+            .withExposedPorts(5432)
+            .withCommand("bash", "-c", FOLLOW_PRIMARY)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+        replica.start();
+
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(primary.getJdbcUrl());
+        dataSourceProperties.setUsername(primary.getUsername());
+        dataSourceProperties.setPassword(primary.getPassword());
+        ReplicaDataSourceProperties replicaProperties = new ReplicaDataSourceProperties();
+        replicaProperties.setEnabled(true);
+        replicaProperties.setUrls(List.of("jdbc:postgresql://" + replica.getHost() + ":"
+            + replica.getMappedPort(5432) + "/" + primary.getDatabaseName()));
+        replicaProperties.setMaxLag(MAX_LAG);
+
+        DataSourceConfig config = new DataSourceConfig();
+        primaryPool = config.primaryDataSource(dataSourceProperties);
+        routing = config.replicaRoutingDataSource(primaryPool, dataSourceProperties, replicaProperties);
+        // Fail fast once the replica is stopped instead of waiting out Hikari's 30s default
+        ((HikariDataSource) routing.getReplicas().getFirst().dataSource()).setConnectionTimeout(2_000);
+        DataSource dataSource = config.dataSource(primaryPool, routing);
+
+        monitor = new ReplicaLagMonitor(routing, new SimpleMeterRegistry());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        jdbcTemplate.execute("CREATE TABLE routing_probe (id INT PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO routing_probe VALUES (1)");
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        if (routing != null) {
+            routing.close();
+        }
+        if (primaryPool != null) {
+            primaryPool.close();
+        }
+        if (replica != null) {
+            replica.stop();
+        }
+        if (primary != null) {
+            primary.stop();
+        }
+        if (network != null) {
+            network.close();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyTransactionsAreServedByTheStreamingReplica() {
+        awaitInRotation();
+
+        assertThat(readOnly.execute(status -> inRecovery())).isTrue();
+        assertThat(readWrite.execute(status -> inRecovery())).isFalse();
+        // Data written on the primary is what the replica serves
+        await(() -> readOnly.execute(status -> probeRows()) == 1L);
+    }
+
+    @Test
+    @Order(2)
+    void replicaBehindTheLagToleranceIsTakenOutOfRotation() throws Exception {
+        awaitInRotation();
+        JdbcTemplate onReplica = new JdbcTemplate(routing.getReplicas().getFirst().dataSource());
+        onReplica.execute("SELECT pg_wal_replay_pause()");
+        try {
+            await(() -> "paused".equals(
+                onReplica.queryForObject("SELECT pg_get_wal_replay_pause_state()", String.class)));
+            jdbcTemplate.update("INSERT INTO routing_probe VALUES (2)");
+            Thread.sleep(MAX_LAG.toMillis() * 2);
+            monitor.checkLag();
+
+            assertThat(routing.getReplicas().getFirst().isHealthy()).isFalse();
+            assertThat(routing.getReplicas().getFirst().lagMillis()).isGreaterThan(MAX_LAG.toMillis());
+            assertThat(readOnly.execute(status -> inRecovery())).isFalse();
+        } finally {
+            onReplica.execute("SELECT pg_wal_replay_resume()");
+        }
+
+        // Once replay catches up the replica rejoins and serves the row it was missing
+        awaitInRotation();
+        assertThat(readOnly.execute(status -> inRecovery())).isTrue();
+        assertThat(readOnly.execute(status -> probeRows())).isEqualTo(2L);
+    }
+
+    @Test
+    @Order(3)
+    void unreachableReplicaFallsBackToThePrimary() {
+        awaitInRotation();
+        replica.stop();
+
+        monitor.checkLag();
+
+        assertThat(routing.getReplicas().getFirst().isHealthy()).isFalse();
+        assertThat(routing.getReplicas().getFirst().lagMillis()).isEqualTo(-1);
+        assertThat(readOnly.execute(status -> inRecovery())).isFalse();
+    }
+
+    @Test
+    @Order(4)
+    void closingTheRoutingDataSourceClosesTheReplicaPools() {
+        HikariDataSource replicaPool = (HikariDataSource) routing.getReplicas().getFirst().dataSource();
+
+        routing.close();
+
+        assertThat(replicaPool.isClosed()).isTrue();
+        assertThat(primaryPool.isClosed()).isFalse();
+    }
+
+    private static Boolean inRecovery() {
+        return jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class);
+    }
+
+    private static Long probeRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM routing_probe", Long.class);
+    }
+
+    private static void awaitInRotation() {
+        await(() -> {
+            monitor.checkLag();
+            return routing.getReplicas().getFirst().isHealthy();
+        });
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(deadline - System.nanoTime()).as("condition not met within 30s").isPositive();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError("Interrupted while waiting", e);
+            }
+        }
+    }
+}
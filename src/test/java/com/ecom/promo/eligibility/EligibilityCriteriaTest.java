@@ -0,0 +1,69 @@
+package com.ecom.promo.eligibility;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EligibilityCriteriaTest {
+
+    private static final UUID PRODUCT = UUID.fromString("3d4e5f60-7182-4394-a5b6-c7d8e9f0a1b2");
+    private static final UUID CATEGORY = UUID.fromString("9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void missingOrEmptyCriteriaApplyToEveryProduct() {
+        assertThat(EligibilityCriteria.parse(null, objectMapper)).isSameAs(EligibilityCriteria.ALL);
+        assertThat(EligibilityCriteria.parse("  ", objectMapper)).isSameAs(EligibilityCriteria.ALL);
+        assertThat(EligibilityCriteria.parse("null", objectMapper)).isSameAs(EligibilityCriteria.ALL);
+        assertThat(EligibilityCriteria.parse("{}", objectMapper).appliesToAll()).isTrue();
+        assertThat(EligibilityCriteria.parse("{\"brands\": null}", objectMapper).appliesToAll()).isTrue();
+        assertThat(EligibilityCriteria.ALL.test(product(UUID.randomUUID(), null, null))).isTrue();
+    }
+
+    @Test
+    void parsesAllThreeDimensionsWithBrandsNormalized() {
+        EligibilityCriteria criteria = EligibilityCriteria.parse(
+            "{\"product_ids\": [\"" + PRODUCT + "\"], \"category_ids\": [\"" + CATEGORY + "\"], \"brands\": [\" Acme \"]}",
+            objectMapper);
+
+        assertThat(criteria.productIds()).containsExactly(PRODUCT);
+        assertThat(criteria.categoryIds()).containsExactly(CATEGORY);
+        assertThat(criteria.brands()).containsExactly("acme");
+        assertThat(criteria.appliesToAll()).isFalse();
+    }
+
+    @Test
+    void productMatchesIfAnyDimensionMatches() {
+        EligibilityCriteria criteria = new EligibilityCriteria(Set.of(PRODUCT), Set.of(CATEGORY), Set.of("acme"));
+
+        assertThat(criteria.test(product(PRODUCT, null, null))).isTrue();
+        assertThat(criteria.test(product(UUID.randomUUID(), CATEGORY, null))).isTrue();
+        assertThat(criteria.test(product(UUID.randomUUID(), null, "ACME"))).isTrue();
+        assertThat(criteria.test(product(UUID.randomUUID(), UUID.randomUUID(), "Globex"))).isFalse();
+        assertThat(criteria.test(product(UUID.randomUUID(), null, null))).isFalse();
+    }
+
+    @Test
+    void malformedCriteriaAreRejected() {
+        assertThatThrownBy(() -> EligibilityCriteria.parse("{not json", objectMapper))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EligibilityCriteria.parse("[\"" + PRODUCT + "\"]", objectMapper))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EligibilityCriteria.parse("{\"product_ids\": \"" + PRODUCT + "\"}", objectMapper))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EligibilityCriteria.parse("{\"category_ids\": [\"not-a-uuid\"]}", objectMapper))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CatalogProduct product(UUID productId, UUID categoryId, String brand) {
+        return new CatalogProduct(productId, new BigDecimal("10.00"), categoryId, brand);
+    }
+}
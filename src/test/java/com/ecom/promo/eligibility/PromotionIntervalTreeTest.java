@@ -0,0 +1,127 @@
+package com.ecom.promo.eligibility;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.entity.Promotion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromotionIntervalTreeTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 0, 0);
+    private static final CatalogProduct PRODUCT =
+        new CatalogProduct(UUID.randomUUID(), new BigDecimal("10.00"), UUID.randomUUID(), "Acme");
+
+    @Test
+    void bothEndsOfAWindowAreInclusive() {
+        Promotion sale = promotion("sale", T0, T0.plusDays(1));
+        PromotionIntervalTree tree = tree(List.of(sale));
+
+        assertThat(tree.activeAt(T0.minusNanos(1), PRODUCT)).isEmpty();
+        assertThat(tree.activeAt(T0, PRODUCT)).containsExactly(sale);
+        assertThat(tree.activeAt(T0.plusDays(1), PRODUCT)).containsExactly(sale);
+        assertThat(tree.activeAt(T0.plusDays(1).plusNanos(1), PRODUCT)).isEmpty();
+    }
+
+    @Test
+    void overlappingFindsEveryWindowTouchingTheRange() {
+        Promotion early = promotion("early", T0, T0.plusDays(2));
+        Promotion late = promotion("late", T0.plusDays(5), T0.plusDays(6));
+        Promotion spanning = promotion("spanning", T0.minusDays(10), T0.plusDays(10));
+        Promotion over = promotion("over", T0.minusDays(3), T0.minusDays(1));
+        PromotionIntervalTree tree = tree(List.of(early, late, spanning, over));
+
+        assertThat(tree.overlapping(T0.plusDays(2), T0.plusDays(5), PRODUCT)).containsExactly(early, late, spanning);
+        assertThat(tree.overlapping(T0.plusDays(3), T0.plusDays(4), PRODUCT)).containsExactly(spanning);
+        assertThat(tree.overlapping(T0.plusDays(11), T0.plusDays(20), PRODUCT)).isEmpty();
+    }
+
+    @Test
+    void resultsKeepThePriorityOrderPromotionsWereGivenIn() {
+        // Given in priority order, which is not start order
+        Promotion first = promotion("first", T0.plusHours(3), T0.plusDays(1));
+        Promotion second = promotion("second", T0, T0.plusDays(1));
+        Promotion third = promotion("third", T0.plusHours(1), T0.plusDays(1));
+        PromotionIntervalTree tree = tree(List.of(first, second, third));
+
+        assertThat(tree.activeAt(T0.plusHours(4), PRODUCT)).containsExactly(first, second, third);
+    }
+
+    @Test
+    void criteriaFilterResultsAndUncompilableOrInvertedPromotionsAreLeftOut() {
+        Promotion forProduct = promotion("for product", T0, T0.plusDays(1));
+        Promotion forOtherBrand = promotion("other brand", T0, T0.plusDays(1));
+        Promotion broken = promotion("broken criteria", T0, T0.plusDays(1));
+        Promotion inverted = promotion("inverted", T0.plusDays(1), T0);
+        List<EligibilityCriteria> criteria = new ArrayList<>();
+        criteria.add(new EligibilityCriteria(Set.of(PRODUCT.productId()), Set.of(), Set.of()));
+        criteria.add(new EligibilityCriteria(Set.of(), Set.of(), Set.of("globex")));
+        criteria.add(null);
+        criteria.add(EligibilityCriteria.ALL);
+
+        PromotionIntervalTree tree = PromotionIntervalTree.build(
+            List.of(forProduct, forOtherBrand, broken, inverted), criteria, 7L, LocalDateTime.MAX);
+
+        assertThat(tree.size()).isEqualTo(2);
+        assertThat(tree.version()).isEqualTo(7L);
+        assertThat(tree.activeAt(T0.plusHours(12), PRODUCT)).containsExactly(forProduct);
+    }
+
+    @Test
+    void emptyTreeMatchesNothing() {
+        PromotionIntervalTree tree = tree(List.of());
+
+        assertThat(tree.size()).isZero();
+        assertThat(tree.overlapping(LocalDateTime.MIN, LocalDateTime.MAX, PRODUCT)).isEmpty();
+    }
+
+    @Test
+    void queriesMatchALinearScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            List<Promotion> promotions = new ArrayList<>();
+            int count = random.nextInt(200);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime start = T0.plusHours(random.nextInt(1_000));
+                promotions.add(promotion("p" + i, start, start.plusHours(random.nextInt(200))));
+            }
+            PromotionIntervalTree tree = tree(promotions);
+
+            for (int query = 0; query < 50; query++) {
+                LocalDateTime from = T0.plusHours(random.nextInt(1_300) - 100);
+                LocalDateTime to = random.nextBoolean() ? from : from.plusHours(random.nextInt(100));
+                List<Promotion> expected = promotions.stream()
+                    .filter(p -> !p.getEndDate().isBefore(from) && !p.getStartDate().isAfter(to))
+                    .toList();
+
+                assertThat(tree.overlapping(from, to, PRODUCT)).containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    private static PromotionIntervalTree tree(List<Promotion> promotions) {
+        List<EligibilityCriteria> criteria = new ArrayList<>(Collections.nCopies(promotions.size(), EligibilityCriteria.ALL));
+        return PromotionIntervalTree.build(promotions, criteria, 1L, LocalDateTime.MAX);
+    }
+
+    private static Promotion promotion(String name, LocalDateTime start, LocalDateTime end) {
+        return Promotion.builder()
+            .id(UUID.randomUUID())
+            .name(name)
+            .type("PERCENTAGE")
+            .discountType("PERCENTAGE")
+            .discountValue(BigDecimal.TEN)
+            .startDate(start)
+            .endDate(end)
+            .build();
+    }
+}
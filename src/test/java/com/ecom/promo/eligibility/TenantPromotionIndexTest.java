@@ -0,0 +1,135 @@
+package com.ecom.promo.eligibility;
+
+import com.ecom.promo.catalog.CatalogProduct;
+import com.ecom.promo.entity.Promotion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantPromotionIndexTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2026, 5, 1, 9, 30);
+    private static final UUID PRODUCT = UUID.fromString("5b6c7d8e-9f0a-4b1c-8d2e-3f4a5b6c7d8e");
+    private static final UUID CATEGORY = UUID.fromString("1f2e3d4c-5b6a-4978-8695-a4b3c2d1e0f9");
+
+    @Test
+    void candidatesAreTheUnionOfAllDimensionsInPriorityOrder() {
+        List<Promotion> promotions = promotions(5);
+        List<EligibilityCriteria> criteria = List.of(
+            new EligibilityCriteria(Set.of(), Set.of(), Set.of("acme")),
+            new EligibilityCriteria(Set.of(), Set.of(CATEGORY), Set.of()),
+            EligibilityCriteria.ALL,
+            new EligibilityCriteria(Set.of(PRODUCT), Set.of(CATEGORY), Set.of("acme")),
+            new EligibilityCriteria(Set.of(UUID.randomUUID()), Set.of(), Set.of()));
+        TenantPromotionIndex index = TenantPromotionIndex.build(promotions, criteria, 1L, LocalDateTime.MAX);
+
+        assertThat(index.candidates(new CatalogProduct(PRODUCT, BigDecimal.ONE, CATEGORY, "ACME")))
+            .containsExactly(promotions.get(0), promotions.get(1), promotions.get(2), promotions.get(3));
+        assertThat(index.candidates(new CatalogProduct(UUID.randomUUID(), BigDecimal.ONE, null, "Acme")))
+            .containsExactly(promotions.get(0), promotions.get(2), promotions.get(3));
+        assertThat(index.candidates(new CatalogProduct(UUID.randomUUID(), BigDecimal.ONE, null, null)))
+            .containsExactly(promotions.get(2));
+        assertThat(index.usesProductAttributes()).isTrue();
+    }
+
+    @Test
+    void promotionsWithoutCompiledCriteriaNeverMatch() {
+        List<Promotion> promotions = promotions(2);
+        List<EligibilityCriteria> criteria = new ArrayList<>();
+        criteria.add(null);
+        criteria.add(new EligibilityCriteria(Set.of(PRODUCT), Set.of(), Set.of()));
+        TenantPromotionIndex index = TenantPromotionIndex.build(promotions, criteria, 1L, LocalDateTime.MAX);
+
+        assertThat(index.candidates(new CatalogProduct(PRODUCT, BigDecimal.ONE, CATEGORY, "Acme")))
+            .containsExactly(promotions.get(1));
+        assertThat(index.usesProductAttributes()).isFalse();
+    }
+
+    @Test
+    void maskAndPostingListsAgreeWithTheCriteria() {
+        Random random = new Random(11);
+        List<UUID> products = IntStream.range(0, 30).mapToObj(i -> UUID.randomUUID()).toList();
+        List<UUID> categories = IntStream.range(0, 6).mapToObj(i -> UUID.randomUUID()).toList();
+        List<String> brands = List.of("acme", "globex", "initech", "umbrella");
+
+        // Below the mask limit candidates come from the bitset, above it from posting lists
+        for (int count : new int[] {TenantPromotionIndex.MAX_MASK_PROMOTIONS, TenantPromotionIndex.MAX_MASK_PROMOTIONS + 40}) {
+            List<Promotion> promotions = promotions(count);
+            List<EligibilityCriteria> criteria = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                criteria.add(random.nextInt(10) == 0 ? EligibilityCriteria.ALL : new EligibilityCriteria(
+                    pick(random, products, 2), pick(random, categories, 1), pick(random, brands, 1)));
+            }
+            TenantPromotionIndex index = TenantPromotionIndex.build(promotions, criteria, 1L, LocalDateTime.MAX);
+            assertThat(index.fitsMask()).isEqualTo(count <= TenantPromotionIndex.MAX_MASK_PROMOTIONS);
+
+            for (int i = 0; i < 200; i++) {
+                CatalogProduct product = new CatalogProduct(
+                    products.get(random.nextInt(products.size())),
+                    BigDecimal.ONE,
+                    random.nextBoolean() ? categories.get(random.nextInt(categories.size())) : null,
+                    random.nextBoolean() ? brands.get(random.nextInt(brands.size())).toUpperCase() : null);
+                List<Promotion> expected = IntStream.range(0, count)
+                    .filter(ordinal -> criteria.get(ordinal).test(product))
+                    .mapToObj(promotions::get)
+                    .toList();
+
+                assertThat(index.candidates(product)).containsExactlyElementsOf(expected);
+                if (index.fitsMask()) {
+                    assertThat(index.promotions(index.candidateMask(product))).containsExactlyElementsOf(expected);
+                    assertThat(index.candidateMask(product)).isNotNegative();
+                }
+            }
+        }
+    }
+
+    @Test
+    void fingerprintIgnoresOrderButNotModification() {
+        List<Promotion> promotions = promotions(3);
+        List<EligibilityCriteria> criteria = List.of(EligibilityCriteria.ALL, EligibilityCriteria.ALL, EligibilityCriteria.ALL);
+        TenantPromotionIndex index = TenantPromotionIndex.build(promotions, criteria, 1L, LocalDateTime.MAX);
+
+        TenantPromotionIndex reordered = TenantPromotionIndex.build(
+            List.of(promotions.get(2), promotions.get(0), promotions.get(1)), criteria, 2L, LocalDateTime.MAX);
+        assertThat(reordered.fingerprint()).isEqualTo(index.fingerprint());
+        assertThat(reordered.generation()).isNotEqualTo(index.generation());
+
+        promotions.get(1).setUpdatedAt(UPDATED.plusMinutes(1));
+        TenantPromotionIndex edited = TenantPromotionIndex.build(promotions, criteria, 3L, LocalDateTime.MAX);
+        assertThat(edited.fingerprint()).isNotEqualTo(index.fingerprint());
+    }
+
+    private static <T> Set<T> pick(Random random, List<T> values, int max) {
+        int count = random.nextInt(max + 1);
+        List<T> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            picked.add(values.get(random.nextInt(values.size())));
+        }
+        return Set.copyOf(picked);
+    }
+
+    private static List<Promotion> promotions(int count) {
+        List<Promotion> promotions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            promotions.add(Promotion.builder()
+                .id(UUID.randomUUID())
+                .name("Promotion " + i)
+                .type("PERCENTAGE")
+                .discountType("PERCENTAGE")
+                .discountValue(BigDecimal.TEN)
+                .priority(count - i)
+                .updatedAt(UPDATED)
+                .build());
+        }
+        return promotions;
+    }
+}
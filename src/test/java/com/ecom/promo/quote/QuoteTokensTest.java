@@ -0,0 +1,168 @@
+package com.ecom.promo.quote;
+
+import com.ecom.promo.config.QuoteProperties;
+import com.ecom.promo.model.request.PriceCalculationRequest;
+import com.ecom.promo.model.response.PriceCalculationResponse;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuoteTokensTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+    private static final UUID TENANT = UUID.fromString("7a0e4a7e-3a53-4b64-9d3c-0c6f1d1b2a10");
+    private static final UUID PRODUCT = UUID.fromString("4f2b8d0c-9e1a-4c7b-8f3e-5d6a7b8c9d0e");
+
+    private final PriceCalculationRequest request = new PriceCalculationRequest(PRODUCT, 3, "SPRING10");
+    private final PriceCalculationResponse response = new PriceCalculationResponse(
+        new BigDecimal("59.97"), new BigDecimal("6.00"), new BigDecimal("53.97"),
+        List.of("Spring sale", "SPRING10"), "USD", null);
+
+    @Test
+    void issuedTokenDecodesToThePricedLine() {
+        QuoteTokens tokens = tokens("current", null);
+
+        Quote quote = tokens.decode(tokens.issue(TENANT, request, true, new BigDecimal("19.99"), response, 42L));
+
+        assertThat(quote).isNotNull();
+        assertThat(quote.tenantId()).isEqualTo(TENANT);
+        assertThat(quote.productId()).isEqualTo(PRODUCT);
+        assertThat(quote.quantity()).isEqualTo(3);
+        assertThat(quote.couponCode()).isEqualTo("SPRING10");
+        assertThat(quote.couponApplied()).isTrue();
+        assertThat(quote.unitPrice()).isEqualTo(new BigDecimal("19.99"));
+        assertThat(quote.price()).isEqualTo(response);
+        assertThat(quote.promotionFingerprint()).isEqualTo(42L);
+    }
+
+    @Test
+    void missingTenantRoundTripsAsNull() {
+        QuoteTokens tokens = tokens("current", null);
+
+        Quote quote = tokens.decode(tokens.issue(null, request, false, new BigDecimal("19.99"), response, 0L));
+
+        assertThat(quote.tenantId()).isNull();
+        assertThat(quote.couponApplied()).isFalse();
+    }
+
+    @Test
+    void expiryIsIssueTimePlusTtl() {
+        QuoteTokens tokens = tokens("current", null);
+
+        Quote quote = tokens.decode(tokens.issue(TENANT, request, true, new BigDecimal("19.99"), response, 42L));
+
+        assertThat(quote.expiresAt()).isEqualTo(NOW.plus(Duration.ofMinutes(10)));
+        assertThat(tokens.now()).isBefore(quote.expiresAt());
+        QuoteTokens later = new QuoteTokens(properties("current", null),
+            Clock.fixed(NOW.plus(Duration.ofMinutes(11)), ZoneOffset.UTC));
+        assertThat(later.now()).isAfter(quote.expiresAt());
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        QuoteTokens tokens = tokens("current", null);
+        String token = tokens.issue(TENANT, request, true, new BigDecimal("19.99"), response, 42L);
+        int dot = token.indexOf('.');
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, dot));
+        payload[payload.length / 2] ^= 1;
+
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(payload) + token.substring(dot);
+
+        assertThat(tokens.decode(tampered)).isNull();
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        QuoteTokens tokens = tokens("current", null);
+        String token = tokens.issue(TENANT, request, true, new BigDecimal("19.99"), response, 42L);
+        // A character inside the signature, not the last one, whose low bits are padding
+        int at = token.indexOf('.') + 5;
+        char flipped = token.charAt(at) == 'A' ? 'B' : 'A';
+
+        String tampered = token.substring(0, at) + flipped + token.substring(at + 1);
+
+        assertThat(tokens.decode(tampered)).isNull();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String token = tokens("other", null).issue(TENANT, request, true, new BigDecimal("19.99"), response, 42L);
+
+        assertThat(tokens("current", null).decode(token)).isNull();
+    }
+
+    @Test
+    void tokenSignedWithThePreviousKeyStillVerifiesDuringRotation() {
+        String token = tokens("old", null).issue(TENANT, request, true, new BigDecimal("19.99"), response, 42L);
+
+        assertThat(tokens("new", "old").decode(token)).isNotNull();
+        assertThat(tokens("new", null).decode(token)).isNull();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        QuoteTokens tokens = tokens("current", null);
+
+        assertThat(tokens.decode(null)).isNull();
+        assertThat(tokens.decode("")).isNull();
+        assertThat(tokens.decode("no-signature")).isNull();
+        assertThat(tokens.decode(".abc")).isNull();
+        assertThat(tokens.decode("!!!.???")).isNull();
+    }
+
+    @Test
+    void truncatedPayloadWithValidSignatureIsRejected() throws Exception {
+        QuoteTokens tokens = tokens("current", null);
+        byte[] payload = {2, 0, 0};
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("current".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+        String token = encoder.encodeToString(payload) + "." + encoder.encodeToString(mac.doFinal(payload));
+
+        assertThat(tokens.decode(token)).isNull();
+    }
+
+    @Test
+    void disabledQuotesIssueNoToken() {
+        QuoteProperties properties = properties(null, null);
+        properties.setEnabled(false);
+
+        QuoteTokens tokens = new QuoteTokens(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(tokens.isEnabled()).isFalse();
+        assertThat(tokens.issue(TENANT, request, true, new BigDecimal("19.99"), response, 42L)).isNull();
+    }
+
+    @Test
+    void enablingQuotesWithoutASharedSecretFailsStartup() {
+        assertThatThrownBy(() -> new QuoteTokens(properties(" ", null), Clock.fixed(NOW, ZoneOffset.UTC)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("promo.quotes.secret");
+    }
+
+    private static QuoteTokens tokens(String secret, String previousSecret) {
+        return new QuoteTokens(properties(secret, previousSecret), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static QuoteProperties properties(String secret, String previousSecret) {
+        QuoteProperties properties = new QuoteProperties();
+        properties.setEnabled(true);
+        properties.setSecret(secret);
+        properties.setPreviousSecret(previousSecret);
+        return properties;
+    }
+}
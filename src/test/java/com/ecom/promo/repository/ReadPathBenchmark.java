@@ -0,0 +1,191 @@
+package com.ecom.promo.repository;
+
+import com.ecom.promo.cache.CouponDefinition;
+import com.ecom.promo.entity.Coupon;
+import com.ecom.promo.entity.Promotion;
+import com.sun.management.ThreadMXBean;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.SelectionQuery;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Query time and heap allocated per call of the pricing read paths, entity against lean
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ecom.promo.repository.ReadPathBenchmark \
+ *     -Dexec.args="jdbc:postgresql://localhost:5432/promo_bench promo promo [20,100,500] [2000]"
+ * </pre>
+ *
+ * <p>Arguments are a JDBC URL, user and password, the comma-separated promotion counts
+ * per tenant to measure (default 20,100,500) and rounds per query (default 2000; as many
+ * warm-up rounds run first). The schema is created from the entities and dropped at the
+ * end, so point it at a scratch database, never at one Flyway manages.
+ *
+ * <p>Each row runs the repository's own JPQL, in a transaction per call as the service
+ * does: {@code findActivePromotions} as managed entities against the read-only, no-flush
+ * hints it now carries, and a coupon lookup as a {@code Coupon} entity mapped to
+ * {@link CouponDefinition} against {@code findDefinition}. Allocation is measured on the
+ * calling thread, so it covers Hibernate and the JDBC driver but not the database.
+ * Kept with the tests so it stays out of the service jar.
+ */
+public final class ReadPathBenchmark {
+
+    private static final int COUPONS = 1_000;
+
+    // Query results feed this, so the JIT cannot drop the mapping
+    private static volatile long blackhole;
+
+    private ReadPathBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: ReadPathBenchmark <jdbc-url> <user> <password> [counts] [rounds]");
+            System.exit(2);
+        }
+        int[] counts = args.length > 3
+            ? Arrays.stream(args[3].split(",")).mapToInt(Integer::parseInt).toArray()
+            : new int[] {20, 100, 500};
+        int rounds = args.length > 4 ? Integer.parseInt(args[4]) : 2_000;
+
+        Configuration configuration = new Configuration()
+            .addAnnotatedClass(Promotion.class)
+            .addAnnotatedClass(Coupon.class);
+        configuration.setProperty(AvailableSettings.JAKARTA_JDBC_URL, args[0]);
+        configuration.setProperty(AvailableSettings.JAKARTA_JDBC_USER, args[1]);
+        configuration.setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, args[2]);
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+
+        try (SessionFactory sessionFactory = configuration.buildSessionFactory()) {
+            Random random = new Random(42);
+            System.out.printf("%-34s %10s %12s %14s%n", "query", "rows", "µs/call", "KiB alloc/call");
+            for (int count : counts) {
+                UUID tenantId = UUID.randomUUID();
+                seedPromotions(sessionFactory, tenantId, count, random);
+                LocalDateTime now = LocalDateTime.now();
+
+                report("findActivePromotions (managed)", count, rounds, sessionFactory, session -> {
+                    SelectionQuery<Promotion> query = session
+                        .createSelectionQuery(PromotionRepository.ACTIVE_PROMOTIONS, Promotion.class)
+                        .setParameter("tenantId", tenantId)
+                        .setParameter("now", now);
+                    return query.getResultList().size();
+                });
+                report("findActivePromotions (read-only)", count, rounds, sessionFactory, session -> {
+                    SelectionQuery<Promotion> query = session
+                        .createSelectionQuery(PromotionRepository.ACTIVE_PROMOTIONS, Promotion.class)
+                        .setParameter("tenantId", tenantId)
+                        .setParameter("now", now)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .setHint(HibernateHints.HINT_FLUSH_MODE, "COMMIT");
+                    return query.getResultList().size();
+                });
+            }
+
+            UUID tenantId = UUID.randomUUID();
+            List<String> codes = seedCoupons(sessionFactory, tenantId, random);
+            int[] next = {0};
+            report("coupon by code (entity)", 1, rounds, sessionFactory, session -> {
+                Coupon coupon = session
+                    .createSelectionQuery("FROM Coupon c WHERE c.code = :code AND c.tenantId = :tenantId", Coupon.class)
+                    .setParameter("code", codes.get(next[0]++ % codes.size()))
+                    .setParameter("tenantId", tenantId)
+                    .getSingleResult();
+                return CouponDefinition.from(coupon).hashCode();
+            });
+            report("coupon by code (projection)", 1, rounds, sessionFactory, session -> session
+                .createSelectionQuery(CouponRepository.COUPON_DEFINITION, CouponDefinition.class)
+                .setParameter("code", codes.get(next[0]++ % codes.size()))
+                .setParameter("tenantId", tenantId)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, "COMMIT")
+                .getSingleResult()
+                .hashCode());
+        }
+    }
+
+    private static void report(String label, int rows, int rounds, SessionFactory sessionFactory,
+                               Function<Session, Integer> call) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int round = 0; round < rounds; round++) {
+            sink += sessionFactory.fromTransaction(call);
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            sink += sessionFactory.fromTransaction(call);
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        blackhole = sink;
+        System.out.printf("%-34s %10d %12.1f %14.1f%n",
+            label, rows, elapsed / 1_000.0 / rounds, allocated / 1_024.0 / rounds);
+    }
+
+    private static void seedPromotions(SessionFactory sessionFactory, UUID tenantId, int count, Random random) {
+        LocalDateTime now = LocalDateTime.now();
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < count; i++) {
+                StringBuilder categories = new StringBuilder();
+                int targeted = 1 + random.nextInt(8);
+                for (int c = 0; c < targeted; c++) {
+                    categories.append(c == 0 ? "\"" : ",\"").append(UUID.randomUUID()).append('"');
+                }
+                session.persist(Promotion.builder()
+                    .tenantId(tenantId)
+                    .name("Seasonal sale " + i)
+                    .type(random.nextBoolean() ? "PERCENTAGE" : "FIXED_AMOUNT")
+                    .discountType(random.nextBoolean() ? "PERCENTAGE" : "FIXED")
+                    .discountValue(BigDecimal.valueOf(random.nextInt(5_000), 2))
+                    .startDate(now.minusDays(1 + random.nextInt(30)))
+                    .endDate(now.plusDays(1 + random.nextInt(30)))
+                    .eligibilityCriteria("{\"category_ids\":[" + categories + "]}")
+                    .priority(random.nextInt(10))
+                    .active(true)
+                    .createdAt(now.minusDays(40))
+                    .updatedAt(now.minusDays(1))
+                    .build());
+            }
+        });
+    }
+
+    private static List<String> seedCoupons(SessionFactory sessionFactory, UUID tenantId, Random random) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> codes = new ArrayList<>(COUPONS);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < COUPONS; i++) {
+                String code = "PROMO" + Integer.toHexString(0x10000000 + i).toUpperCase();
+                codes.add(code);
+                session.persist(Coupon.builder()
+                    .tenantId(tenantId)
+                    .code(code)
+                    .discountType(random.nextBoolean() ? "PERCENTAGE" : "FIXED")
+                    .discountValue(BigDecimal.valueOf(random.nextInt(5_000), 2))
+                    .usageLimit(random.nextBoolean() ? 1 + random.nextInt(1_000) : null)
+                    .usedCount(0)
+                    .expiryDate(now.plusDays(90))
+                    .minOrderValue(random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(20_000), 2) : null)
+                    .oncePerCustomer(random.nextBoolean())
+                    .active(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            }
+        });
+        return codes;
+    }
+}